@@ -0,0 +1,324 @@
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Cenários dos benchmarks JMH (pacote bench), montados com acesso direto às
+ * classes do simulador.
+ *
+ * O JMH não aceita benchmarks no pacote padrão e classes de um pacote nomeado
+ * não enxergam o pacote padrão. Por isso cada cenário é montado aqui e entregue
+ * como uma interface de java.util.function, obtida por reflexão uma única vez
+ * no @Setup; a operação medida é uma chamada monomórfica a essa interface.
+ *
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public final class BenchmarkFixtures
+{
+    private static final long SEED = 42;
+    // Número de entradas pré-sorteadas percorridas em ciclo (potência de 2)
+    private static final int SAMPLES = 1 << 14;
+
+    private BenchmarkFixtures()
+    {
+    }
+
+    /**
+     * Configuração fixa do cenário, sem ler nem criar o config.txt do diretório.
+     */
+    private static ConfigurationManager config(int size, double density, String engine)
+    {
+        ConfigurationManager config = ConfigurationManager.defaults();
+        config.setFieldWidth(size);
+        config.setFieldHeight(size);
+        config.setFieldStorage("dense");
+        // Probabilidades da tabela de espécies padrão, multiplicadas pela densidade
+        for(int s = 0; s < Species.count(); s++) {
+            config.setSpawnProbability(s, Species.table().getSpawnProbability(s) * density);
+        }
+        config.setSpeciesFile("");
+        config.setSimulationEngine(engine);
+        config.setSimulationThreads(0);
+        config.setSeed(SEED);
+        config.setCheckpointInterval(0);
+        config.setTimeSeriesFile("");
+        config.setRecordingFile("");
+        return config;
+    }
+
+    private static Simulador simulator(int size, double density, String engine)
+    {
+        return new Simulador(config(size, density, engine), new ConcreteAnimalFactory(),
+                             new DefaultEnvironmentManager(), new NullViewManager());
+    }
+
+    /**
+     * Simulador.simulateOneStep. Se a população se extingue, a simulação é reiniciada.
+     * A operação é AutoCloseable: feche-a no @TearDown para encerrar o pool do
+     * motor paralelo.
+     * @return operação que executa um passo e devolve a população total
+     */
+    public static IntSupplier simulationStep(int size, double density, String engine)
+    {
+        return new SimulationStep(simulator(size, density, engine));
+    }
+
+    private static final class SimulationStep implements IntSupplier, AutoCloseable
+    {
+        private final Simulador simulator;
+
+        SimulationStep(Simulador simulator)
+        {
+            this.simulator = simulator;
+        }
+
+        @Override
+        public int getAsInt()
+        {
+            simulator.simulateOneStep();
+            int total = simulator.getTotalPopulation();
+            if(total == 0) {
+                simulator.reset();
+            }
+            return total;
+        }
+
+        @Override
+        public void close()
+        {
+            simulator.close();
+        }
+    }
+
+    /**
+     * Simulador.reset: limpa o campo e o repovoa com ConcreteAnimalFactory.createAnimal.
+     * @return operação que repovoa o campo e devolve o número de animais
+     */
+    public static IntSupplier populate(int size, double density)
+    {
+        Simulador simulator = simulator(size, density, "sequential");
+        return () -> {
+            simulator.reset();
+            return simulator.getAnimalCount();
+        };
+    }
+
+    /**
+     * ConcreteAnimalFactory.createAnimal com probabilidades pré-sorteadas e a
+     * configuração compilada, como no povoamento do Simulador.
+     * @return operação que cria (ou não) um animal
+     */
+    public static Supplier<Object> createAnimal(double density)
+    {
+        ConfigurationSnapshot config = ConfigurationSnapshot.of(config(50, density, "sequential"));
+        AnimalFactory factory = new ConcreteAnimalFactory();
+        double[] probabilities = new double[SAMPLES];
+        Random rand = new Random(SEED);
+        for(int i = 0; i < SAMPLES; i++) {
+            probabilities[i] = rand.nextDouble();
+        }
+        return new Supplier<Object>() {
+            private int next;
+
+            @Override
+            public Object get()
+            {
+                return factory.createAnimal(probabilities[next++ & (SAMPLES - 1)], config);
+            }
+        };
+    }
+
+    /**
+     * Campo.adjacentLocationsList em células sorteadas de um campo povoado.
+     */
+    public static Supplier<Object> adjacentLocationsList(int size)
+    {
+        Campo field = simulator(size, 1.0, "sequential").getField();
+        Location[] locations = sampleLocations(field);
+        return new Supplier<Object>() {
+            private int next;
+
+            @Override
+            public Object get()
+            {
+                return field.adjacentLocationsList(locations[next++ & (SAMPLES - 1)]);
+            }
+        };
+    }
+
+    /**
+     * Campo.freeAdjacentLocation em células sorteadas de um campo povoado.
+     */
+    public static Supplier<Object> freeAdjacentLocation(int size)
+    {
+        Campo field = simulator(size, 1.0, "sequential").getField();
+        Location[] locations = sampleLocations(field);
+        return new Supplier<Object>() {
+            private int next;
+
+            @Override
+            public Object get()
+            {
+                return field.freeAdjacentLocation(locations[next++ & (SAMPLES - 1)]);
+            }
+        };
+    }
+
+    /**
+     * Campo.randomFreeAdjacentLocation em células sorteadas de um campo povoado.
+     */
+    public static Supplier<Object> randomFreeAdjacentLocation(int size)
+    {
+        Campo field = simulator(size, 1.0, "sequential").getField();
+        Location[] locations = sampleLocations(field);
+        return new Supplier<Object>() {
+            private int next;
+
+            @Override
+            public Object get()
+            {
+                return field.randomFreeAdjacentLocation(locations[next++ & (SAMPLES - 1)]);
+            }
+        };
+    }
+
+    /**
+     * Predadores dos coelhos (raposas e leões) a até radius células de células
+     * sorteadas de um campo povoado: com a tabela de somas acumuladas, reconstruída
+     * uma vez, ou visitando as células do raio (Campo.countWithin sem tabela).
+     */
+    public static IntSupplier predatorsWithin(int size, int radius, String mode)
+    {
+        Campo field = simulator(size, 1.0, "sequential").getField();
+        Location[] locations = sampleLocations(field);
+        int mask = Species.table().getFleeMask(Species.idOf("Rabbit"));
+        if("table".equals(mode)) {
+            SummedAreaTable table = new SummedAreaTable(field.getDepth(), field.getWidth(), mask);
+            table.build(field);
+            return new IntSupplier() {
+                private int next;
+
+                @Override
+                public int getAsInt()
+                {
+                    Location loc = locations[next++ & (SAMPLES - 1)];
+                    return table.countWithin(loc.getRow(), loc.getCol(), radius);
+                }
+            };
+        }
+        return new IntSupplier() {
+            private int next;
+
+            @Override
+            public int getAsInt()
+            {
+                return field.countWithin(locations[next++ & (SAMPLES - 1)], radius, mask);
+            }
+        };
+    }
+
+    /**
+     * Prey.escape para os coelhos de um campo povoado.
+     */
+    public static Supplier<Object> rabbitEscape(int size)
+    {
+        Simulador simulator = simulator(size, 1.0, "sequential");
+        Campo field = simulator.getField();
+        GenericAnimal[] sample = sampleRabbits(simulator);
+        return new Supplier<Object>() {
+            private int next;
+
+            @Override
+            public Object get()
+            {
+                GenericAnimal prey = sample[next++ & (SAMPLES - 1)];
+                return prey.escape(field, prey.getLocation());
+            }
+        };
+    }
+
+    /**
+     * GenericAnimal.detectsPredators de coelhos sorteados de um campo povoado
+     * (percepção 1: máscara de vizinhos nos mapas de bits do campo).
+     */
+    public static IntSupplier rabbitDetectsPredators(int size)
+    {
+        Simulador simulator = simulator(size, 1.0, "sequential");
+        Campo field = simulator.getField();
+        GenericAnimal[] sample = sampleRabbits(simulator);
+        return new IntSupplier() {
+            private int next;
+
+            @Override
+            public int getAsInt()
+            {
+                GenericAnimal prey = sample[next++ & (SAMPLES - 1)];
+                return prey.detectsPredators(field, prey.getLocation()) ? 1 : 0;
+            }
+        };
+    }
+
+    /**
+     * Coelhos vivos no campo, embaralhados com a semente fixa e repetidos em ciclo.
+     */
+    private static GenericAnimal[] sampleRabbits(Simulador simulator)
+    {
+        Campo field = simulator.getField();
+        int rabbit = Species.idOf("Rabbit");
+        List<GenericAnimal> rabbits = new ArrayList<>();
+        for(Animal animal : simulator.getAnimals()) {
+            if(animal.getSpeciesId() == rabbit && field.getObjectAt(animal.getLocation()) == animal) {
+                rabbits.add((GenericAnimal) animal);
+            }
+        }
+        Collections.shuffle(rabbits, new Random(SEED));
+        GenericAnimal[] sample = new GenericAnimal[SAMPLES];
+        for(int i = 0; i < SAMPLES; i++) {
+            sample[i] = rabbits.get(i % rabbits.size());
+        }
+        return sample;
+    }
+
+    /**
+     * O trabalho de VisualizadorSimulacao.showStatus sem janela: texto das
+     * estatísticas, composição dos pixels com FieldRenderer e cópia para o
+     * raster de uma BufferedImage fora da tela (como FieldView.show).
+     */
+    public static IntSupplier render(int size)
+    {
+        Simulador simulator = simulator(size, 1.0, "sequential");
+        simulator.simulateSteps(10);
+        Campo field = simulator.getField();
+        FieldRenderer renderer = new FieldRenderer(); // cores da tabela de espécies
+        EstatisticasCampo stats = new EstatisticasCampo();
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        int[] raster = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        int[] pixels = new int[size * size];
+        return () -> {
+            stats.reset();
+            String details = stats.getPopulationDetails(field);
+            renderer.render(field, pixels);
+            System.arraycopy(pixels, 0, raster, 0, raster.length);
+            return details.length();
+        };
+    }
+
+    /**
+     * Células sorteadas do campo, percorridas em ciclo pelos benchmarks.
+     */
+    private static Location[] sampleLocations(Campo field)
+    {
+        Random rand = new Random(SEED);
+        Location[] locations = new Location[SAMPLES];
+        for(int i = 0; i < SAMPLES; i++) {
+            locations[i] = field.locationAt(rand.nextInt(field.getDepth()), rand.nextInt(field.getWidth()));
+        }
+        return locations;
+    }
+}
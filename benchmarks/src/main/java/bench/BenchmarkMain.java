@@ -0,0 +1,24 @@
+package bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ponto de entrada de benchmarks.jar: aceita as opções de linha de comando do
+ * JMH (filtro de benchmarks, -p, -f, -wi, -i...) e sempre acrescenta o
+ * profiler de GC, que reporta gc.alloc.rate.norm (bytes alocados por operação).
+ *
+ * Uso: java -jar benchmarks/target/benchmarks.jar [opções do JMH] [regex]
+ */
+public class BenchmarkMain {
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,79 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Consultas de vizinhança do Campo (objetos e mapas de bits), a detecção de
+ * predadores e a fuga dos coelhos, e a contagem de predadores num raio (tabela de somas acumuladas contra a varredura), em
+ * células sorteadas de um campo povoado com a densidade padrão.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CampoBenchmark {
+    @Param({"400"})
+    public int size;
+
+    @Param({"8"})
+    public int radius;
+
+    private Supplier<Object> adjacentLocationsList;
+    private Supplier<Object> freeAdjacentLocation;
+    private Supplier<Object> randomFreeAdjacentLocation;
+    private IntSupplier rabbitDetectsPredators;
+    private Supplier<Object> rabbitEscape;
+    private IntSupplier predatorsWithinTable;
+    private IntSupplier predatorsWithinScan;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        adjacentLocationsList = Fixtures.create("adjacentLocationsList", size);
+        freeAdjacentLocation = Fixtures.create("freeAdjacentLocation", size);
+        randomFreeAdjacentLocation = Fixtures.create("randomFreeAdjacentLocation", size);
+        rabbitDetectsPredators = Fixtures.create("rabbitDetectsPredators", size);
+        rabbitEscape = Fixtures.create("rabbitEscape", size);
+        predatorsWithinTable = Fixtures.create("predatorsWithin", size, radius, "table");
+        predatorsWithinScan = Fixtures.create("predatorsWithin", size, radius, "scan");
+    }
+
+    @Benchmark
+    public Object adjacentLocationsList() {
+        return adjacentLocationsList.get();
+    }
+
+    @Benchmark
+    public Object freeAdjacentLocation() {
+        return freeAdjacentLocation.get();
+    }
+
+    @Benchmark
+    public Object randomFreeAdjacentLocation() {
+        return randomFreeAdjacentLocation.get();
+    }
+
+    @Benchmark
+    public int rabbitDetectsPredators() {
+        return rabbitDetectsPredators.getAsInt();
+    }
+
+    @Benchmark
+    public Object rabbitEscape() {
+        return rabbitEscape.get();
+    }
+
+    @Benchmark
+    public int predatorsWithinTable() {
+        return predatorsWithinTable.getAsInt();
+    }
+
+    @Benchmark
+    public int predatorsWithinScan() {
+        return predatorsWithinScan.getAsInt();
+    }
+}
@@ -0,0 +1,52 @@
+package bench;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Obtém os cenários montados por BenchmarkFixtures (pacote padrão, acessível
+ * apenas por reflexão a partir deste pacote). Usado só nos métodos @Setup e @TearDown.
+ */
+final class Fixtures {
+    private static final String FIXTURES_CLASS = "BenchmarkFixtures";
+
+    private Fixtures() {
+    }
+
+    /**
+     * Chama o método estático 'name' de BenchmarkFixtures.
+     * @param name nome do cenário
+     * @param args argumentos (int, double ou String)
+     * @return operação a medir
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T create(String name, Object... args) {
+        try {
+            Class<?> fixtures = Class.forName(FIXTURES_CLASS);
+            for (Method method : fixtures.getMethods()) {
+                if (method.getName().equals(name) && method.getParameterCount() == args.length) {
+                    return (T) method.invoke(null, args);
+                }
+            }
+            throw new IllegalArgumentException("Cenario inexistente: " + name);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Erro ao montar o cenario " + name, e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Erro ao montar o cenario " + name, e);
+        }
+    }
+
+    /**
+     * Fecha um cenário que guarda recursos (AutoCloseable). Usado nos métodos @TearDown.
+     * @param fixture operação obtida com create
+     */
+    static void close(Object fixture) {
+        if (fixture instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) fixture).close();
+            } catch (Exception e) {
+                throw new IllegalStateException("Erro ao fechar o cenario", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Criação dos animais iniciais: uma chamada a ConcreteAnimalFactory.createAnimal
+ * e o povoamento completo do campo (Simulador.reset), que escolhe a espécie de
+ * cada célula e constrói só os animais que o terreno aceita, linhas em paralelo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PopulateBenchmark {
+    @Param({"400"})
+    public int size;
+
+    @Param({"1.0"})
+    public double density;
+
+    private Supplier<Object> createAnimal;
+    private IntSupplier populate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        createAnimal = Fixtures.create("createAnimal", density);
+        populate = Fixtures.create("populate", size, density);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Object createAnimal() {
+        return createAnimal.get();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int populate() {
+        return populate.getAsInt();
+    }
+}
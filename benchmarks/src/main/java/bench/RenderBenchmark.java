@@ -0,0 +1,33 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * O trabalho de VisualizadorSimulacao.showStatus por quadro (estatísticas,
+ * composição dos pixels e cópia para o raster), em uma imagem fora da tela,
+ * sem janela (funciona com java.awt.headless=true).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class RenderBenchmark {
+    @Param({"100", "400", "1000"})
+    public int size;
+
+    private IntSupplier render;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        render = Fixtures.create("render", size);
+    }
+
+    @Benchmark
+    public int showStatus() {
+        return render.getAsInt();
+    }
+}
@@ -0,0 +1,48 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Simulador.simulateOneStep em campos de vários tamanhos e densidades
+ * iniciais, com cada motor de passos.
+ *
+ * Cada iteração começa de uma simulação nova com a mesma semente, então todas
+ * as iterações medem a mesma sequência de passos a partir do povoamento.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SimulationStepBenchmark {
+    @Param({"100", "400", "1000"})
+    public int size;
+
+    // Multiplicador das probabilidades iniciais do config.txt padrão
+    @Param({"0.5", "2.0"})
+    public double density;
+
+    @Param({"sequential", "parallel", "soa"})
+    public String engine;
+
+    private IntSupplier step;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        step = Fixtures.create("simulationStep", size, density, engine);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        // Encerra o pool do motor paralelo antes da próxima iteração
+        Fixtures.close(step);
+    }
+
+    @Benchmark
+    public int simulateOneStep() {
+        return step.getAsInt();
+    }
+}
@@ -11,8 +11,12 @@ import java.util.Random;
  */
 public abstract class Animal implements Simulable
 {
-    // Gerador de números aleatórios compartilhado
-    protected static final Random rand = new Random();
+    // Gerador de números aleatórios: usa o stream da thread atual,
+    // posicionado pelo motor de passos antes de cada ação (ver SimulationContext)
+    protected static final Random rand = SimulationContext.random();
+    
+    // Identificador da espécie (ver Species)
+    private final int speciesId;
     
     // Características individuais do animal
     protected int age;
@@ -21,10 +25,12 @@ public abstract class Animal implements Simulable
     
     /**
      * Cria um novo animal.
+     * @param speciesId Identificador da espécie (ver Species).
      * @param randomAge Se verdadeiro, o animal terá idade aleatória.
      */
-    public Animal(boolean randomAge)
+    public Animal(int speciesId, boolean randomAge)
     {
+        this.speciesId = speciesId;
         age = 0;
         alive = true;
         if(randomAge) {
@@ -32,6 +38,17 @@ public abstract class Animal implements Simulable
         }
     }
     
+    /**
+     * Reinicia o animal como recém-nascido, para ser reaproveitado pela AnimalArena.
+     * Equivale a construir a espécie com randomAge falso.
+     */
+    protected void resetAsNewborn()
+    {
+        age = 0;
+        alive = true;
+        location = null;
+    }
+    
     /**
      * Simula um passo do animal na simulação.
      * @param currentField Campo atual
@@ -87,6 +104,15 @@ public abstract class Animal implements Simulable
     protected abstract double getBreedingProbability();
     protected abstract int getMaxLitterSize();
     
+    /**
+     * Obtém o identificador da espécie do animal.
+     * @return Identificador (ver Species)
+     */
+    public final int getSpeciesId()
+    {
+        return speciesId;
+    }
+    
     /**
      * Verifica se o animal está vivo.
      * @return true se está vivo
@@ -115,6 +141,7 @@ public abstract class Animal implements Simulable
     
     /**
      * Define a localização do animal usando coordenadas.
+     * Aloca uma nova Location; no caminho crítico prefira Campo.locationAt.
      * @param row Linha
      * @param col Coluna
      */
@@ -140,4 +167,23 @@ public abstract class Animal implements Simulable
     {
         return age;
     }
+    
+    /**
+     * Obtém o nível de comida do animal.
+     * Espécies que não caçam não têm nível de comida e retornam 0.
+     * @return Nível de comida
+     */
+    public int getFoodLevel()
+    {
+        return 0;
+    }
+    
+    /**
+     * Restaura o nível de comida (usado ao converter estados salvos em objetos).
+     * Espécies que não caçam ignoram o valor.
+     * @param foodLevel Nível de comida
+     */
+    protected void setFoodLevel(int foodLevel)
+    {
+    }
 }
\ No newline at end of file
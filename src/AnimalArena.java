@@ -0,0 +1,153 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Arena que recicla instâncias de Animal, uma pilha de livres por espécie.
+ *
+ * Os nascimentos pedem um animal com obtain (reaproveitado e reiniciado como
+ * recém-nascido, ou criado se a pilha estiver vazia) e os motores devolvem os
+ * mortos com retire. A devolução é adiada: um animal retirado durante o passo k
+ * ainda pode estar referenciado pelo campo atual e pelo campo atualizado desse
+ * passo, então só volta a ser entregue depois que recycleRetired for chamado ao
+ * fim dos passos k e k + 1, quando esses dois campos já foram limpos.
+ *
+ * obtain pode ser chamado por várias threads (motor paralelo); retire,
+ * recycleRetired e clear são chamados apenas pela thread do simulador.
+ *
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public class AnimalArena
+{
+    // Limite de instâncias livres guardadas por espécie
+    private static final int MAX_FREE_PER_SPECIES = 1 << 16;
+
+    private final Pool[] pools;
+    // Retirados neste passo e no passo anterior
+    private List<Animal> retired = new ArrayList<>();
+    private List<Animal> retiredEarlier = new ArrayList<>();
+
+    public AnimalArena()
+    {
+        pools = new Pool[Species.count()];
+        for(int s = 0; s < pools.length; s++) {
+            pools[s] = new Pool();
+        }
+    }
+
+    /**
+     * Entrega um recém-nascido da espécie (idade 0, vivo, sem localização).
+     * @param speciesId identificador da espécie
+     * @return animal pronto para ser posicionado
+     */
+    public Animal obtain(int speciesId)
+    {
+        Animal animal = pools[speciesId].pop();
+        if(animal == null) {
+            return newInstance(speciesId);
+        }
+        animal.resetAsNewborn();
+        return animal;
+    }
+
+    /**
+     * Devolve um animal morto, removido da lista da simulação.
+     * @param animal animal que não será mais usado pela simulação
+     */
+    public void retire(Animal animal)
+    {
+        retired.add(animal);
+    }
+
+    /**
+     * Chamado ao fim de cada passo, depois de limpar o campo de atualização:
+     * libera os animais retirados no passo anterior.
+     */
+    public void recycleRetired()
+    {
+        for(Animal animal : retiredEarlier) {
+            pools[animal.getSpeciesId()].push(animal);
+        }
+        retiredEarlier.clear();
+
+        List<Animal> temp = retiredEarlier;
+        retiredEarlier = retired;
+        retired = temp;
+    }
+
+    /**
+     * Descarta todas as instâncias guardadas (usado ao reiniciar a simulação).
+     */
+    public void clear()
+    {
+        retired.clear();
+        retiredEarlier.clear();
+        for(Pool pool : pools) {
+            pool.clear();
+        }
+    }
+
+    /**
+     * @param speciesId identificador da espécie
+     * @return número de instâncias livres da espécie
+     */
+    public int getFreeCount(int speciesId)
+    {
+        return pools[speciesId].size();
+    }
+
+    /**
+     * Cria um recém-nascido da espécie, sem usar a arena.
+     * @param speciesId identificador da espécie
+     * @return novo animal com idade 0
+     */
+    public static Animal newInstance(int speciesId)
+    {
+        if(speciesId < 0 || speciesId >= Species.count()) {
+            throw new IllegalArgumentException("Especie desconhecida: " + speciesId);
+        }
+        return new GenericAnimal(speciesId, false);
+    }
+
+    /**
+     * Pilha de instâncias livres de uma espécie.
+     */
+    private static final class Pool
+    {
+        private Animal[] items = new Animal[16];
+        private int size;
+
+        synchronized Animal pop()
+        {
+            if(size == 0) {
+                return null;
+            }
+            Animal animal = items[--size];
+            items[size] = null;
+            return animal;
+        }
+
+        synchronized void push(Animal animal)
+        {
+            if(size == MAX_FREE_PER_SPECIES) {
+                return; // acima do limite a instância fica para o coletor de lixo
+            }
+            if(size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = animal;
+        }
+
+        synchronized int size()
+        {
+            return size;
+        }
+
+        synchronized void clear()
+        {
+            Arrays.fill(items, 0, size, null);
+            size = 0;
+        }
+    }
+}
@@ -10,10 +10,26 @@ public interface AnimalFactory {
     /**
      * Cria um animal baseado no tipo e probabilidade
      * @param probability valor aleatório para determinar o tipo
-     * @param config provedor de configurações
+     * @param config configuração compilada (ConfigurationSnapshot.of)
      * @return animal criado ou null se não deve criar nenhum
      */
-    Animal createAnimal(double probability, ConfigurationProvider config);
+    Animal createAnimal(double probability, ConfigurationSnapshot config);
+
+    /**
+     * Escolhe a espécie de um animal inicial sem criá-lo, para que o
+     * povoamento confira o terreno antes de construir o animal.
+     * @param probability valor aleatório para determinar o tipo
+     * @param config configuração compilada (ConfigurationSnapshot.of)
+     * @return identificador da espécie, ou -1 se não deve criar nenhum
+     */
+    int chooseSpecies(double probability, ConfigurationSnapshot config);
+
+    /**
+     * Cria um animal inicial (idade aleatória) da espécie.
+     * @param speciesId identificador da espécie
+     * @return animal criado
+     */
+    Animal createAnimal(int speciesId);
     
     /**
      * Verifica se um animal pode ser colocado em um ambiente específico
@@ -0,0 +1,116 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Conexão TCP do modo distribuído (faixa com faixa, ou faixa com o
+ * coordenador) que troca mensagens inteiras: um int com o tamanho e os bytes.
+ *
+ * As faixas vizinhas enviam e recebem ao mesmo tempo. Se as duas pontas
+ * escrevessem uma mensagem maior que os buffers do socket antes de ler, ambas
+ * ficariam presas na escrita; por isso sendAsync escreve numa thread própria
+ * da conexão enquanto quem chamou lê a mensagem da outra ponta.
+ *
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public class BandLink implements Closeable
+{
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private final ExecutorService writer;
+
+    /**
+     * @param socket socket já conectado
+     * @throws IOException se os fluxos do socket não puderem ser abertos
+     */
+    public BandLink(Socket socket) throws IOException
+    {
+        this.socket = socket;
+        socket.setTcpNoDelay(true);
+        in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        writer = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "band-link-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Envia uma mensagem e espera a escrita terminar.
+     * @param message conteúdo da mensagem
+     * @throws IOException se a escrita falhar
+     */
+    public void send(byte[] message) throws IOException
+    {
+        await(sendAsync(message));
+    }
+
+    /**
+     * Começa a enviar uma mensagem na thread de escrita da conexão.
+     * @param message conteúdo da mensagem
+     * @return conclusão da escrita, para await
+     */
+    public Future<?> sendAsync(byte[] message)
+    {
+        return writer.submit(() -> {
+            out.writeInt(message.length);
+            out.write(message);
+            out.flush();
+            return null;
+        });
+    }
+
+    /**
+     * Espera uma escrita iniciada por sendAsync.
+     * @param pending conclusão devolvida por sendAsync
+     * @throws IOException se a escrita falhou
+     */
+    public static void await(Future<?> pending) throws IOException
+    {
+        try {
+            pending.get();
+        } catch(ExecutionException e) {
+            if(e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Falha ao enviar mensagem", e.getCause());
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Envio interrompido", e);
+        }
+    }
+
+    /**
+     * Lê a próxima mensagem, esperando a outra ponta enviá-la.
+     * @return conteúdo da mensagem
+     * @throws IOException se a conexão for fechada ou a leitura falhar
+     */
+    public byte[] receive() throws IOException
+    {
+        int length = in.readInt();
+        if(length < 0) {
+            throw new IOException("Tamanho de mensagem invalido: " + length);
+        }
+        byte[] message = new byte[length];
+        in.readFully(message);
+        return message;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        writer.shutdownNow();
+        socket.close();
+    }
+}
@@ -0,0 +1,738 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+/**
+ * Uma faixa horizontal do campo no modo distribuído, executada num processo
+ * próprio (PrincipalFaixa) e coordenada por DistributedCoordinator.
+ *
+ * A faixa possui as linhas [firstRow, endRow) e usa um Campo em blocos com as
+ * dimensões do campo inteiro: só os blocos da faixa e das linhas de halo são
+ * alocados, e o terreno de cada bloco é derivado da semente como em qualquer
+ * processo. As fronteiras das faixas coincidem com as dos blocos (tiles) do
+ * ParallelStepEngine, que executa o passo em quatro fases de cores.
+ *
+ * Entre as faixas vizinhas circulam, por TCP local:
+ * - no fim de cada fase: as mortes de animais que a vizinha enxerga (pela
+ *   célula de origem no passo), as células ocupadas da linha de fronteira do
+ *   campo atualizado e os animais que entraram nas linhas da vizinha (migrantes);
+ * - no fim do passo: as linhas de halo (maior perceptionRadius + 1) do novo
+ *   campo atual, que a vizinha coloca como cópias somente leitura ("fantasmas").
+ * Como blocos de mesma cor nunca tocam a mesma vizinhança, o que uma faixa faz
+ * numa fase só afeta a vizinha nas fases seguintes, e a troca a cada fase
+ * reproduz o que aconteceria num único processo.
+ *
+ * Dentro de cada bloco os animais agem na ordem de SimulationContext.orderKey
+ * da sua célula, então o resultado não depende do número de faixas.
+ *
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public class BandWorker implements Closeable
+{
+    // Comandos do coordenador
+    static final int COMMAND_STOP = 0;
+    static final int COMMAND_STEP = 1;
+
+    private final int depth, width;
+    private final int firstRow, endRow;
+    private final SimulationContext context;
+    private final ParallelStepEngine engine;
+    private final BandLink coordinator;
+    // Fronteiras com as faixas de cima e de baixo (null na borda do campo)
+    private final Border up, down;
+    private final Population animals = new Population();
+    private Campo field;
+    private Campo updatedField;
+    private int step;
+
+    // Estado de um passo
+    // Célula de origem dos animais da faixa que as vizinhas enxergam
+    private final Map<Animal, Integer> originOf = new IdentityHashMap<>();
+    // Animais recebidos das vizinhas neste passo, e os que vieram de uma célula do campo atual
+    private final List<Animal> copies = new ArrayList<>();
+    private final Map<Integer, Animal> copiesByOrigin = new HashMap<>();
+    // Animais da faixa já enviados como migrantes neste passo
+    private final Set<Animal> sent = Collections.newSetFromMap(new IdentityHashMap<>());
+    // Marca uma célula ocupada da vizinha no campo atualizado (só a ocupação importa ali)
+    private final Animal placeholder = new GenericAnimal(0, false);
+    // Fantasmas de cada espécie no campo atual, descontados da população da faixa
+    private final int[] ghostCounts = new int[Species.count()];
+
+    // Ordem de ação: chave pseudoaleatória da célula (SimulationContext.orderKey),
+    // calculada uma vez por passo em keys e ordenada como long[]. Entre chaves
+    // iguais (em geral a mesma célula: um animal que ficou parado pode
+    // sobrescrever outro), pela célula, o que está na grade primeiro e depois
+    // pelo estado, pois animais iguais na mesma célula agem igual
+    private final Comparator<Animal> sameKeyOrder = Comparator
+        .comparingInt((Animal a) -> cellOf(a.getLocation()))
+        .thenComparingInt(a -> field.getObjectAt(a.getLocation()) == a ? 0 : 1)
+        .thenComparingInt(Animal::getSpeciesId)
+        .thenComparingInt(Animal::getAge)
+        .thenComparingInt(Animal::getFoodLevel);
+    private long[] keys = new long[0];
+    private long[] sortedKeys = new long[0];
+    private Animal[] ordered = new Animal[0];
+
+    /**
+     * Cria a faixa, povoa as suas linhas e troca o halo inicial com as vizinhas.
+     * @param config configuração (a mesma em todas as faixas)
+     * @param seed semente da simulação
+     * @param firstRow primeira linha da faixa
+     * @param endRow linha seguinte à última da faixa
+     * @param up conexão com a faixa de cima, ou null
+     * @param down conexão com a faixa de baixo, ou null
+     * @param coordinator conexão com o coordenador
+     * @throws IOException se a troca com as vizinhas falhar
+     */
+    public BandWorker(ConfigurationSnapshot config, long seed, int firstRow, int endRow,
+                      BandLink up, BandLink down, BandLink coordinator) throws IOException
+    {
+        this.depth = config.getFieldHeight();
+        this.width = config.getFieldWidth();
+        this.firstRow = firstRow;
+        this.endRow = endRow;
+        this.coordinator = coordinator;
+        int halo = haloRows(Species.table());
+        this.up = up == null ? null
+            : new Border(up, firstRow, Math.min(firstRow + halo, endRow),
+                         Math.max(firstRow - halo, 0), firstRow, firstRow, firstRow - 1);
+        this.down = down == null ? null
+            : new Border(down, Math.max(endRow - halo, firstRow), endRow,
+                         endRow, Math.min(endRow + halo, depth), endRow - 1, endRow);
+        this.context = new SimulationContext(seed);
+        this.engine = new ParallelStepEngine(config.getSimulationThreads(), config.getTileSize(),
+                                             color -> exchangePhase());
+
+        // Terreno em blocos derivado da semente, igual em todos os processos
+        field = new Campo(depth, width, true, Simulador.resolveChunkSize(config));
+        context.setStep(0);
+        context.begin(SimulationContext.DOMAIN_TERRAIN, 0);
+        new DefaultEnvironmentManager().populateEnvironments(field);
+        updatedField = new Campo(field);
+
+        AnimalFactory factory = new ConcreteAnimalFactory();
+        Animal[][] rows = new Animal[endRow - firstRow][];
+        IntStream.range(0, rows.length).parallel().forEach(i -> rows[i] =
+            Simulador.populateRow(field, config, factory, context, firstRow + i));
+        for(Animal[] row : rows) {
+            for(Animal animal : row) {
+                animals.add(animal);
+            }
+        }
+        exchangeHalo();
+    }
+
+    /**
+     * Linhas de halo necessárias: o alcance da percepção mais longo, mais uma
+     * linha porque a fuga avalia a percepção a partir da célula vizinha.
+     * @param table tabela de espécies em uso
+     * @return número de linhas de cada vizinha que uma faixa precisa enxergar
+     */
+    public static int haloRows(SpeciesTable table)
+    {
+        int radius = 1;
+        for(int s = 0; s < table.size(); s++) {
+            radius = Math.max(radius, table.getPerceptionRadius(s));
+        }
+        return radius + 1;
+    }
+
+    /**
+     * Grava as configurações de que as faixas dependem, na ordem lida por
+     * readSettings. O halo vai junto para a faixa conferir a tabela de espécies.
+     * @param out mensagem de atribuição da faixa
+     * @param config configuração do coordenador
+     */
+    static void writeSettings(DataOutputStream out, ConfigurationSnapshot config) throws IOException
+    {
+        out.writeInt(config.getFieldHeight());
+        out.writeInt(config.getFieldWidth());
+        out.writeInt(config.getTileSize());
+        out.writeInt(config.getSimulationThreads());
+        out.writeInt(config.getChunkSize());
+        out.writeUTF(config.getSpeciesFile());
+        out.writeInt(haloRows(Species.table()));
+        out.writeInt(Species.count());
+        for(int s = 0; s < Species.count(); s++) {
+            out.writeDouble(config.getSpawnProbability(s));
+        }
+    }
+
+    /**
+     * Lê as configurações gravadas por writeSettings e instala a tabela de
+     * espécies do mesmo arquivo que o coordenador.
+     * @param in mensagem de atribuição da faixa
+     * @return configuração da faixa
+     * @throws IOException se a tabela de espécies lida não tiver o mesmo halo ou
+     *         o mesmo número de espécies que a do coordenador
+     */
+    static ConfigurationSnapshot readSettings(DataInputStream in) throws IOException
+    {
+        int depth = in.readInt();
+        int width = in.readInt();
+        int tileSize = in.readInt();
+        int threads = in.readInt();
+        int chunkSize = in.readInt();
+        String speciesFile = in.readUTF();
+        int halo = in.readInt();
+        int species = in.readInt();
+
+        Species.install(speciesFile);
+        if(haloRows(Species.table()) != halo || Species.count() != species) {
+            throw new IOException("Tabela de especies (" + speciesFile + ") difere da do coordenador: halo "
+                + haloRows(Species.table()) + " e " + Species.count() + " especies, esperado halo "
+                + halo + " e " + species + " especies");
+        }
+        ConfigurationManager manager = ConfigurationManager.defaults();
+        manager.setFieldHeight(depth);
+        manager.setFieldWidth(width);
+        manager.setTileSize(tileSize);
+        manager.setSimulationThreads(threads);
+        manager.setChunkSize(chunkSize);
+        manager.setSpeciesFile(speciesFile);
+        for(int s = 0; s < species; s++) {
+            manager.setSpawnProbability(s, in.readDouble());
+        }
+        return ConfigurationSnapshot.of(manager);
+    }
+
+    /**
+     * Conecta ao coordenador, recebe a faixa e as configurações, conecta às
+     * vizinhas e executa os passos pedidos até o comando de parada.
+     * @param coordinatorPort porta do coordenador no endereço local
+     * @param bandIndex índice da faixa (0 = topo)
+     * @throws IOException se alguma conexão falhar
+     */
+    public static void run(int coordinatorPort, int bandIndex) throws IOException
+    {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        try(ServerSocket below = new ServerSocket(0, 1, loopback);
+            BandLink coordinator = new BandLink(new Socket(loopback, coordinatorPort))) {
+            ByteArrayOutputStream hello = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(hello);
+            out.writeInt(bandIndex);
+            out.writeInt(below.getLocalPort());
+            coordinator.send(hello.toByteArray());
+
+            DataInputStream assignment = new DataInputStream(new ByteArrayInputStream(coordinator.receive()));
+            int firstRow = assignment.readInt();
+            int endRow = assignment.readInt();
+            int upperPort = assignment.readInt();
+            boolean hasLower = assignment.readBoolean();
+            long seed = assignment.readLong();
+            ConfigurationSnapshot config = readSettings(assignment);
+
+            // Cada faixa conecta à de cima e aceita a de baixo
+            BandLink up = upperPort >= 0 ? new BandLink(new Socket(loopback, upperPort)) : null;
+            BandLink down = hasLower ? new BandLink(below.accept()) : null;
+            try(BandWorker worker = new BandWorker(config, seed, firstRow, endRow, up, down, coordinator)) {
+                worker.serve();
+            }
+        }
+    }
+
+    /**
+     * Envia as populações do passo 0 e atende os comandos do coordenador.
+     */
+    private void serve() throws IOException
+    {
+        sendStatistics();
+        while(true) {
+            DataInputStream command = new DataInputStream(new ByteArrayInputStream(coordinator.receive()));
+            if(command.readInt() != COMMAND_STEP) {
+                return;
+            }
+            step();
+            sendStatistics();
+        }
+    }
+
+    /**
+     * Executa um passo da faixa, trocando a fronteira com as vizinhas a cada fase.
+     */
+    private void step() throws IOException
+    {
+        step++;
+        context.setStep(step);
+        sortByActOrder();
+
+        originOf.clear();
+        copies.clear();
+        copiesByOrigin.clear();
+        sent.clear();
+        for(Border border : borders()) {
+            border.beginStep();
+        }
+        collectCandidates();
+
+        try {
+            field.updatePerception();
+            engine.step(field, updatedField, animals, context);
+        } catch(UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        // Quem saiu da faixa agora pertence à vizinha; quem chegou entra na lista
+        int kept = 0;
+        for(int i = 0; i < animals.size(); i++) {
+            Animal animal = animals.get(i);
+            int row = animal.getLocation().getRow();
+            if(row >= firstRow && row < endRow) {
+                animals.set(kept++, animal);
+            }
+        }
+        animals.truncate(kept);
+        for(Animal copy : copies) {
+            if(copy.isAlive()) {
+                animals.add(copy);
+            }
+        }
+
+        Campo temp = field;
+        field = updatedField;
+        updatedField = temp;
+        updatedField.clear();
+        field.getArena().recycleRetired();
+
+        exchangeHalo();
+    }
+
+    /**
+     * Ordena os animais pela ordem de ação, com a chave de cada um calculada uma
+     * única vez: as chaves são ordenadas como long[], cada animal vai para a
+     * primeira posição livre da sua chave, e só as chaves repetidas usam o
+     * critério de desempate.
+     */
+    private void sortByActOrder()
+    {
+        int n = animals.size();
+        if(keys.length < n) {
+            int capacity = Math.max(n, keys.length * 2);
+            keys = new long[capacity];
+            sortedKeys = new long[capacity];
+            ordered = new Animal[capacity];
+        }
+        for(int i = 0; i < n; i++) {
+            keys[i] = context.orderKey(cellOf(animals.get(i).getLocation()));
+        }
+        System.arraycopy(keys, 0, sortedKeys, 0, n);
+        Arrays.sort(sortedKeys, 0, n);
+        for(int i = 0; i < n; i++) {
+            int position = lowerBound(sortedKeys, n, keys[i]);
+            while(ordered[position] != null) {
+                position++;
+            }
+            ordered[position] = animals.get(i);
+        }
+        for(int start = 0; start < n; ) {
+            int end = start + 1;
+            while(end < n && sortedKeys[end] == sortedKeys[start]) {
+                end++;
+            }
+            if(end - start > 1) {
+                Arrays.sort(ordered, start, end, sameKeyOrder);
+            }
+            start = end;
+        }
+        for(int i = 0; i < n; i++) {
+            animals.set(i, ordered[i]);
+            ordered[i] = null;
+        }
+    }
+
+    /**
+     * @return primeira posição de sorted[0, n) com valor maior ou igual a key
+     */
+    private static int lowerBound(long[] sorted, int n, long key)
+    {
+        int low = 0;
+        int high = n;
+        while(low < high) {
+            int mid = (low + high) >>> 1;
+            if(sorted[mid] < key) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Separa os animais que podem entrar na linha de cada vizinha neste passo:
+     * os animais só se movem para células adjacentes, então são os que começam
+     * o passo na linha da faixa junto à fronteira (os recém-nascidos são
+     * percorridos à parte).
+     */
+    private void collectCandidates()
+    {
+        for(Border border : borders()) {
+            border.candidates.clear();
+        }
+        for(int i = 0; i < animals.size(); i++) {
+            Animal animal = animals.get(i);
+            int row = animal.getLocation().getRow();
+            if(up != null && row == up.innerRow) {
+                up.candidates.add(animal);
+            }
+            if(down != null && row == down.innerRow) {
+                down.candidates.add(animal);
+            }
+        }
+    }
+
+    /**
+     * Chamado pelo motor ao fim de cada fase: troca mortes, ocupação da
+     * fronteira e migrantes com as duas vizinhas.
+     */
+    private void exchangePhase()
+    {
+        try {
+            exchange(this::phaseMessage, this::applyPhaseMessage);
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Envia a mensagem de cada vizinha ao mesmo tempo e aplica as respostas.
+     */
+    private void exchange(MessageWriter writer, MessageReader reader) throws IOException
+    {
+        List<Border> borders = borders();
+        List<Future<?>> pending = new ArrayList<>(borders.size());
+        for(Border border : borders) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            writer.write(border, new DataOutputStream(bytes));
+            pending.add(border.link.sendAsync(bytes.toByteArray()));
+        }
+        for(Border border : borders) {
+            reader.read(border, new DataInputStream(new ByteArrayInputStream(border.link.receive())));
+        }
+        for(Future<?> write : pending) {
+            BandLink.await(write);
+        }
+    }
+
+    private void phaseMessage(Border border, DataOutputStream out) throws IOException
+    {
+        // Mortes que a vizinha ainda não conhece: animais da faixa que ela enxerga
+        // e fantasmas dela mortos pelos animais desta faixa
+        List<Integer> deaths = new ArrayList<>();
+        for(int i = 0; i < border.watched.size(); i++) {
+            Animal animal = border.watched.get(i);
+            if(!animal.isAlive() && border.reported.add(animal)) {
+                deaths.add(border.watchedCells[i]);
+            }
+        }
+        for(int i = 0; i < border.ghosts.size(); i++) {
+            Animal ghost = border.ghosts.get(i);
+            if(!ghost.isAlive() && border.reported.add(ghost)) {
+                deaths.add(border.ghostCells[i]);
+                Animal copy = copiesByOrigin.get(border.ghostCells[i]);
+                if(copy != null) {
+                    copy.setDead();
+                }
+            }
+        }
+        out.writeInt(deaths.size());
+        for(int cell : deaths) {
+            out.writeInt(cell);
+        }
+
+        // Ocupação da linha da faixa vizinha à fronteira no campo atualizado
+        int occupied = 0;
+        int[] cols = new int[width];
+        for(int col = 0; col < width; col++) {
+            if(updatedField.getObjectAt(border.innerRow, col) != null) {
+                cols[occupied++] = col;
+            }
+        }
+        out.writeInt(occupied);
+        for(int i = 0; i < occupied; i++) {
+            out.writeInt(cols[i]);
+        }
+
+        // Animais desta faixa que entraram na linha da vizinha. A fuga pode
+        // sobrescrever uma célula, então a linha não basta: percorre os candidatos
+        // da fronteira e os recém-nascidos, e marca quem ficou na grade para ser
+        // colocado por último
+        List<Animal> migrants = new ArrayList<>();
+        for(Animal animal : border.candidates) {
+            addMigrant(border, animal, migrants);
+        }
+        engine.forEachNewborn(animal -> addMigrant(border, animal, migrants));
+        out.writeInt(migrants.size());
+        for(Animal animal : migrants) {
+            out.writeInt(animal.getLocation().getRow());
+            out.writeInt(animal.getLocation().getCol());
+            out.writeInt(animal.getSpeciesId());
+            out.writeInt(animal.getAge());
+            out.writeInt(animal.getFoodLevel());
+            out.writeBoolean(animal.isAlive());
+            out.writeInt(originOf.getOrDefault(animal, -1));
+            out.writeBoolean(updatedField.getObjectAt(animal.getLocation()) == animal);
+        }
+    }
+
+    private void addMigrant(Border border, Animal animal, List<Animal> migrants)
+    {
+        if(animal.getLocation().getRow() == border.outerRow && sent.add(animal)) {
+            migrants.add(animal);
+        }
+    }
+
+    private void applyPhaseMessage(Border border, DataInputStream in) throws IOException
+    {
+        int deaths = in.readInt();
+        for(int i = 0; i < deaths; i++) {
+            int cell = in.readInt();
+            Animal animal = field.getObjectAt(cell / width, cell % width);
+            if(animal != null) {
+                animal.setDead();
+                border.reported.add(animal);
+            }
+            Animal copy = copiesByOrigin.get(cell);
+            if(copy != null) {
+                copy.setDead();
+            }
+        }
+
+        // Células nunca são esvaziadas durante o passo: basta marcar as novas
+        int occupied = in.readInt();
+        for(int i = 0; i < occupied; i++) {
+            int col = in.readInt();
+            if(updatedField.getObjectAt(border.outerRow, col) == null) {
+                updatedField.place(placeholder, border.outerRow, col);
+            }
+        }
+
+        int migrants = in.readInt();
+        List<Animal> onGrid = new ArrayList<>();
+        for(int i = 0; i < migrants; i++) {
+            int row = in.readInt();
+            int col = in.readInt();
+            Animal copy = AnimalArena.newInstance(in.readInt());
+            copy.age = in.readInt();
+            copy.setFoodLevel(in.readInt());
+            if(!in.readBoolean()) {
+                copy.setDead();
+            }
+            int origin = in.readInt();
+            copy.setLocation(updatedField.locationAt(row, col));
+            if(in.readBoolean()) {
+                onGrid.add(copy);
+            }
+            else {
+                updatedField.place(copy, row, col);
+            }
+            copies.add(copy);
+            if(origin >= 0) {
+                copiesByOrigin.put(origin, copy);
+            }
+        }
+        for(Animal copy : onGrid) {
+            updatedField.place(copy, copy.getLocation());
+        }
+    }
+
+    /**
+     * Troca as linhas de halo do campo atual com as vizinhas.
+     */
+    private void exchangeHalo() throws IOException
+    {
+        Arrays.fill(ghostCounts, 0);
+        exchange(this::haloMessage, this::applyHaloMessage);
+    }
+
+    private void haloMessage(Border border, DataOutputStream out) throws IOException
+    {
+        List<Animal> visible = new ArrayList<>();
+        for(int row = border.watchedFirst; row < border.watchedEnd; row++) {
+            for(int col = 0; col < width; col++) {
+                Animal animal = field.getObjectAt(row, col);
+                if(animal != null) {
+                    visible.add(animal);
+                }
+            }
+        }
+        out.writeInt(visible.size());
+        for(Animal animal : visible) {
+            // A célula é a da grade: um animal sobrescrito pode ter outra localização
+            out.writeInt(cellOf(animal.getLocation()));
+            out.writeInt(animal.getSpeciesId());
+            out.writeBoolean(animal.isAlive());
+        }
+    }
+
+    private void applyHaloMessage(Border border, DataInputStream in) throws IOException
+    {
+        for(int row = border.ghostFirst; row < border.ghostEnd; row++) {
+            for(int col = 0; col < width; col++) {
+                if(field.getObjectAt(row, col) != null) {
+                    field.place(null, row, col);
+                }
+            }
+        }
+        int count = in.readInt();
+        for(int i = 0; i < count; i++) {
+            int cell = in.readInt();
+            int species = in.readInt();
+            Animal ghost = new GenericAnimal(species, false);
+            if(!in.readBoolean()) {
+                ghost.setDead();
+            }
+            ghost.setLocation(field.locationAt(cell / width, cell % width));
+            field.place(ghost, ghost.getLocation());
+            ghostCounts[species]++;
+        }
+    }
+
+    /**
+     * Envia ao coordenador a população da faixa no passo atual.
+     */
+    private void sendStatistics() throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(step);
+        out.writeInt(Species.count());
+        for(int s = 0; s < Species.count(); s++) {
+            out.writeInt(field.getPopulation(s) - ghostCounts[s]);
+        }
+        coordinator.send(bytes.toByteArray());
+    }
+
+    private List<Border> borders()
+    {
+        List<Border> borders = new ArrayList<>(2);
+        if(up != null) borders.add(up);
+        if(down != null) borders.add(down);
+        return borders;
+    }
+
+    private int cellOf(Location location)
+    {
+        return location.getRow() * width + location.getCol();
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        engine.shutdown();
+        for(Border border : borders()) {
+            border.link.close();
+        }
+    }
+
+    /**
+     * Escreve a mensagem para uma vizinha.
+     */
+    private interface MessageWriter
+    {
+        void write(Border border, DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Aplica a mensagem recebida de uma vizinha.
+     */
+    private interface MessageReader
+    {
+        void read(Border border, DataInputStream in) throws IOException;
+    }
+
+    /**
+     * Fronteira com uma faixa vizinha: as linhas que cada lado enxerga do outro
+     * e o que já foi informado a ela no passo.
+     */
+    private final class Border
+    {
+        final BandLink link;
+        // Linhas desta faixa que a vizinha guarda como halo
+        final int watchedFirst, watchedEnd;
+        // Linhas da vizinha guardadas aqui como fantasmas
+        final int ghostFirst, ghostEnd;
+        // Linha desta faixa junto à fronteira e a primeira linha da vizinha
+        final int innerRow, outerRow;
+        // Animais das linhas observadas e fantasmas no início do passo, com as suas células
+        final List<Animal> watched = new ArrayList<>();
+        int[] watchedCells = new int[0];
+        final List<Animal> ghosts = new ArrayList<>();
+        int[] ghostCells = new int[0];
+        // Animais que começaram o passo em innerRow (os únicos que podem migrar)
+        final List<Animal> candidates = new ArrayList<>();
+        // Mortes que a vizinha já conhece
+        final Set<Animal> reported = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        Border(BandLink link, int watchedFirst, int watchedEnd, int ghostFirst, int ghostEnd,
+               int innerRow, int outerRow)
+        {
+            this.link = link;
+            this.watchedFirst = watchedFirst;
+            this.watchedEnd = watchedEnd;
+            this.ghostFirst = ghostFirst;
+            this.ghostEnd = ghostEnd;
+            this.innerRow = innerRow;
+            this.outerRow = outerRow;
+        }
+
+        /**
+         * Registra o que a vizinha enxerga desta faixa, e o que esta enxerga da
+         * vizinha, no campo atual (que não muda durante o passo).
+         */
+        void beginStep()
+        {
+            reported.clear();
+            watched.clear();
+            watchedCells = collect(watchedFirst, watchedEnd, watched);
+            for(int i = 0; i < watched.size(); i++) {
+                originOf.put(watched.get(i), watchedCells[i]);
+            }
+            ghosts.clear();
+            ghostCells = collect(ghostFirst, ghostEnd, ghosts);
+            for(Animal ghost : ghosts) {
+                if(!ghost.isAlive()) {
+                    reported.add(ghost);
+                }
+            }
+        }
+
+        private int[] collect(int first, int end, List<Animal> found)
+        {
+            int[] cells = new int[16];
+            for(int row = first; row < end; row++) {
+                for(int col = 0; col < width; col++) {
+                    Animal animal = field.getObjectAt(row, col);
+                    if(animal != null) {
+                        if(found.size() == cells.length) {
+                            cells = Arrays.copyOf(cells, cells.length * 2);
+                        }
+                        cells[found.size()] = row * width + col;
+                        found.add(animal);
+                    }
+                }
+            }
+            return cells;
+        }
+    }
+}
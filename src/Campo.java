@@ -1,26 +1,108 @@
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
 
 /**
  * Representa o campo da simulação.
- * Armazena referências a animais (ou null) e aos ambientes de cada célula.
+ * Armazena referências a animais (ou null) e a camada de terreno (TerrainLayer),
+ * compartilhada entre os buffers do simulador.
+ *
+ * As células ficam em um único array linear por linhas, com uma borda de uma
+ * célula em volta do campo (sentinela): o vizinho de qualquer célula é sempre um
+ * índice válido, e na borda o pool de Locations guarda null. Cada célula tem um
+ * carimbo de época; só vale o conteúdo carimbado com a época atual, então clear()
+ * apenas avança a época em vez de apagar o campo inteiro.
+ *
+ * Para campos muito grandes e quase vazios há o modo em blocos (chunked): as
+ * células ficam em blocos quadrados (CHUNK_SIZE de lado, ou o lado pedido)
+ * alocados apenas quando um animal é colocado no bloco. Um bloco só é liberado
+ * depois de CHUNK_RETENTION épocas seguidas sem animais, e os liberados voltam
+ * a ser usados (até POOLED_CELLS células guardadas), então uma população rala
+ * que se move pelo campo não realoca blocos a cada passo. As Locations são
+ * criadas célula a célula quando pedidas, e o terreno é derivado sob demanda
+ * (TerrainLayer.lazy). Blocos nunca ocupados não custam nada além de uma
+ * entrada nula no mapa de blocos; um bloco alocado custa cerca de 8 bytes por
+ * célula, como o modo denso, então com animais espalhados por todo o campo
+ * blocos menores gastam menos.
  *
  * Implementa:
- * - iterator de locais adjacentes (método existente no projeto original)
- * - lista de locais adjacentes (útil para for-each)
- * - métodos auxiliares: freeAdjacentLocation, randomAdjacentLocation, place, getObjectAt, clear, etc.
+ * - vizinhança sem alocação: adjacentLocation(location, direction) com tabela de deslocamentos
+ * - pool de Locations internadas (uma instância por célula, via locationAt)
+ * - iterator e lista de locais adjacentes (mantidos por compatibilidade)
+ * - contadores de população por espécie, mantidos a cada place/clear (sem varrer o campo)
+ * - arena de animais (AnimalArena) compartilhada pelos buffers, usada nos nascimentos
+ * - contagem de predadores num raio em O(1) (countWithin), com tabelas de somas
+ *   acumuladas reconstruídas por updatePerception no início de cada passo
+ * - mapas de bits da ocupação por espécie (OccupancyBoards), mantidos a cada
+ *   place/clear no modo denso: freeNeighbourMask e neighbourMask respondem
+ *   "há uma raposa ao lado?" ou "quais vizinhos estão livres?" com poucas
+ *   operações em palavras, sem visitar os objetos vizinhos
+ * - métodos auxiliares: freeAdjacentLocation, randomAdjacentLocation, randomFreeAdjacentLocation,
+ *   place, getObjectAt, clear, etc.
  *
  * @author
  * @version 2025
  */
 public class Campo
 {
+    // Número de vizinhos de uma célula
+    public static final int NEIGHBOURS = 8;
+    // Deslocamentos dos 8 vizinhos, na mesma ordem das varreduras originais
+    private static final int[] ROW_OFFSETS = { -1, -1, -1,  0, 0,  1, 1, 1 };
+    private static final int[] COL_OFFSETS = { -1,  0,  1, -1, 1, -1, 0, 1 };
+    // Bits das direções na primeira/última linha e na primeira/última coluna
+    private static final int TOP_ROW = 0b00000111;
+    private static final int BOTTOM_ROW = 0b11100000;
+    private static final int LEFT_COLUMN = 0b00101001;
+    private static final int RIGHT_COLUMN = 0b10010100;
+    // Lado padrão, mínimo e máximo dos blocos do modo em blocos
+    public static final int CHUNK_SIZE = 64;
+    public static final int MIN_CHUNK_SIZE = 8;
+    public static final int MAX_CHUNK_SIZE = 1024;
+    // Épocas seguidas sem animais até um bloco ser liberado
+    private static final int CHUNK_RETENTION = 8;
+    // Células guardadas em blocos liberados para reaproveitar
+    private static final int POOLED_CELLS = 1 << 20;
+
     private int depth, width;
-    private Object[][] field; // armazena Animal ou null
-    private Environment[][] environments;
-    private Random rand = new Random();
+    // Modo denso: arrays lineares com borda
+    // Largura de uma linha do array com borda (width + 2)
+    private final int stride;
+    // Deslocamento no array com borda de cada um dos 8 vizinhos
+    private final int[] neighbourDeltas;
+    private final Animal[] cells; // Animal ou null, válido só se carimbado com a época atual
+    private final int[] stamps;
+    private final Location[] locations; // uma Location por célula com borda; null na borda
+    private final OccupancyBoards boards; // ocupação por espécie em bits
+    // Modo em blocos: mapa de blocos alocados sob demanda (null nos arrays densos acima)
+    private final boolean chunked;
+    private final int chunksAcross;
+    private final AtomicReferenceArray<Chunk> chunks;
+    // Índices dos blocos alocados, para clear() não percorrer o mapa de blocos inteiro
+    private final int[] liveChunks;
+    private final AtomicInteger liveChunkCount;
+    // Lado dos blocos em bits (lado = 1 << chunkShift)
+    private final int chunkShift;
+    private final int chunkMask;
+    // Blocos liberados, prontos para reaproveitar (carimbos antigos e células nulas)
+    private final ConcurrentLinkedQueue<Chunk> freeChunks;
+    private final AtomicInteger freeChunkCount;
+    private final int maxFreeChunks;
+    private final AtomicReferenceArray<Location[]> locationChunks; // compartilhado pelos buffers
+    private int epoch = 1;
+    private TerrainLayer terrain;
+    // Tabelas de percepção (uma por máscara de predadores) e a época em que foram construídas
+    private SummedAreaTable[] perception;
+    private int perceptionEpoch;
+    private final PopulationCounter population = new PopulationCounter();
+    private final AnimalArena arena;
+    private Random rand = SimulationContext.random();
 
     /**
      * Cria um campo com profundidade e largura.
@@ -29,23 +111,193 @@ public class Campo
      * @param width número de colunas
      */
     public Campo(int depth, int width)
+    {
+        this(depth, width, false);
+    }
+
+    /**
+     * Cria um campo denso ou em blocos (com blocos de CHUNK_SIZE de lado).
+     *
+     * @param depth número de linhas
+     * @param width número de colunas
+     * @param chunked true para alocar células e Locations em blocos sob demanda
+     */
+    public Campo(int depth, int width, boolean chunked)
+    {
+        this(depth, width, chunked, CHUNK_SIZE);
+    }
+
+    /**
+     * Cria um campo denso ou em blocos.
+     *
+     * @param depth número de linhas
+     * @param width número de colunas
+     * @param chunked true para alocar células e Locations em blocos sob demanda
+     * @param chunkSize lado dos blocos (ver isValidChunkSize); ignorado no modo denso
+     * @throws IllegalArgumentException se o lado dos blocos for inválido
+     */
+    public Campo(int depth, int width, boolean chunked, int chunkSize)
     {
         this.depth = depth;
         this.width = width;
-        field = new Object[depth][width];
-        environments = new Environment[depth][width];
+        this.chunked = chunked;
+        arena = new AnimalArena();
+        if(chunked) {
+            if(!isValidChunkSize(chunkSize)) {
+                throw new IllegalArgumentException("Lado de bloco invalido: " + chunkSize);
+            }
+            stride = 0;
+            neighbourDeltas = null;
+            cells = null;
+            stamps = null;
+            locations = null;
+            boards = null;
+            chunkShift = Integer.numberOfTrailingZeros(chunkSize);
+            chunkMask = chunkSize - 1;
+            chunksAcross = (width + chunkSize - 1) >> chunkShift;
+            int chunkCount = ((depth + chunkSize - 1) >> chunkShift) * chunksAcross;
+            chunks = new AtomicReferenceArray<>(chunkCount);
+            liveChunks = new int[chunkCount];
+            liveChunkCount = new AtomicInteger();
+            freeChunks = new ConcurrentLinkedQueue<>();
+            freeChunkCount = new AtomicInteger();
+            maxFreeChunks = POOLED_CELLS / (chunkSize * chunkSize);
+            locationChunks = new AtomicReferenceArray<>(chunkCount);
+        }
+        else {
+            stride = width + 2;
+            neighbourDeltas = neighbourDeltas(stride);
+            cells = new Animal[(depth + 2) * stride];
+            stamps = new int[cells.length];
+            locations = new Location[cells.length];
+            boards = new OccupancyBoards(depth, width, Species.count());
+            chunksAcross = 0;
+            chunks = null;
+            liveChunks = null;
+            liveChunkCount = null;
+            chunkShift = 0;
+            chunkMask = 0;
+            freeChunks = null;
+            freeChunkCount = null;
+            maxFreeChunks = 0;
+            locationChunks = null;
+            for(int row = 0; row < depth; row++) {
+                for(int col = 0; col < width; col++) {
+                    locations[slot(row, col)] = new Location(row, col);
+                }
+            }
+        }
+    }
+
+    /**
+     * Cria um campo vazio com as mesmas dimensões de outro, compartilhando
+     * o pool de Locations e a camada de terreno (útil para o campo de atualização).
+     *
+     * @param template campo de referência
+     */
+    public Campo(Campo template)
+    {
+        this.depth = template.depth;
+        this.width = template.width;
+        chunked = template.chunked;
+        stride = template.stride;
+        neighbourDeltas = template.neighbourDeltas;
+        cells = chunked ? null : new Animal[template.cells.length];
+        stamps = chunked ? null : new int[cells.length];
+        locations = template.locations;
+        boards = chunked ? null : new OccupancyBoards(depth, width, Species.count());
+        chunksAcross = template.chunksAcross;
+        chunks = chunked ? new AtomicReferenceArray<>(template.chunks.length()) : null;
+        liveChunks = chunked ? new int[template.chunks.length()] : null;
+        liveChunkCount = chunked ? new AtomicInteger() : null;
+        chunkShift = template.chunkShift;
+        chunkMask = template.chunkMask;
+        freeChunks = chunked ? new ConcurrentLinkedQueue<>() : null;
+        freeChunkCount = chunked ? new AtomicInteger() : null;
+        maxFreeChunks = template.maxFreeChunks;
+        locationChunks = template.locationChunks;
+        arena = template.arena;
+        terrain = template.terrain;
+    }
+
+    /**
+     * @param chunkSize lado dos blocos
+     * @return true se o lado é uma potência de 2 entre MIN_CHUNK_SIZE e MAX_CHUNK_SIZE
+     */
+    public static boolean isValidChunkSize(int chunkSize)
+    {
+        return chunkSize >= MIN_CHUNK_SIZE && chunkSize <= MAX_CHUNK_SIZE && Integer.bitCount(chunkSize) == 1;
+    }
+
+    private static int[] neighbourDeltas(int stride)
+    {
+        int[] deltas = new int[NEIGHBOURS];
+        for(int d = 0; d < NEIGHBOURS; d++) {
+            deltas[d] = ROW_OFFSETS[d] * stride + COL_OFFSETS[d];
+        }
+        return deltas;
+    }
+
+    /**
+     * @return índice da célula (row, col) no array com borda
+     */
+    private int slot(int row, int col)
+    {
+        return (row + 1) * stride + col + 1;
     }
 
     /**
      * Limpa apenas os animais do campo, preservando os ambientes.
+     * Avança a época, invalidando todas as células de uma vez; no modo denso
+     * apaga também as palavras usadas dos mapas de bits, e no modo em blocos
+     * percorre só os blocos alocados.
      */
     public void clear()
     {
-        for(int r = 0; r < depth; r++) {
-            for(int c = 0; c < width; c++) {
-                field[r][c] = null;
+        if(chunked) {
+            // Libera os blocos sem animais há CHUNK_RETENTION épocas, guardando-os para reaproveitar
+            int kept = 0;
+            for(int i = 0, count = liveChunkCount.get(); i < count; i++) {
+                int index = liveChunks[i];
+                Chunk chunk = chunks.get(index);
+                if(epoch - chunk.lastEpoch < CHUNK_RETENTION) {
+                    liveChunks[kept++] = index;
+                }
+                else {
+                    chunks.set(index, null);
+                    if(freeChunkCount.get() < maxFreeChunks) {
+                        // Os carimbos já são antigos; as células são apagadas para não reter animais
+                        Arrays.fill(chunk.cells, null);
+                        freeChunks.offer(chunk);
+                        freeChunkCount.incrementAndGet();
+                    }
+                }
+            }
+            liveChunkCount.set(kept);
+        }
+        epoch++;
+        if(epoch == 0) {
+            // A época deu a volta: zera os carimbos para não reaproveitar épocas antigas
+            if(chunked) {
+                for(int i = 0, count = liveChunkCount.get(); i < count; i++) {
+                    Chunk chunk = chunks.get(liveChunks[i]);
+                    Arrays.fill(chunk.stamps, 0);
+                    Arrays.fill(chunk.cells, null);
+                    chunk.lastEpoch = 0;
+                }
+                freeChunks.clear();
+                freeChunkCount.set(0);
+            }
+            else {
+                Arrays.fill(stamps, 0);
+                Arrays.fill(cells, null);
             }
+            epoch = 1;
         }
+        if(boards != null) {
+            boards.clear();
+        }
+        population.reset();
     }
 
     /**
@@ -58,7 +310,39 @@ public class Campo
      */
     public void place(Animal animal, int row, int col)
     {
-        field[row][col] = animal;
+        Animal[] cells = this.cells;
+        int[] stamps = this.stamps;
+        int slot;
+        if(chunked) {
+            Chunk chunk = chunkAt(row, col, animal != null);
+            if(chunk == null) {
+                return; // bloco nunca ocupado: já está vazio
+            }
+            cells = chunk.cells;
+            stamps = chunk.stamps;
+            slot = chunkSlot(row, col);
+            if(animal != null) {
+                chunk.lastEpoch = epoch;
+            }
+        }
+        else {
+            slot = slot(row, col);
+        }
+        Animal previous = stamps[slot] == epoch ? cells[slot] : null;
+        if(previous != null) {
+            population.decrement(previous.getSpeciesId());
+            if(boards != null) {
+                boards.unset(row, col, previous.getSpeciesId());
+            }
+        }
+        cells[slot] = animal;
+        stamps[slot] = epoch;
+        if(animal != null) {
+            population.increment(animal.getSpeciesId());
+            if(boards != null) {
+                boards.set(row, col, animal.getSpeciesId());
+            }
+        }
     }
 
     /**
@@ -78,7 +362,7 @@ public class Campo
      */
     public Animal getObjectAt(Location loc)
     {
-        return (Animal) field[loc.getRow()][loc.getCol()];
+        return getObjectAt(loc.getRow(), loc.getCol());
     }
 
     /**
@@ -86,7 +370,154 @@ public class Campo
      */
     public Animal getObjectAt(int row, int col)
     {
-        return (Animal) field[row][col];
+        if(chunked) {
+            Chunk chunk = chunkAt(row, col, false);
+            if(chunk == null) {
+                return null;
+            }
+            int slot = chunkSlot(row, col);
+            return chunk.stamps[slot] == epoch ? chunk.cells[slot] : null;
+        }
+        int slot = slot(row, col);
+        return stamps[slot] == epoch ? cells[slot] : null;
+    }
+
+    /**
+     * Retorna o bloco de células que contém (row, col), criando-o se pedido.
+     */
+    private Chunk chunkAt(int row, int col, boolean create)
+    {
+        int index = (row >> chunkShift) * chunksAcross + (col >> chunkShift);
+        Chunk chunk = chunks.get(index);
+        if(chunk == null && create) {
+            Chunk fresh = freeChunks.poll();
+            if(fresh != null) {
+                freeChunkCount.decrementAndGet();
+            }
+            else {
+                fresh = new Chunk(1 << (2 * chunkShift));
+            }
+            if(chunks.compareAndSet(index, null, fresh)) {
+                liveChunks[liveChunkCount.getAndIncrement()] = index;
+            }
+            chunk = chunks.get(index);
+        }
+        return chunk;
+    }
+
+    /**
+     * @return índice de (row, col) dentro do seu bloco
+     */
+    private int chunkSlot(int row, int col)
+    {
+        return ((row & chunkMask) << chunkShift) | (col & chunkMask);
+    }
+
+    /**
+     * Retorna a Location internada da célula, sem alocar.
+     * @param row linha
+     * @param col coluna
+     * @return Location compartilhada da célula
+     */
+    public Location locationAt(int row, int col)
+    {
+        if(chunked) {
+            int index = (row >> chunkShift) * chunksAcross + (col >> chunkShift);
+            Location[] chunk = locationChunks.get(index);
+            if(chunk == null) {
+                locationChunks.compareAndSet(index, null, new Location[1 << (2 * chunkShift)]);
+                chunk = locationChunks.get(index);
+            }
+            int slot = chunkSlot(row, col);
+            Location location = chunk[slot];
+            if(location == null) {
+                // Corrida benigna: Location é imutável e iguais se comparam por equals
+                location = new Location(row, col);
+                chunk[slot] = location;
+            }
+            return location;
+        }
+        return locations[slot(row, col)];
+    }
+
+    /**
+     * @return true se o campo usa o modo em blocos
+     */
+    public boolean isChunked()
+    {
+        return chunked;
+    }
+
+    /**
+     * @return número de blocos de células alocados (0 no modo denso)
+     */
+    public int getAllocatedChunkCount()
+    {
+        return chunked ? liveChunkCount.get() : 0;
+    }
+
+    /**
+     * Percorre os animais que ocupam células do campo (no modo em blocos, só os
+     * blocos alocados). Custo proporcional ao número de células; não usar por passo.
+     * @param action ação aplicada a cada ocupante
+     */
+    public void forEachOccupant(Consumer<Animal> action)
+    {
+        if(!chunked) {
+            for(int row = 0; row < depth; row++) {
+                for(int col = 0; col < width; col++) {
+                    Animal animal = getObjectAt(row, col);
+                    if(animal != null) {
+                        action.accept(animal);
+                    }
+                }
+            }
+            return;
+        }
+        for(int i = 0, count = liveChunkCount.get(); i < count; i++) {
+            Chunk chunk = chunks.get(liveChunks[i]);
+            for(int slot = 0; slot < chunk.cells.length; slot++) {
+                if(chunk.stamps[slot] == epoch && chunk.cells[slot] != null) {
+                    action.accept(chunk.cells[slot]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Retorna o índice linear (row * largura + col) de uma localização.
+     * @param loc localização
+     * @return índice da célula
+     */
+    public int cellIndex(Location loc)
+    {
+        return loc.getRow() * width + loc.getCol();
+    }
+
+    /**
+     * Retorna o número de animais da espécie presentes no campo, em O(1).
+     * @param speciesId identificador da espécie
+     * @return número de células ocupadas pela espécie
+     */
+    public int getPopulation(int speciesId)
+    {
+        return population.get(speciesId);
+    }
+
+    /**
+     * @return contadores de população do campo
+     */
+    public PopulationCounter getPopulationCounter()
+    {
+        return population;
+    }
+
+    /**
+     * @return arena que recicla os animais da simulação (compartilhada pelos buffers)
+     */
+    public AnimalArena getArena()
+    {
+        return arena;
     }
 
     /**
@@ -106,25 +537,126 @@ public class Campo
     }
 
     /**
-     * Define o ambiente em uma célula.
-     * @param row linha
-     * @param col coluna
-     * @param env environment
+     * Define a camada de terreno do campo.
+     * @param terrain camada com as mesmas dimensões do campo
+     */
+    public void setTerrain(TerrainLayer terrain)
+    {
+        if(terrain.getDepth() != depth || terrain.getWidth() != width) {
+            throw new IllegalArgumentException("Terreno com dimensoes diferentes do campo");
+        }
+        this.terrain = terrain;
+    }
+
+    /**
+     * @return camada de terreno do campo (null se ainda não definida)
      */
-    public void setEnvironmentAt(int row, int col, Environment env)
+    public TerrainLayer getTerrain()
     {
-        environments[row][col] = env;
+        return terrain;
     }
 
     /**
      * Retorna o ambiente na célula.
      * @param row linha
      * @param col coluna
-     * @return Environment
+     * @return Environment, ou null se o terreno ainda não foi definido
      */
     public Environment getEnvironment(int row, int col)
     {
-        return environments[row][col];
+        return terrain == null ? null : terrain.getEnvironment(row, col);
+    }
+
+    /**
+     * Verifica se a espécie pode entrar na célula, usando a matriz de permissões do terreno.
+     * @param loc localização
+     * @param speciesId identificador da espécie
+     * @return true se a espécie pode entrar
+     */
+    public boolean canEnter(Location loc, int speciesId)
+    {
+        return terrain.canEnter(loc.getRow(), loc.getCol(), speciesId);
+    }
+
+    /**
+     * Verifica se o animal pode entrar na célula.
+     * @param loc localização
+     * @param animal animal
+     * @return true se o animal pode entrar
+     */
+    public boolean canEnter(Location loc, Animal animal)
+    {
+        return canEnter(loc, animal.getSpeciesId());
+    }
+
+    /**
+     * Verifica se a célula é o refúgio da espécie, usando o terreno compilado.
+     * @param loc localização
+     * @param speciesId identificador da espécie
+     * @return true se a célula é refúgio da espécie
+     */
+    public boolean isRefuge(Location loc, int speciesId)
+    {
+        return terrain.isRefuge(loc.getRow(), loc.getCol(), speciesId);
+    }
+
+    /**
+     * Reconstrói as tabelas de percepção a partir dos animais do campo, uma por
+     * máscara de SpeciesTable.getPerceptionMasks. Chamado no início de cada
+     * passo, sobre o campo atual, que não muda durante o passo.
+     * No modo em blocos as tabelas (do tamanho do campo inteiro) não são
+     * criadas, e countWithin visita as células do raio.
+     */
+    public void updatePerception()
+    {
+        if(chunked) {
+            return;
+        }
+        if(perception == null) {
+            int[] masks = Species.table().getPerceptionMasks();
+            perception = new SummedAreaTable[masks.length];
+            for(int i = 0; i < masks.length; i++) {
+                perception[i] = new SummedAreaTable(depth, width, masks[i]);
+            }
+        }
+        for(SummedAreaTable table : perception) {
+            table.build(this);
+        }
+        perceptionEpoch = epoch;
+    }
+
+    /**
+     * Conta os animais das espécies da máscara a até radius células (em linhas e
+     * em colunas) de uma localização, incluindo a própria célula.
+     * Em O(1) quando há uma tabela de percepção atualizada para a máscara;
+     * senão visita as (2 * radius + 1)² células.
+     * @param loc centro da contagem
+     * @param radius distância máxima
+     * @param speciesMask espécies contadas (um bit por espécie)
+     * @return número de animais encontrados
+     */
+    public int countWithin(Location loc, int radius, int speciesMask)
+    {
+        int row = loc.getRow(), col = loc.getCol();
+        if(perception != null && perceptionEpoch == epoch) {
+            for(SummedAreaTable table : perception) {
+                if(table.getSpeciesMask() == speciesMask) {
+                    return table.countWithin(row, col, radius);
+                }
+            }
+        }
+        int count = 0;
+        int bottom = Math.min(row + radius, depth - 1);
+        int right = Math.min(col + radius, width - 1);
+        for(int r = Math.max(row - radius, 0); r <= bottom; r++) {
+            for(int c = Math.max(col - radius, 0); c <= right; c++) {
+                Animal animal = getObjectAt(r, c);
+                if(animal != null && (speciesMask & (1 << animal.getSpeciesId())) != 0) {
+                    count++;
+                }
+            }
+        }
+        return count;
     }
 
     /**
@@ -137,6 +669,28 @@ public class Campo
         return getEnvironment(loc.getRow(), loc.getCol());
     }
 
+    /**
+     * Retorna o vizinho de uma localização na direção dada, sem alocar.
+     * Percorra as direções de 0 a NEIGHBOURS - 1 para visitar a vizinhança.
+     *
+     * @param location localização central
+     * @param direction direção, de 0 a NEIGHBOURS - 1
+     * @return Location internada do vizinho, ou null se estiver fora do campo
+     */
+    public Location adjacentLocation(Location location, int direction)
+    {
+        if(chunked) {
+            int row = location.getRow() + ROW_OFFSETS[direction];
+            int col = location.getCol() + COL_OFFSETS[direction];
+            if(row < 0 || row >= depth || col < 0 || col >= width) {
+                return null;
+            }
+            return locationAt(row, col);
+        }
+        // Sem checagem de limites: a borda do pool guarda null
+        return locations[slot(location.getRow(), location.getCol()) + neighbourDeltas[direction]];
+    }
+
     /**
      * Retorna um Iterator<Location> representando as localizações adjacentes
      * (8 vizinhos) dentro do campo. Este método preserva compatibilidade com projetos que
@@ -147,35 +701,88 @@ public class Campo
      */
     public Iterator<Location> adjacentLocations(final Location location)
     {
-        final List<Location> locs = adjacentLocationsList(location);
-        return locs.iterator();
+        return adjacentLocationsList(location).iterator();
     }
 
     /**
      * Retorna uma lista com as localizações adjacentes válidas.
-     * Útil para for-each e para evitar reter/consumir iterators.
+     * Mantido por compatibilidade; no caminho crítico prefira adjacentLocation.
      *
      * @param location localização central
      * @return List<Location> com locais adjacentes
      */
     public List<Location> adjacentLocationsList(Location location)
     {
-        List<Location> locations = new ArrayList<>();
-        int row = location.getRow();
-        int col = location.getCol();
+        List<Location> adjacent = new ArrayList<>(NEIGHBOURS);
+        for(int d = 0; d < NEIGHBOURS; d++) {
+            Location loc = adjacentLocation(location, d);
+            if(loc != null) {
+                adjacent.add(loc);
+            }
+        }
+        return adjacent;
+    }
+
+    /**
+     * Máscara dos vizinhos que estão dentro do campo (bit d = direção d).
+     * @param location localização central
+     * @return máscara de 8 bits
+     */
+    public int validNeighbourMask(Location location)
+    {
+        int mask = 0xFF;
+        if(location.getRow() == 0) mask &= ~TOP_ROW;
+        if(location.getRow() == depth - 1) mask &= ~BOTTOM_ROW;
+        if(location.getCol() == 0) mask &= ~LEFT_COLUMN;
+        if(location.getCol() == width - 1) mask &= ~RIGHT_COLUMN;
+        return mask;
+    }
 
-        for(int roff = -1; roff <= 1; roff++) {
-            int nextRow = row + roff;
-            if(nextRow < 0 || nextRow >= depth) continue;
-            for(int coff = -1; coff <= 1; coff++) {
-                int nextCol = col + coff;
-                if(nextCol < 0 || nextCol >= width) continue;
-                // pula a própria célula
-                if(roff == 0 && coff == 0) continue;
-                locations.add(new Location(nextRow, nextCol));
+    /**
+     * Máscara dos vizinhos dentro do campo e sem animal (bit d = direção d).
+     * No modo denso são três leituras do mapa de ocupação; no modo em blocos
+     * visita os 8 vizinhos.
+     * @param location localização central
+     * @return máscara de 8 bits
+     */
+    public int freeNeighbourMask(Location location)
+    {
+        int valid = validNeighbourMask(location);
+        if(boards != null) {
+            return valid & ~boards.occupiedNeighbours(location.getRow(), location.getCol());
+        }
+        int free = 0;
+        for(int m = valid; m != 0; m &= m - 1) {
+            int d = Integer.numberOfTrailingZeros(m);
+            if(getObjectAt(adjacentLocation(location, d)) == null) {
+                free |= 1 << d;
             }
         }
-        return locations;
+        return free;
+    }
+
+    /**
+     * Máscara dos vizinhos ocupados por animais das espécies da máscara
+     * (bit d = direção d). Os animais podem estar mortos no passo corrente;
+     * quem caça ainda confere isAlive no objeto.
+     * @param location localização central
+     * @param speciesMask espécies procuradas (um bit por espécie)
+     * @return máscara de 8 bits
+     */
+    public int neighbourMask(Location location, int speciesMask)
+    {
+        if(boards != null) {
+            return boards.speciesNeighbours(location.getRow(), location.getCol(), speciesMask);
+        }
+        int found = 0;
+        for(int m = validNeighbourMask(location); m != 0; m &= m - 1) {
+            int d = Integer.numberOfTrailingZeros(m);
+            Animal animal = getObjectAt(adjacentLocation(location, d));
+            if(animal != null && (speciesMask & (1 << animal.getSpeciesId())) != 0) {
+                found |= 1 << d;
+            }
+        }
+        return found;
     }
 
     /**
@@ -187,13 +794,8 @@ public class Campo
      */
     public Location freeAdjacentLocation(Location location)
     {
-        List<Location> adj = adjacentLocationsList(location);
-        for(Location loc : adj) {
-            if(getObjectAt(loc) == null) {
-                return loc;
-            }
-        }
-        return null;
+        int free = freeNeighbourMask(location);
+        return free == 0 ? null : adjacentLocation(location, Integer.numberOfTrailingZeros(free));
     }
 
     /**
@@ -205,8 +807,49 @@ public class Campo
      */
     public Location randomAdjacentLocation(Location location)
     {
-        List<Location> adj = adjacentLocationsList(location);
-        if(adj.isEmpty()) return null;
-        return adj.get(rand.nextInt(adj.size()));
+        return randomDirection(location, validNeighbourMask(location));
+    }
+
+    /**
+     * Retorna uma localização adjacente livre sorteada, ou null se não houver.
+     * Observação: a validação do ambiente (Environment.canEnter) fica a cargo de quem chama.
+     *
+     * @param location localização central
+     * @return Location livre ou null
+     */
+    public Location randomFreeAdjacentLocation(Location location)
+    {
+        return randomDirection(location, freeNeighbourMask(location));
+    }
+
+    /**
+     * Sorteia uma das direções da máscara, com um único número aleatório.
+     */
+    private Location randomDirection(Location location, int mask)
+    {
+        int count = Integer.bitCount(mask);
+        if(count == 0) return null;
+
+        for(int chosen = rand.nextInt(count); chosen > 0; chosen--) {
+            mask &= mask - 1;
+        }
+        return adjacentLocation(location, Integer.numberOfTrailingZeros(mask));
+    }
+
+    /**
+     * Bloco de células do modo em blocos, com os seus carimbos de época.
+     */
+    private static final class Chunk
+    {
+        final Animal[] cells;
+        final int[] stamps;
+        // Última época em que um animal foi colocado no bloco
+        int lastEpoch;
+
+        Chunk(int cellCount)
+        {
+            cells = new Animal[cellCount];
+            stamps = new int[cellCount];
+        }
     }
 }
@@ -0,0 +1,96 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Gravação periódica de fotografias (checkpoints) da simulação.
+ *
+ * A cada 'interval' passos o Simulador captura uma SimulationSnapshot no limite
+ * do passo (custo proporcional ao número de animais) e a entrega a este objeto,
+ * que a grava em uma thread de fundo. O laço de passos nunca espera pelo disco:
+ * se a gravação anterior ainda não terminou, o novo checkpoint é descartado.
+ *
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public class Checkpointer
+{
+    private final int interval;
+    private final Path path;
+    private final boolean compress;
+    private final ExecutorService writer;
+    private final AtomicBoolean writing = new AtomicBoolean();
+
+    /**
+     * @param interval número de passos entre checkpoints (maior que zero)
+     * @param path arquivo onde a fotografia mais recente é gravada
+     * @param compress true para comprimir com Deflater
+     */
+    public Checkpointer(int interval, Path path, boolean compress)
+    {
+        if(interval <= 0) {
+            throw new IllegalArgumentException("Intervalo de checkpoint deve ser maior que zero");
+        }
+        this.interval = interval;
+        this.path = path;
+        this.compress = compress;
+        this.writer = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param step passo que acabou de ser executado
+     * @return true se um checkpoint deve ser capturado neste passo
+     */
+    public boolean isDue(int step)
+    {
+        return step % interval == 0;
+    }
+
+    /**
+     * Agenda a gravação da fotografia em segundo plano.
+     * @param snapshot fotografia capturada no limite do passo
+     * @return false se a gravação anterior ainda está em andamento (fotografia descartada)
+     */
+    public boolean submit(SimulationSnapshot snapshot)
+    {
+        if(!writing.compareAndSet(false, true)) {
+            System.out.println("Checkpoint do passo " + snapshot.getStep() + " ignorado: gravacao anterior em andamento");
+            return false;
+        }
+        writer.execute(() -> {
+            try {
+                snapshot.writeTo(path, compress);
+            } catch(IOException e) {
+                System.out.println("Erro ao gravar checkpoint: " + e.getMessage());
+            } finally {
+                writing.set(false);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Espera a gravação pendente terminar e encerra a thread de fundo.
+     */
+    public void close()
+    {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public Path getPath()
+    {
+        return path;
+    }
+}
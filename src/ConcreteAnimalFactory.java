@@ -1,37 +1,42 @@
 /**
  * Implementação concreta da fábrica de animais.
  * Centraliza a lógica de criação de animais seguindo o Factory Pattern.
- * 
+ *
+ * As probabilidades vêm dos limiares cumulativos pré-calculados de um
+ * ConfigurationSnapshot, na ordem de prioridade da tabela de espécies: criar
+ * um animal é no máximo uma comparação por espécie, sem converter texto da
+ * configuração a cada célula. Quem chama compila a configuração uma vez
+ * (ConfigurationSnapshot.of) e passa o mesmo snapshot a todas as células.
+ *
  * @author Código melhorado com POO
  * @version 2025
  */
 public class ConcreteAnimalFactory implements AnimalFactory {
-    
+
     @Override
-    public Animal createAnimal(double probability, ConfigurationProvider config) {
-        double humanProb = config.getHumanProbability();
-        double lionProb = config.getLionProbability();
-        double foxProb = config.getFoxProbability();
-        double rabbitProb = config.getRabbitProbability();
-        
-        if (probability <= humanProb) {
-            return new Human(true);
-        }
-        else if (probability <= humanProb + lionProb) {
-            return new Lion(true);
-        }
-        else if (probability <= humanProb + lionProb + foxProb) {
-            return new Fox(true);
-        }
-        else if (probability <= humanProb + lionProb + foxProb + rabbitProb) {
-            return new Rabbit(true);
+    public Animal createAnimal(double probability, ConfigurationSnapshot config) {
+        int speciesId = chooseSpecies(probability, config);
+        return speciesId < 0 ? null : createAnimal(speciesId);
+    }
+
+    @Override
+    public int chooseSpecies(double probability, ConfigurationSnapshot config) {
+        for (int rank = 0; rank < config.getSpawnOrderSize(); rank++) {
+            if (probability <= config.getThreshold(rank)) {
+                return config.getSpawnOrder(rank);
+            }
         }
-        
-        return null; // Não criar animal
+
+        return -1; // Não criar animal
+    }
+
+    @Override
+    public Animal createAnimal(int speciesId) {
+        return new GenericAnimal(speciesId, true);
     }
-    
+
     @Override
     public boolean canPlace(Animal animal, Environment environment) {
         return environment != null && environment.canEnter(animal);
     }
-}
\ No newline at end of file
+}
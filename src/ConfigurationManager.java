@@ -1,4 +1,7 @@
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Properties;
 
 /**
@@ -11,21 +14,83 @@ import java.util.Properties;
 public class ConfigurationManager implements ConfigurationProvider {
     private static final String CONFIG_FILE = "config.txt";
     private Properties config;
+    // Se true, displayConfiguration não imprime nada (membros de um conjunto)
+    private boolean quiet;
     
     // Valores padrão
     private static final String DEFAULT_WIDTH = "50";
     private static final String DEFAULT_HEIGHT = "50";
-    private static final String DEFAULT_RABBIT_PROB = "0.08";
-    private static final String DEFAULT_FOX_PROB = "0.02";
-    private static final String DEFAULT_LION_PROB = "0.005";
-    private static final String DEFAULT_HUMAN_PROB = "0.01";
+    private static final String DEFAULT_STORAGE = "auto";
+    private static final String DEFAULT_CHUNK_SIZE = "64";
+    private static final String DEFAULT_SPECIES_FILE = "";
     private static final String DEFAULT_SIMULATION_STEPS = "500";
+    private static final String DEFAULT_ENGINE = "sequential";
+    private static final String DEFAULT_THREADS = "0";
+    private static final String DEFAULT_TILE_SIZE = "16";
+    private static final String DEFAULT_SEED = "0";
+    private static final String DEFAULT_STEP_DELAY = "50";
+    private static final String DEFAULT_CHECKPOINT_INTERVAL = "0";
+    private static final String DEFAULT_CHECKPOINT_FILE = "checkpoint.bin";
+    private static final String DEFAULT_CHECKPOINT_COMPRESS = "true";
+    private static final String DEFAULT_TIMESERIES_FILE = "";
+    private static final String DEFAULT_TIMESERIES_DETAILS = "false";
+    private static final String DEFAULT_RECORDING_FILE = "";
+    private static final String DEFAULT_RECORDING_KEYFRAME = "100";
+    private static final String DEFAULT_RELOAD = "true";
     
     public ConfigurationManager() {
         config = new Properties();
         loadConfiguration();
     }
     
+    /**
+     * Cria uma cópia independente de outra configuração, sem ler o arquivo.
+     * Alterar a cópia não afeta o original.
+     * @param other configuração copiada
+     */
+    public ConfigurationManager(ConfigurationManager other) {
+        config = new Properties();
+        config.putAll(other.config);
+        quiet = other.quiet;
+    }
+    
+    private ConfigurationManager(Properties properties) {
+        config = properties;
+    }
+    
+    /**
+     * Cria uma configuração com os valores padrão, sem ler nem gravar o arquivo.
+     * @return configuração padrão
+     */
+    public static ConfigurationManager defaults() {
+        ConfigurationManager manager = new ConfigurationManager(new Properties());
+        manager.setDefaultValues();
+        return manager;
+    }
+    
+    /**
+     * Lê uma configuração de um arquivo, sem criá-lo nem imprimir mensagens
+     * (usado para recarregar o config.txt durante a execução).
+     * Chaves ausentes usam os valores padrão.
+     * @param file arquivo de propriedades
+     * @return configuração lida
+     * @throws IOException se o arquivo não puder ser lido
+     */
+    public static ConfigurationManager read(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        return new ConfigurationManager(properties);
+    }
+    
+    /**
+     * @return arquivo de onde o construtor padrão lê as configurações
+     */
+    public static Path getDefaultFile() {
+        return Paths.get(CONFIG_FILE);
+    }
+    
     /**
      * Carrega configurações do arquivo texto
      */
@@ -53,11 +118,26 @@ public class ConfigurationManager implements ConfigurationProvider {
     private void setDefaultValues() {
         config.setProperty("field.width", DEFAULT_WIDTH);
         config.setProperty("field.height", DEFAULT_HEIGHT);
-        config.setProperty("animal.rabbit.probability", DEFAULT_RABBIT_PROB);
-        config.setProperty("animal.fox.probability", DEFAULT_FOX_PROB);
-        config.setProperty("animal.lion.probability", DEFAULT_LION_PROB);
-        config.setProperty("animal.human.probability", DEFAULT_HUMAN_PROB);
+        config.setProperty("field.storage", DEFAULT_STORAGE);
+        config.setProperty("field.chunkSize", DEFAULT_CHUNK_SIZE);
+        config.setProperty("species.file", DEFAULT_SPECIES_FILE);
+        for (int s = 0; s < Species.count(); s++) {
+            config.setProperty(probabilityKey(s), String.valueOf(Species.table().getSpawnProbability(s)));
+        }
         config.setProperty("simulation.steps", DEFAULT_SIMULATION_STEPS);
+        config.setProperty("simulation.engine", DEFAULT_ENGINE);
+        config.setProperty("simulation.threads", DEFAULT_THREADS);
+        config.setProperty("simulation.tileSize", DEFAULT_TILE_SIZE);
+        config.setProperty("simulation.seed", DEFAULT_SEED);
+        config.setProperty("simulation.stepDelayMs", DEFAULT_STEP_DELAY);
+        config.setProperty("checkpoint.interval", DEFAULT_CHECKPOINT_INTERVAL);
+        config.setProperty("checkpoint.file", DEFAULT_CHECKPOINT_FILE);
+        config.setProperty("checkpoint.compress", DEFAULT_CHECKPOINT_COMPRESS);
+        config.setProperty("timeseries.file", DEFAULT_TIMESERIES_FILE);
+        config.setProperty("timeseries.details", DEFAULT_TIMESERIES_DETAILS);
+        config.setProperty("recording.file", DEFAULT_RECORDING_FILE);
+        config.setProperty("recording.keyframeInterval", DEFAULT_RECORDING_KEYFRAME);
+        config.setProperty("config.reload", DEFAULT_RELOAD);
     }
     
     /**
@@ -78,21 +158,61 @@ public class ConfigurationManager implements ConfigurationProvider {
     public void createExampleConfigFile() {
         try (PrintWriter writer = new PrintWriter(new FileWriter(CONFIG_FILE))) {
             writer.println("# Configuracoes da Simulacao Predador-Presa");
-            writer.println("# Modifique os valores abaixo e reinicie o programa");
+            writer.println("# Com config.reload=true, as probabilidades iniciais (animal.<nome>.probability),");
+            writer.println("# simulation.steps e simulation.stepDelayMs valem sem reiniciar o programa;");
+            writer.println("# as demais chaves so valem ao reiniciar");
             writer.println("");
             writer.println("# Dimensoes do campo");
             writer.println("field.width=" + getFieldWidth());
             writer.println("field.height=" + getFieldHeight());
+            writer.println("# Armazenamento: auto, dense ou chunked (blocos sob demanda para campos enormes)");
+            writer.println("field.storage=" + getFieldStorage());
+            writer.println("# Lado dos blocos (potencia de 2, 8 a 1024); menor gasta menos com populacao rala");
+            writer.println("field.chunkSize=" + getChunkSize());
+            writer.println("");
+            writer.println("# Tabela de especies (vazio = Rabbit, Fox, Lion e Human padrao)");
+            writer.println("# Um arquivo inexistente e criado com a tabela padrao, para ser editado");
+            writer.println("species.file=" + getSpeciesFile());
             writer.println("");
             writer.println("# Probabilidades iniciais dos animais (0.0 a 1.0)");
-            writer.println("animal.rabbit.probability=" + getRabbitProbability());
-            writer.println("animal.fox.probability=" + getFoxProbability());
-            writer.println("animal.lion.probability=" + getLionProbability());
-            writer.println("animal.human.probability=" + getHumanProbability());
+            for (int s = 0; s < Species.count(); s++) {
+                writer.println(probabilityKey(s) + "=" + getSpawnProbability(s));
+            }
             writer.println("");
             writer.println("# Numero de passos da simulacao");
             writer.println("simulation.steps=" + getSimulationSteps());
             writer.println("");
+            writer.println("# Motor de passos: sequential (padrao), parallel ou soa (orientado a dados)");
+            writer.println("# soa exige armazenamento denso; com campo em blocos usa o motor sequencial");
+            writer.println("simulation.engine=" + getSimulationEngine());
+            writer.println("# Threads do motor paralelo (0 = todos os processadores)");
+            writer.println("simulation.threads=" + getSimulationThreads());
+            writer.println("# Lado dos blocos do motor paralelo (minimo 2)");
+            writer.println("simulation.tileSize=" + getTileSize());
+            writer.println("# Semente dos numeros aleatorios (0 = nova semente a cada execucao)");
+            writer.println("simulation.seed=" + getSeed());
+            writer.println("# Intervalo minimo entre passos na execucao interativa (0 = sem pausa)");
+            writer.println("simulation.stepDelayMs=" + getStepDelayMillis());
+            writer.println("");
+            writer.println("# Checkpoints: fotografia gravada a cada N passos em segundo plano (0 = desativado)");
+            writer.println("checkpoint.interval=" + getCheckpointInterval());
+            writer.println("checkpoint.file=" + getCheckpointFile());
+            writer.println("checkpoint.compress=" + isCheckpointCompressed());
+            writer.println("");
+            writer.println("# Serie temporal binaria, um registro por passo (vazio = desativada)");
+            writer.println("timeseries.file=" + getTimeSeriesFile());
+            writer.println("# Grava tambem idade media e comida media de cada especie");
+            writer.println("timeseries.details=" + isTimeSeriesDetailed());
+            writer.println("");
+            writer.println("# Gravacao da execucao para reproducao com PrincipalReplay (vazio = desativada)");
+            writer.println("recording.file=" + getRecordingFile());
+            writer.println("# Passos entre quadros completos (os demais guardam so as celulas alteradas)");
+            writer.println("recording.keyframeInterval=" + getRecordingKeyframeInterval());
+            writer.println("");
+            writer.println("# Aplica alteracoes deste arquivo durante a execucao, no proximo passo");
+            writer.println("# (probabilidades, passos e intervalo; as demais exigem reiniciar)");
+            writer.println("config.reload=" + isReloadEnabled());
+            writer.println("");
             writer.println("# Dicas:");
             writer.println("# - Coelhos devem ter maior probabilidade (presas)");
             writer.println("# - Humanos devem ter menor probabilidade (predador supremo)");
@@ -113,26 +233,86 @@ public class ConfigurationManager implements ConfigurationProvider {
         return Integer.parseInt(config.getProperty("field.height", DEFAULT_HEIGHT));
     }
     
-    public double getRabbitProbability() {
-        return Double.parseDouble(config.getProperty("animal.rabbit.probability", DEFAULT_RABBIT_PROB));
+    public String getFieldStorage() {
+        return config.getProperty("field.storage", DEFAULT_STORAGE).trim();
     }
     
-    public double getFoxProbability() {
-        return Double.parseDouble(config.getProperty("animal.fox.probability", DEFAULT_FOX_PROB));
+    public int getChunkSize() {
+        return Integer.parseInt(config.getProperty("field.chunkSize", DEFAULT_CHUNK_SIZE));
     }
     
-    public double getLionProbability() {
-        return Double.parseDouble(config.getProperty("animal.lion.probability", DEFAULT_LION_PROB));
+    /**
+     * Sem a chave animal.<nome>.probability, vale a spawnProbability da tabela de espécies.
+     */
+    public double getSpawnProbability(int speciesId) {
+        String value = config.getProperty(probabilityKey(speciesId));
+        return value == null ? Species.table().getSpawnProbability(speciesId) : Double.parseDouble(value);
+    }
+    
+    private static String probabilityKey(int speciesId) {
+        return "animal." + Species.table().getConfigKey(speciesId) + ".probability";
     }
     
-    public double getHumanProbability() {
-        return Double.parseDouble(config.getProperty("animal.human.probability", DEFAULT_HUMAN_PROB));
+    public String getSpeciesFile() {
+        return config.getProperty("species.file", DEFAULT_SPECIES_FILE).trim();
     }
     
     public int getSimulationSteps() {
         return Integer.parseInt(config.getProperty("simulation.steps", DEFAULT_SIMULATION_STEPS));
     }
     
+    public String getSimulationEngine() {
+        return config.getProperty("simulation.engine", DEFAULT_ENGINE).trim();
+    }
+    
+    public int getSimulationThreads() {
+        return Integer.parseInt(config.getProperty("simulation.threads", DEFAULT_THREADS));
+    }
+    
+    public int getTileSize() {
+        return Integer.parseInt(config.getProperty("simulation.tileSize", DEFAULT_TILE_SIZE));
+    }
+    
+    public long getSeed() {
+        return Long.parseLong(config.getProperty("simulation.seed", DEFAULT_SEED));
+    }
+    
+    public int getStepDelayMillis() {
+        return Integer.parseInt(config.getProperty("simulation.stepDelayMs", DEFAULT_STEP_DELAY));
+    }
+    
+    public int getCheckpointInterval() {
+        return Integer.parseInt(config.getProperty("checkpoint.interval", DEFAULT_CHECKPOINT_INTERVAL));
+    }
+    
+    public String getCheckpointFile() {
+        return config.getProperty("checkpoint.file", DEFAULT_CHECKPOINT_FILE).trim();
+    }
+    
+    public boolean isCheckpointCompressed() {
+        return Boolean.parseBoolean(config.getProperty("checkpoint.compress", DEFAULT_CHECKPOINT_COMPRESS).trim());
+    }
+    
+    public String getTimeSeriesFile() {
+        return config.getProperty("timeseries.file", DEFAULT_TIMESERIES_FILE).trim();
+    }
+    
+    public boolean isTimeSeriesDetailed() {
+        return Boolean.parseBoolean(config.getProperty("timeseries.details", DEFAULT_TIMESERIES_DETAILS).trim());
+    }
+    
+    public String getRecordingFile() {
+        return config.getProperty("recording.file", DEFAULT_RECORDING_FILE).trim();
+    }
+    
+    public int getRecordingKeyframeInterval() {
+        return Integer.parseInt(config.getProperty("recording.keyframeInterval", DEFAULT_RECORDING_KEYFRAME));
+    }
+    
+    public boolean isReloadEnabled() {
+        return Boolean.parseBoolean(config.getProperty("config.reload", DEFAULT_RELOAD).trim());
+    }
+    
     // Setters para atualizar configurações
     public void setFieldWidth(int width) {
         config.setProperty("field.width", String.valueOf(width));
@@ -142,37 +322,99 @@ public class ConfigurationManager implements ConfigurationProvider {
         config.setProperty("field.height", String.valueOf(height));
     }
     
-    public void setRabbitProbability(double prob) {
-        config.setProperty("animal.rabbit.probability", String.valueOf(prob));
+    public void setFieldStorage(String storage) {
+        config.setProperty("field.storage", storage);
     }
     
-    public void setFoxProbability(double prob) {
-        config.setProperty("animal.fox.probability", String.valueOf(prob));
+    public void setChunkSize(int chunkSize) {
+        config.setProperty("field.chunkSize", String.valueOf(chunkSize));
     }
     
-    public void setLionProbability(double prob) {
-        config.setProperty("animal.lion.probability", String.valueOf(prob));
+    public void setSpawnProbability(int speciesId, double prob) {
+        config.setProperty(probabilityKey(speciesId), String.valueOf(prob));
     }
     
-    public void setHumanProbability(double prob) {
-        config.setProperty("animal.human.probability", String.valueOf(prob));
+    public void setSpeciesFile(String file) {
+        config.setProperty("species.file", file);
     }
     
     public void setSimulationSteps(int steps) {
         config.setProperty("simulation.steps", String.valueOf(steps));
     }
     
+    public void setSimulationEngine(String engine) {
+        config.setProperty("simulation.engine", engine);
+    }
+    
+    public void setSimulationThreads(int threads) {
+        config.setProperty("simulation.threads", String.valueOf(threads));
+    }
+    
+    public void setTileSize(int tileSize) {
+        config.setProperty("simulation.tileSize", String.valueOf(tileSize));
+    }
+    
+    public void setSeed(long seed) {
+        config.setProperty("simulation.seed", String.valueOf(seed));
+    }
+    
+    public void setStepDelayMillis(int delay) {
+        config.setProperty("simulation.stepDelayMs", String.valueOf(delay));
+    }
+    
+    public void setCheckpointInterval(int interval) {
+        config.setProperty("checkpoint.interval", String.valueOf(interval));
+    }
+    
+    public void setCheckpointFile(String file) {
+        config.setProperty("checkpoint.file", file);
+    }
+    
+    public void setCheckpointCompressed(boolean compress) {
+        config.setProperty("checkpoint.compress", String.valueOf(compress));
+    }
+    
+    public void setTimeSeriesFile(String file) {
+        config.setProperty("timeseries.file", file);
+    }
+    
+    public void setTimeSeriesDetailed(boolean details) {
+        config.setProperty("timeseries.details", String.valueOf(details));
+    }
+    
+    public void setRecordingFile(String file) {
+        config.setProperty("recording.file", file);
+    }
+    
+    public void setRecordingKeyframeInterval(int interval) {
+        config.setProperty("recording.keyframeInterval", String.valueOf(interval));
+    }
+    
+    public void setReloadEnabled(boolean reload) {
+        config.setProperty("config.reload", String.valueOf(reload));
+    }
+    
+    /**
+     * Define se displayConfiguration deve ficar em silêncio.
+     */
+    public void setQuiet(boolean quiet) {
+        this.quiet = quiet;
+    }
+    
     /**
      * Exibe configurações atuais
      */
     public void displayConfiguration() {
+        if (quiet) {
+            return;
+        }
         System.out.println("=== Configuracoes Atuais ===");
         System.out.println("Campo: " + getFieldWidth() + "x" + getFieldHeight());
-        System.out.println("Coelhos: " + (getRabbitProbability() * 100) + "%");
-        System.out.println("Raposas: " + (getFoxProbability() * 100) + "%");
-        System.out.println("Leoes: " + (getLionProbability() * 100) + "%");
-        System.out.println("Humanos: " + (getHumanProbability() * 100) + "%");
+        for (int s = 0; s < Species.count(); s++) {
+            System.out.println(Species.nameOf(s) + ": " + (getSpawnProbability(s) * 100) + "%");
+        }
         System.out.println("Passos: " + getSimulationSteps());
+        System.out.println("Motor: " + getSimulationEngine());
         System.out.println("============================");
     }
 }
\ No newline at end of file
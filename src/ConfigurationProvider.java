@@ -20,28 +20,29 @@ public interface ConfigurationProvider {
     int getFieldHeight();
     
     /**
-     * Obtém a probabilidade inicial de coelhos
-     * @return probabilidade de coelhos (0.0 a 1.0)
+     * Obtém o modo de armazenamento do campo
+     * @return "auto" (padrão), "dense" ou "chunked" (blocos sob demanda, para campos enormes)
      */
-    double getRabbitProbability();
+    String getFieldStorage();
     
     /**
-     * Obtém a probabilidade inicial de raposas
-     * @return probabilidade de raposas (0.0 a 1.0)
+     * Obtém o lado dos blocos do armazenamento em blocos
+     * @return lado dos blocos em células (potência de 2)
      */
-    double getFoxProbability();
+    int getChunkSize();
     
     /**
-     * Obtém a probabilidade inicial de leões
-     * @return probabilidade de leões (0.0 a 1.0)
+     * Obtém a probabilidade inicial de uma espécie (animal.<nome>.probability)
+     * @param speciesId identificador da espécie (ver Species)
+     * @return probabilidade da espécie (0.0 a 1.0)
      */
-    double getLionProbability();
+    double getSpawnProbability(int speciesId);
     
     /**
-     * Obtém a probabilidade inicial de humanos
-     * @return probabilidade de humanos (0.0 a 1.0)
+     * Obtém o arquivo da tabela de espécies
+     * @return caminho do arquivo, ou texto vazio para usar a tabela padrão
      */
-    double getHumanProbability();
+    String getSpeciesFile();
     
     /**
      * Obtém o número de passos da simulação
@@ -49,6 +50,84 @@ public interface ConfigurationProvider {
      */
     int getSimulationSteps();
     
+    /**
+     * Obtém o motor de passos da simulação
+     * @return "sequential" (padrão), "parallel" ou "soa"
+     */
+    String getSimulationEngine();
+    
+    /**
+     * Obtém o número de threads do motor paralelo
+     * @return número de threads (0 usa todos os processadores)
+     */
+    int getSimulationThreads();
+    
+    /**
+     * Obtém o lado dos blocos usados pelo motor paralelo
+     * @return lado do bloco em células
+     */
+    int getTileSize();
+    
+    /**
+     * Obtém a semente dos números aleatórios
+     * @return semente (0 sorteia uma semente nova a cada execução)
+     */
+    long getSeed();
+    
+    /**
+     * Obtém o intervalo mínimo entre passos na execução interativa
+     * @return intervalo em milissegundos (0 executa sem pausas)
+     */
+    int getStepDelayMillis();
+    
+    /**
+     * Obtém o intervalo entre checkpoints
+     * @return número de passos entre fotografias gravadas (0 desativa)
+     */
+    int getCheckpointInterval();
+    
+    /**
+     * Obtém o arquivo dos checkpoints
+     * @return caminho do arquivo da fotografia mais recente
+     */
+    String getCheckpointFile();
+    
+    /**
+     * Indica se os checkpoints são comprimidos
+     * @return true para comprimir com Deflater
+     */
+    boolean isCheckpointCompressed();
+    
+    /**
+     * Obtém o arquivo da série temporal
+     * @return caminho do arquivo, ou texto vazio para não gravar a série
+     */
+    String getTimeSeriesFile();
+    
+    /**
+     * Indica se a série temporal grava idade média e comida média
+     * @return true para gravar as médias de cada espécie
+     */
+    boolean isTimeSeriesDetailed();
+    
+    /**
+     * Obtém o arquivo de gravação da execução (reprodução com PrincipalReplay)
+     * @return caminho do arquivo, ou texto vazio para não gravar
+     */
+    String getRecordingFile();
+    
+    /**
+     * Obtém o intervalo entre quadros-chave da gravação
+     * @return número de passos entre quadros completos
+     */
+    int getRecordingKeyframeInterval();
+    
+    /**
+     * Indica se alterações no config.txt são aplicadas durante a execução
+     * @return true para recarregar o arquivo no próximo limite de passo
+     */
+    boolean isReloadEnabled();
+    
     /**
      * Exibe as configurações atuais
      */
@@ -0,0 +1,311 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Configuração compilada: todos os valores de um ConfigurationProvider lidos e
+ * convertidos uma única vez para campos imutáveis.
+ *
+ * ConfigurationManager converte o texto das propriedades a cada chamada; o
+ * Simulador compila a configuração em um ConfigurationSnapshot e usa apenas o
+ * snapshot, então consultas no meio de um passo ou do povoamento (uma por
+ * célula) custam a leitura de um campo. O snapshot também guarda os limiares
+ * cumulativos da população inicial, na ordem de prioridade da tabela de
+ * espécies usada por ConcreteAnimalFactory (na tabela padrão: humano, leão,
+ * raposa, coelho). Compile o snapshot depois de instalar a tabela (Species).
+ *
+ * Por ser imutável, o snapshot pode ser publicado entre threads e trocado por
+ * inteiro (recarga do config.txt no limite de um passo).
+ *
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public final class ConfigurationSnapshot implements ConfigurationProvider
+{
+    private final int fieldWidth;
+    private final int fieldHeight;
+    private final String fieldStorage;
+    private final int chunkSize;
+    private final String speciesFile;
+    private final double[] spawnProbability;
+    private final int simulationSteps;
+    private final String simulationEngine;
+    private final int simulationThreads;
+    private final int tileSize;
+    private final long seed;
+    private final int stepDelayMillis;
+    private final int checkpointInterval;
+    private final String checkpointFile;
+    private final boolean checkpointCompressed;
+    private final String timeSeriesFile;
+    private final boolean timeSeriesDetailed;
+    private final String recordingFile;
+    private final int recordingKeyframeInterval;
+    private final boolean reloadEnabled;
+
+    // Espécies na ordem de prioridade e limiares cumulativos da população inicial
+    private final int[] spawnOrder;
+    private final double[] thresholds;
+
+    private ConfigurationSnapshot(ConfigurationProvider source, ConfigurationProvider reloadable)
+    {
+        fieldWidth = source.getFieldWidth();
+        fieldHeight = source.getFieldHeight();
+        fieldStorage = source.getFieldStorage();
+        chunkSize = source.getChunkSize();
+        simulationEngine = source.getSimulationEngine();
+        simulationThreads = source.getSimulationThreads();
+        tileSize = source.getTileSize();
+        seed = source.getSeed();
+        checkpointInterval = source.getCheckpointInterval();
+        checkpointFile = source.getCheckpointFile();
+        checkpointCompressed = source.isCheckpointCompressed();
+        timeSeriesFile = source.getTimeSeriesFile();
+        timeSeriesDetailed = source.isTimeSeriesDetailed();
+        recordingFile = source.getRecordingFile();
+        recordingKeyframeInterval = source.getRecordingKeyframeInterval();
+        reloadEnabled = source.isReloadEnabled();
+        speciesFile = source.getSpeciesFile();
+
+        // Valores que podem mudar durante a execução
+        SpeciesTable table = Species.table();
+        spawnProbability = new double[table.size()];
+        for(int s = 0; s < spawnProbability.length; s++) {
+            spawnProbability[s] = reloadable.getSpawnProbability(s);
+        }
+        simulationSteps = reloadable.getSimulationSteps();
+        stepDelayMillis = reloadable.getStepDelayMillis();
+
+        // Soma na ordem de prioridade, a mesma em que ConcreteAnimalFactory compara
+        spawnOrder = new int[table.size()];
+        thresholds = new double[table.size()];
+        double sum = 0.0;
+        for(int rank = 0; rank < spawnOrder.length; rank++) {
+            spawnOrder[rank] = table.getPriority(rank);
+            sum += spawnProbability[spawnOrder[rank]];
+            thresholds[rank] = sum;
+        }
+    }
+
+    /**
+     * Compila uma configuração.
+     * @param source configuração de origem (se já for um snapshot, é devolvida sem cópia)
+     * @return snapshot imutável
+     * @throws NumberFormatException se algum valor numérico for inválido
+     */
+    public static ConfigurationSnapshot of(ConfigurationProvider source)
+    {
+        if(source instanceof ConfigurationSnapshot) {
+            return (ConfigurationSnapshot) source;
+        }
+        return new ConfigurationSnapshot(source, source);
+    }
+
+    /**
+     * Aplica uma configuração recarregada durante a execução: os valores que
+     * podem mudar sem reiniciar (probabilidades iniciais, simulation.steps e
+     * simulation.stepDelayMs) vêm de newer; os demais (campo, motor, semente,
+     * arquivos...) continuam os deste snapshot.
+     * @param newer configuração recarregada
+     * @return novo snapshot
+     */
+    public ConfigurationSnapshot reload(ConfigurationProvider newer)
+    {
+        return new ConfigurationSnapshot(this, newer);
+    }
+
+    /**
+     * @param newer configuração recarregada
+     * @return nomes das chaves alteradas em newer que só valem ao reiniciar o programa
+     */
+    public List<String> restartRequiredChanges(ConfigurationProvider newer)
+    {
+        List<String> changed = new ArrayList<>();
+        addIfChanged(changed, "field.width", fieldWidth, newer.getFieldWidth());
+        addIfChanged(changed, "field.height", fieldHeight, newer.getFieldHeight());
+        addIfChanged(changed, "field.storage", fieldStorage, newer.getFieldStorage());
+        addIfChanged(changed, "field.chunkSize", chunkSize, newer.getChunkSize());
+        addIfChanged(changed, "simulation.engine", simulationEngine, newer.getSimulationEngine());
+        addIfChanged(changed, "simulation.threads", simulationThreads, newer.getSimulationThreads());
+        addIfChanged(changed, "simulation.tileSize", tileSize, newer.getTileSize());
+        addIfChanged(changed, "simulation.seed", seed, newer.getSeed());
+        addIfChanged(changed, "checkpoint.interval", checkpointInterval, newer.getCheckpointInterval());
+        addIfChanged(changed, "checkpoint.file", checkpointFile, newer.getCheckpointFile());
+        addIfChanged(changed, "checkpoint.compress", checkpointCompressed, newer.isCheckpointCompressed());
+        addIfChanged(changed, "timeseries.file", timeSeriesFile, newer.getTimeSeriesFile());
+        addIfChanged(changed, "timeseries.details", timeSeriesDetailed, newer.isTimeSeriesDetailed());
+        addIfChanged(changed, "recording.file", recordingFile, newer.getRecordingFile());
+        addIfChanged(changed, "recording.keyframeInterval", recordingKeyframeInterval,
+                     newer.getRecordingKeyframeInterval());
+        addIfChanged(changed, "config.reload", reloadEnabled, newer.isReloadEnabled());
+        addIfChanged(changed, "species.file", speciesFile, newer.getSpeciesFile());
+        return changed;
+    }
+
+    private static void addIfChanged(List<String> changed, String key, Object current, Object newer)
+    {
+        if(!Objects.equals(current, newer)) {
+            changed.add(key);
+        }
+    }
+
+    /**
+     * @return número de espécies na ordem de sorteio da população inicial
+     */
+    public int getSpawnOrderSize()
+    {
+        return spawnOrder.length;
+    }
+
+    /**
+     * @param rank posição na ordem de prioridade (0 = primeira)
+     * @return espécie sorteada na posição
+     */
+    public int getSpawnOrder(int rank)
+    {
+        return spawnOrder[rank];
+    }
+
+    /**
+     * Limiar cumulativo até a posição: um sorteio u cria a espécie da primeira
+     * posição com u <= limiar; acima do último limiar a célula fica vazia.
+     * @param rank posição na ordem de prioridade
+     */
+    public double getThreshold(int rank)
+    {
+        return thresholds[rank];
+    }
+
+    @Override
+    public int getFieldWidth()
+    {
+        return fieldWidth;
+    }
+
+    @Override
+    public int getFieldHeight()
+    {
+        return fieldHeight;
+    }
+
+    @Override
+    public String getFieldStorage()
+    {
+        return fieldStorage;
+    }
+
+    @Override
+    public int getChunkSize()
+    {
+        return chunkSize;
+    }
+
+    @Override
+    public double getSpawnProbability(int speciesId)
+    {
+        return spawnProbability[speciesId];
+    }
+
+    @Override
+    public String getSpeciesFile()
+    {
+        return speciesFile;
+    }
+
+    @Override
+    public int getSimulationSteps()
+    {
+        return simulationSteps;
+    }
+
+    @Override
+    public String getSimulationEngine()
+    {
+        return simulationEngine;
+    }
+
+    @Override
+    public int getSimulationThreads()
+    {
+        return simulationThreads;
+    }
+
+    @Override
+    public int getTileSize()
+    {
+        return tileSize;
+    }
+
+    @Override
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    @Override
+    public int getStepDelayMillis()
+    {
+        return stepDelayMillis;
+    }
+
+    @Override
+    public int getCheckpointInterval()
+    {
+        return checkpointInterval;
+    }
+
+    @Override
+    public String getCheckpointFile()
+    {
+        return checkpointFile;
+    }
+
+    @Override
+    public boolean isCheckpointCompressed()
+    {
+        return checkpointCompressed;
+    }
+
+    @Override
+    public String getTimeSeriesFile()
+    {
+        return timeSeriesFile;
+    }
+
+    @Override
+    public boolean isTimeSeriesDetailed()
+    {
+        return timeSeriesDetailed;
+    }
+
+    @Override
+    public String getRecordingFile()
+    {
+        return recordingFile;
+    }
+
+    @Override
+    public int getRecordingKeyframeInterval()
+    {
+        return recordingKeyframeInterval;
+    }
+
+    @Override
+    public boolean isReloadEnabled()
+    {
+        return reloadEnabled;
+    }
+
+    @Override
+    public void displayConfiguration()
+    {
+        System.out.println("=== Configuracoes Atuais ===");
+        System.out.println("Campo: " + fieldWidth + "x" + fieldHeight);
+        for(int s = 0; s < spawnProbability.length; s++) {
+            System.out.println(Species.nameOf(s) + ": " + (spawnProbability[s] * 100) + "%");
+        }
+        System.out.println("Passos: " + simulationSteps);
+        System.out.println("Motor: " + simulationEngine);
+        System.out.println("============================");
+    }
+}
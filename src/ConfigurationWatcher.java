@@ -0,0 +1,116 @@
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Observa o arquivo de configuração com um WatchService e, quando ele muda,
+ * lê e compila a nova configuração em uma thread própria ("configuracao").
+ *
+ * A thread da simulação não lê nem converte o arquivo: recebe apenas o
+ * ConfigurationSnapshot pronto pelo consumidor (Simulador.requestConfiguration),
+ * que o aplica no próximo limite de passo. Editores costumam gerar vários
+ * eventos por gravação; eventos em sequência são agrupados em uma só leitura.
+ * Se o arquivo estiver inválido, a configuração atual é mantida.
+ *
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public class ConfigurationWatcher implements AutoCloseable
+{
+    // Espera por mais eventos da mesma gravação antes de ler o arquivo
+    private static final long SETTLE_MILLIS = 100;
+
+    private final Path file;
+    private final WatchService watchService;
+    private final Consumer<ConfigurationSnapshot> listener;
+    private final Thread thread;
+
+    /**
+     * Começa a observar o arquivo.
+     * @param file arquivo de configuração
+     * @param listener recebe cada configuração compilada após uma alteração
+     * @throws IOException se o diretório não puder ser observado
+     */
+    public ConfigurationWatcher(Path file, Consumer<ConfigurationSnapshot> listener) throws IOException
+    {
+        this.file = file.toAbsolutePath();
+        this.listener = listener;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                                       StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = new Thread(this::watch, "configuracao");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Laço da thread: espera alterações do arquivo e entrega a configuração lida.
+     */
+    private void watch()
+    {
+        try {
+            while(true) {
+                WatchKey key = watchService.take();
+                boolean changed = drain(key);
+                // Agrupa os eventos seguintes da mesma gravação
+                WatchKey next;
+                while((next = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= drain(next);
+                }
+                if(changed) {
+                    reload();
+                }
+            }
+        } catch(InterruptedException | ClosedWatchServiceException e) {
+            // observação encerrada
+        }
+    }
+
+    /**
+     * @return true se algum evento da chave se refere ao arquivo observado
+     */
+    private boolean drain(WatchKey key)
+    {
+        boolean changed = false;
+        for(WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            if(context instanceof Path && file.getFileName().equals(context)) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    private void reload()
+    {
+        try {
+            listener.accept(ConfigurationSnapshot.of(ConfigurationManager.read(file)));
+        } catch(IOException e) {
+            System.out.println("Erro ao recarregar configuracoes: " + e.getMessage());
+        } catch(NumberFormatException e) {
+            System.out.println("Configuracao invalida ignorada (" + file.getFileName() + "): " + e.getMessage());
+        }
+    }
+
+    /**
+     * Para de observar o arquivo e encerra a thread.
+     */
+    @Override
+    public void close()
+    {
+        try {
+            watchService.close();
+        } catch(IOException e) {
+            System.out.println("Erro ao encerrar observacao da configuracao: " + e.getMessage());
+        }
+        thread.interrupt();
+    }
+}
@@ -0,0 +1,118 @@
+import javax.swing.*;
+import java.awt.*;
+import java.io.IOException;
+
+/**
+ * Controles para reproduzir uma execução gravada (recording.file): barra para
+ * ir a qualquer passo e botão para reproduzir/pausar.
+ *
+ * Ir para um passo decodifica a partir do quadro-chave mais próximo, então
+ * saltar para o passo 4000 custa no máximo recording.keyframeInterval quadros
+ * de diferença, e reproduzir em sequência custa uma diferença por passo.
+ * Tudo roda na thread do Swing (EDT); a pintura usa o mesmo caminho de quadros
+ * da simulação ao vivo.
+ *
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public class ControleReplay extends JFrame {
+    private static final long serialVersionUID = 1L;
+
+    private final RunReplay replay;
+    private final VisualizadorSimulacao view;
+    private final String[] speciesNames;
+    private JSlider frameSlider;
+    private JButton playButton;
+    private JLabel frameLabel;
+    private Timer playTimer;
+
+    /**
+     * @param replay gravação aberta
+     * @param view janela onde os quadros são desenhados
+     * @param frameDelayMillis intervalo entre quadros na reprodução
+     */
+    public ControleReplay(RunReplay replay, VisualizadorSimulacao view, int frameDelayMillis) {
+        this.replay = replay;
+        this.view = view;
+        this.speciesNames = replay.getSpeciesNames();
+        this.playTimer = new Timer(Math.max(1, frameDelayMillis), e -> advance());
+
+        setupUI();
+        showFrame(0);
+    }
+
+    private void setupUI() {
+        setTitle("Reproducao - Controles");
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setLayout(new BorderLayout());
+
+        frameLabel = new JLabel("Passo: 0", JLabel.CENTER);
+        frameLabel.setFont(new Font("Arial", Font.BOLD, 14));
+
+        frameSlider = new JSlider(0, Math.max(0, replay.getFrameCount() - 1), 0);
+        frameSlider.addChangeListener(e -> showFrame(frameSlider.getValue()));
+
+        playButton = new JButton("Reproduzir");
+        playButton.addActionListener(e -> togglePlay());
+
+        JPanel controlPanel = new JPanel(new FlowLayout());
+        controlPanel.setBorder(BorderFactory.createTitledBorder("Controles"));
+        controlPanel.add(playButton);
+
+        add(frameLabel, BorderLayout.NORTH);
+        add(frameSlider, BorderLayout.CENTER);
+        add(controlPanel, BorderLayout.SOUTH);
+
+        setPreferredSize(new Dimension(480, 150));
+        pack();
+        setLocationRelativeTo(null);
+    }
+
+    private void togglePlay() {
+        if (playTimer.isRunning()) {
+            playTimer.stop();
+            playButton.setText("Reproduzir");
+        } else {
+            if (frameSlider.getValue() == frameSlider.getMaximum()) {
+                frameSlider.setValue(0);
+            }
+            playTimer.start();
+            playButton.setText("Pausar");
+        }
+    }
+
+    /**
+     * Avança um quadro na reprodução (chamado pelo Timer).
+     */
+    private void advance() {
+        if (frameSlider.getValue() >= frameSlider.getMaximum()) {
+            togglePlay();
+            return;
+        }
+        frameSlider.setValue(frameSlider.getValue() + 1); // dispara showFrame
+    }
+
+    /**
+     * Decodifica e desenha o quadro.
+     */
+    private void showFrame(int frame) {
+        if (replay.getFrameCount() == 0) {
+            frameLabel.setText("Gravacao sem quadros");
+            return;
+        }
+        try {
+            byte[] cells = replay.seek(frame);
+            StringBuilder details = new StringBuilder();
+            for (int s = 0; s < speciesNames.length; s++) {
+                details.append(speciesNames[s]).append(": ").append(replay.getCount(frame, s)).append(' ');
+            }
+            view.showFrame(replay.getStep(frame), cells, replay.getTerrain(), details.toString());
+            frameLabel.setText("Passo: " + replay.getStep(frame) + " (quadro " + (frame + 1)
+                               + " de " + replay.getFrameCount() + ")");
+        } catch (IOException e) {
+            playTimer.stop();
+            JOptionPane.showMessageDialog(this, "Erro ao ler a gravacao: " + e.getMessage(),
+                                          "Reproducao", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+}
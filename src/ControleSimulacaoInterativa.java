@@ -2,10 +2,17 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Interface gráfica para controlar a simulação interativa baseada em config.txt
  * com botões para pausar, continuar e parar.
+ *
+ * Os passos rodam em uma thread própria, fora da thread do Swing (EDT). A
+ * visualização recebe um quadro por passo e pinta apenas o mais recente, então a
+ * interface não trava em passos lentos e os passos não esperam a pintura.
  * 
  * @author Código melhorado com POO
  * @version 2025
@@ -18,21 +25,42 @@ public class ControleSimulacaoInterativa extends JFrame {
     private JLabel statusLabel;
     private JLabel stepLabel;
     
-    private Timer fastTimer; // Timer para execução completa
-    private boolean isPaused = false;
-    private int currentStep = 0;
-    private int maxSteps;
+    private Thread simulationThread; // Thread da execução completa
+    private final Object pauseLock = new Object();
+    private volatile boolean isPaused = false;
+    private volatile boolean running = false;
+    private volatile int currentStep = 0;
+    // Lidos da configuração a cada passo (podem mudar ao recarregar o config.txt)
+    private volatile int maxSteps;
+    private int stepDelayMillis;
+    // Evita acumular atualizações de rótulo na fila do EDT
+    private final AtomicBoolean statusScheduled = new AtomicBoolean();
     
     public ControleSimulacaoInterativa(Simulador simulator) {
         this.simulator = simulator;
-        this.maxSteps = simulator.getConfigProvider().getSimulationSteps();
+        readStepSettings();
         
         setupUI();
     }
     
+    /**
+     * Lê o número de passos e o intervalo entre passos da configuração atual.
+     */
+    private void readStepSettings() {
+        ConfigurationProvider config = simulator.getConfigProvider();
+        maxSteps = config.getSimulationSteps();
+        stepDelayMillis = Math.max(0, config.getStepDelayMillis());
+    }
+    
     private void setupUI() {
         setTitle("Simulacao Predador-Presa - Controles");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                shutdown();
+            }
+        });
         setLayout(new BorderLayout());
         
         // Painel de informações
@@ -99,25 +127,53 @@ public class ControleSimulacaoInterativa extends JFrame {
 
     
     private void stopSimulation() {
-        // Parar timer de execução completa se estiver rodando
-        if (fastTimer != null && fastTimer.isRunning()) {
-            fastTimer.stop();
+        // Parar a thread de execução completa se estiver rodando
+        running = false;
+        synchronized (pauseLock) {
+            isPaused = false;
+            pauseLock.notifyAll();
         }
         
         pauseButton.setEnabled(false);
         runCompleteButton.setEnabled(false);
         stopButton.setVisible(true); // Garantir que botão esteja visível
         stopButton.removeActionListener(stopButton.getActionListeners()[0]);
-        stopButton.addActionListener(e -> System.exit(0));
+        stopButton.addActionListener(e -> {
+            shutdown();
+            System.exit(0);
+        });
         statusLabel.setText("Estado: Simulacao finalizada");
         
         System.out.println("\n=== SIMULACAO FINALIZADA ===");
         System.out.println("Passos executados: " + currentStep);
     }
     
+    /**
+     * Para a thread de simulação e espera o fim das gravações em segundo plano
+     * (checkpoint e série temporal) antes de a aplicação sair.
+     */
+    private void shutdown() {
+        running = false;
+        synchronized (pauseLock) {
+            isPaused = false;
+            pauseLock.notifyAll();
+        }
+        if (simulationThread != null) {
+            try {
+                simulationThread.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        simulator.close();
+    }
+    
     private void togglePause() {
-        if (fastTimer != null && fastTimer.isRunning()) {
-            isPaused = !isPaused;
+        if (running) {
+            synchronized (pauseLock) {
+                isPaused = !isPaused;
+                pauseLock.notifyAll();
+            }
             
             if (isPaused) {
                 pauseButton.setText("Continuar");
@@ -141,30 +197,68 @@ public class ControleSimulacaoInterativa extends JFrame {
         isPaused = false;
         statusLabel.setText("Estado: Executando simulacao completa...");
         
-        // Timer para execucao rapida mas visivel
-        fastTimer = new Timer(50, null); // 50ms entre passos (20 passos por segundo)
-        
-        fastTimer.addActionListener(e -> {
-            if (!isPaused && currentStep < maxSteps && simulator.getAnimals().size() > 0) {
+        running = true;
+        simulationThread = new Thread(this::runSimulationLoop, "simulacao");
+        simulationThread.setDaemon(true);
+        simulationThread.start();
+    }
+    
+    /**
+     * Laço da thread de simulação: executa os passos respeitando pausa, parada e
+     * o intervalo mínimo configurado (simulation.stepDelayMs).
+     */
+    private void runSimulationLoop() {
+        try {
+            while (running && currentStep < maxSteps && simulator.getTotalPopulation() > 0) {
+                synchronized (pauseLock) {
+                    while (isPaused && running) {
+                        pauseLock.wait();
+                    }
+                }
+                if (!running) {
+                    return;
+                }
+                
+                long start = System.nanoTime();
                 simulator.simulateOneStep();
                 currentStep++;
-                updateStatus(); // Atualizar a cada passo para ver progresso
+                readStepSettings();
+                scheduleStatusUpdate();
                 
-                // Verificar se chegou ao fim
-                if (currentStep >= maxSteps || simulator.getAnimals().size() == 0) {
-                    fastTimer.stop();
-                    stopSimulation();
-                    
-                    JOptionPane.showMessageDialog(this, 
-                        "Simulacao completa executada!\nPassos executados: " + currentStep,
-                        "Execucao Completa Finalizada", 
-                        JOptionPane.INFORMATION_MESSAGE);
+                long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+                if (elapsedMillis < stepDelayMillis) {
+                    Thread.sleep(stepDelayMillis - elapsedMillis);
                 }
             }
-            // Se pausado, timer continua rodando mas não executa passos
-        });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
         
-        fastTimer.start();
+        // Chegou ao fim (se não foi parada pelo botão)
+        if (running) {
+            SwingUtilities.invokeLater(() -> {
+                updateStatus();
+                stopSimulation();
+                
+                JOptionPane.showMessageDialog(this, 
+                    "Simulacao completa executada!\nPassos executados: " + currentStep,
+                    "Execucao Completa Finalizada", 
+                    JOptionPane.INFORMATION_MESSAGE);
+            });
+        }
+    }
+    
+    /**
+     * Agenda a atualização dos rótulos no EDT, no máximo uma pendente por vez.
+     */
+    private void scheduleStatusUpdate() {
+        if (statusScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(() -> {
+                statusScheduled.set(false);
+                updateStatus();
+            });
+        }
     }
     
     private void updateStatus() {
@@ -172,8 +266,8 @@ public class ControleSimulacaoInterativa extends JFrame {
         
         if (currentStep >= maxSteps) {
             statusLabel.setText("Estado: Simulacao finalizada");
-        } else {
+        } else if (!running) {
             statusLabel.setText("Estado: Pronto");
         }
     }
-}
\ No newline at end of file
+}
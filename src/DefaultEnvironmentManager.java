@@ -14,19 +14,27 @@ public class DefaultEnvironmentManager implements EnvironmentManager {
     private static final int SAVANNA_START_ROW = 20;
     private static final int SAVANNA_END_ROW = 35;
     
+    // Instâncias compartilhadas (flyweights): ambientes não têm estado
+    private static final Environment MOUNTAIN = new Mountain();
+    private static final Environment SAVANNA = new Savanna();
+    private static final Environment BURROW = new Burrow();
+    private static final Environment PLAINS = new Plains();
+    
     private final Random random;
     
     public DefaultEnvironmentManager() {
-        this.random = new Random();
+        // Usa o stream da thread atual, posicionado pelo Simulador antes de popular
+        this.random = SimulationContext.random();
     }
     
     @Override
     public void populateEnvironments(Campo field) {
-        for(int row = 0; row < field.getDepth(); row++) {
-            for(int col = 0; col < field.getWidth(); col++) {
-                Environment env = getEnvironmentForPosition(row, col, field.getDepth(), field.getWidth());
-                field.setEnvironmentAt(row, col, env);
-            }
+        if(field.isChunked()) {
+            // Campos em blocos derivam o terreno de cada bloco só quando consultado
+            field.setTerrain(TerrainLayer.lazy(field.getDepth(), field.getWidth(), this, Campo.CHUNK_SIZE));
+        }
+        else {
+            field.setTerrain(TerrainLayer.build(field.getDepth(), field.getWidth(), this));
         }
     }
     
@@ -34,18 +42,18 @@ public class DefaultEnvironmentManager implements EnvironmentManager {
     public Environment getEnvironmentForPosition(int row, int col, int fieldDepth, int fieldWidth) {
         // Montanhas no topo
         if (row < MOUNTAIN_ZONE_HEIGHT) {
-            return new Mountain();
+            return MOUNTAIN;
         }
         // Savana no meio
         else if (row >= SAVANNA_START_ROW && row <= SAVANNA_END_ROW) {
-            return new Savanna();
+            return SAVANNA;
         }
         // Planícies com tocas aleatórias no restante
         else {
             if (random.nextDouble() < BURROW_PROBABILITY) {
-                return new Burrow();
+                return BURROW;
             } else {
-                return new Plains();
+                return PLAINS;
             }
         }
     }
@@ -18,10 +18,10 @@ public class DefaultViewManager implements ViewManager {
     
     @Override
     public void setupColors() {
-        setAnimalColor(Fox.class, Color.blue);
-        setAnimalColor(Rabbit.class, Color.orange);
-        setAnimalColor(Lion.class, Color.red);
-        setAnimalColor(Human.class, Color.black);
+        // Cores da tabela de espécies (species.<Nome>.color)
+        for (int s = 0; s < Species.count(); s++) {
+            setSpeciesColor(s, Species.table().getColor(s));
+        }
     }
     
     @Override
@@ -35,7 +35,19 @@ public class DefaultViewManager implements ViewManager {
     }
     
     @Override
-    public void setAnimalColor(Class<?> animalClass, Color color) {
-        view.setColor(animalClass, color);
+    public boolean isDisplaying() {
+        return true;
+    }
+    
+    /**
+     * @return janela de visualização (usada também para reproduzir gravações)
+     */
+    public VisualizadorSimulacao getView() {
+        return view;
+    }
+    
+    @Override
+    public void setSpeciesColor(int speciesId, Color color) {
+        view.setColor(speciesId, color);
     }
 }
\ No newline at end of file
@@ -0,0 +1,285 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coordenador do modo distribuído: divide o campo em faixas horizontais, inicia
+ * um processo (PrincipalFaixa) por faixa, sincroniza os passos e soma as
+ * populações informadas pelas faixas.
+ *
+ * As faixas são formadas por linhas inteiras de blocos (tiles) do
+ * ParallelStepEngine e precisam ter pelo menos halo + 2 linhas, para que cada
+ * faixa só troque dados com as vizinhas imediatas. As faixas recebem do
+ * coordenador as configurações de que dependem, em vez de reler o config.txt,
+ * para que a divisão e as faixas usem os mesmos valores. Toda a comunicação usa
+ * TCP no endereço local; o passo seguinte só é pedido depois que todas as
+ * faixas informaram o anterior.
+ *
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public class DistributedCoordinator implements Closeable
+{
+    // Tempo máximo de espera pela conexão de cada faixa
+    private static final int CONNECT_TIMEOUT_MILLIS = 60_000;
+
+    private final int bands;
+    private final ConfigurationSnapshot config;
+    private final int[] bandStart;
+    private final long seed;
+    private final List<Process> processes = new ArrayList<>();
+    private final BandLink[] links;
+    private final List<int[]> totals = new ArrayList<>();
+
+    /**
+     * Inicia as faixas e recebe as populações iniciais.
+     * @param config configuração (enviada a cada faixa)
+     * @param seed semente da simulação, já resolvida
+     * @param bands número de faixas (processos)
+     * @throws IOException se alguma faixa não puder ser iniciada ou conectada
+     * @throws IllegalArgumentException se o campo não comporta tantas faixas
+     */
+    public DistributedCoordinator(ConfigurationSnapshot config, long seed, int bands) throws IOException
+    {
+        this.bands = bands;
+        this.config = config;
+        this.seed = seed;
+        this.bandStart = partition(config, bands);
+        this.links = new BandLink[bands];
+        try {
+            start();
+        } catch(IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Divide as linhas de blocos entre as faixas o mais igualmente possível.
+     * @return linha inicial de cada faixa, mais a altura do campo no fim
+     */
+    static int[] partition(ConfigurationSnapshot config, int bands)
+    {
+        if(bands < 1) {
+            throw new IllegalArgumentException("Numero de processos invalido: " + bands);
+        }
+        int depth = config.getFieldHeight();
+        int tileSize = ParallelStepEngine.effectiveTileSize(config.getTileSize());
+        int tileRows = (depth + tileSize - 1) / tileSize;
+        int minRows = BandWorker.haloRows(Species.table()) + 2;
+        int[] start = new int[bands + 1];
+        for(int b = 0; b <= bands; b++) {
+            start[b] = Math.min(depth, (int) ((long) b * tileRows / bands) * tileSize);
+        }
+        for(int b = 0; b < bands; b++) {
+            if(start[b + 1] - start[b] < minRows) {
+                throw new IllegalArgumentException("Campo de " + depth + " linhas nao comporta "
+                    + bands + " faixas de pelo menos " + minRows + " linhas (blocos de " + tileSize + ")");
+            }
+        }
+        return start;
+    }
+
+    private void start() throws IOException
+    {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        try(ServerSocket server = new ServerSocket(0, bands, loopback)) {
+            server.setSoTimeout(CONNECT_TIMEOUT_MILLIS);
+            for(int b = 0; b < bands; b++) {
+                processes.add(launch(server.getLocalPort(), b));
+            }
+
+            // As faixas conectam em qualquer ordem; o HELLO diz o índice e a porta para a de baixo
+            int[] neighbourPorts = new int[bands];
+            for(int i = 0; i < bands; i++) {
+                BandLink link;
+                try {
+                    link = new BandLink(server.accept());
+                } catch(SocketTimeoutException e) {
+                    throw new IOException("Faixa nao conectou em " + CONNECT_TIMEOUT_MILLIS / 1000 + " s", e);
+                }
+                DataInputStream hello = new DataInputStream(new ByteArrayInputStream(link.receive()));
+                int band = hello.readInt();
+                neighbourPorts[band] = hello.readInt();
+                links[band] = link;
+            }
+
+            for(int b = 0; b < bands; b++) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                DataOutputStream out = new DataOutputStream(bytes);
+                out.writeInt(bandStart[b]);
+                out.writeInt(bandStart[b + 1]);
+                out.writeInt(b > 0 ? neighbourPorts[b - 1] : -1);
+                out.writeBoolean(b < bands - 1);
+                out.writeLong(seed);
+                BandWorker.writeSettings(out, config);
+                links[b].send(bytes.toByteArray());
+            }
+        }
+        collectStatistics();
+    }
+
+    /**
+     * Inicia o processo de uma faixa com o mesmo Java e classpath deste.
+     */
+    private Process launch(int coordinatorPort, int band) throws IOException
+    {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        ProcessBuilder builder = new ProcessBuilder(java, "-Djava.awt.headless=true",
+            "-cp", System.getProperty("java.class.path"),
+            "PrincipalFaixa", Integer.toString(coordinatorPort), Integer.toString(band));
+        builder.inheritIO();
+        return builder.start();
+    }
+
+    /**
+     * Executa um passo em todas as faixas e espera as populações de cada uma.
+     * @throws IOException se alguma faixa falhar
+     */
+    public void step() throws IOException
+    {
+        broadcast(BandWorker.COMMAND_STEP);
+        collectStatistics();
+    }
+
+    /**
+     * Executa vários passos seguidos.
+     * @param steps número de passos
+     * @throws IOException se alguma faixa falhar
+     */
+    public void simulateSteps(int steps) throws IOException
+    {
+        for(int i = 0; i < steps; i++) {
+            step();
+        }
+    }
+
+    private void broadcast(int command) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new DataOutputStream(bytes).writeInt(command);
+        byte[] message = bytes.toByteArray();
+        for(BandLink link : links) {
+            link.send(message);
+        }
+    }
+
+    /**
+     * Recebe a população de cada faixa no passo atual e acrescenta a soma à série.
+     */
+    private void collectStatistics() throws IOException
+    {
+        int[] counts = new int[Species.count()];
+        for(int b = 0; b < bands; b++) {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(links[b].receive()));
+            int bandStep = in.readInt();
+            if(bandStep != totals.size()) {
+                throw new IOException("Faixa " + b + " no passo " + bandStep + ", esperado " + totals.size());
+            }
+            int species = in.readInt();
+            for(int s = 0; s < species; s++) {
+                counts[s] += in.readInt();
+            }
+        }
+        totals.add(counts);
+    }
+
+    /**
+     * @return número do último passo executado
+     */
+    public int getStep()
+    {
+        return totals.size() - 1;
+    }
+
+    /**
+     * @return população de toda a grade de uma espécie no último passo
+     */
+    public int getPopulation(int speciesId)
+    {
+        return totals.get(totals.size() - 1)[speciesId];
+    }
+
+    /**
+     * @return populações somadas de cada passo (índice = passo, depois espécie)
+     */
+    public List<int[]> getTotals()
+    {
+        return totals;
+    }
+
+    /**
+     * Exporta a população de cada espécie por passo em CSV.
+     * @param path arquivo de destino
+     */
+    public void exportCsv(Path path) throws IOException
+    {
+        try(PrintWriter out = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            StringBuilder header = new StringBuilder("step");
+            for(int s = 0; s < Species.count(); s++) {
+                header.append(',').append(Species.nameOf(s));
+            }
+            out.println(header);
+            for(int step = 0; step < totals.size(); step++) {
+                StringBuilder line = new StringBuilder().append(step);
+                for(int count : totals.get(step)) {
+                    line.append(',').append(count);
+                }
+                out.println(line);
+            }
+        }
+    }
+
+    /**
+     * @return número de faixas
+     */
+    public int getBands()
+    {
+        return bands;
+    }
+
+    /**
+     * Pede às faixas que terminem e espera os processos; se algum não terminar,
+     * encerra-o à força.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        for(BandLink link : links) {
+            if(link != null) {
+                try {
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    new DataOutputStream(bytes).writeInt(BandWorker.COMMAND_STOP);
+                    link.send(bytes.toByteArray());
+                } catch(IOException e) {
+                    // faixa já encerrada
+                }
+                link.close();
+            }
+        }
+        for(Process process : processes) {
+            try {
+                if(!process.waitFor(10, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch(InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executa um conjunto (ensemble) de simulações independentes em paralelo, sem
+ * interface gráfica, e agrega a população de cada espécie por passo.
+ *
+ * Cada membro tem o seu próprio ConfigurationProvider, Simulador, fábrica e
+ * gerenciador de ambientes. Os números aleatórios vêm do stream da thread
+ * posicionado pela semente de cada simulação (SimulationContext), então os
+ * membros não compartilham estado mutável e o resultado de cada um é igual ao
+ * de uma execução isolada com a mesma configuração, qualquer que seja a thread.
+ *
+ * Os membros rodam em um pool fixo de threads: no máximo `threads` simuladores
+ * existem ao mesmo tempo, e a população de cada membro é somada às estatísticas
+ * assim que ele termina.
+ *
+ * A tabela de espécies é global ao processo (Species), então todos os membros
+ * usam o mesmo species.file; ela é instalada uma única vez, antes de os
+ * membros começarem.
+ *
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public class EnsembleRunner
+{
+    private final int threads;
+
+    /**
+     * @param threads número de simulações simultâneas (0 ou negativo usa todos os processadores)
+     */
+    public EnsembleRunner(int threads)
+    {
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Cria as configurações de um conjunto que varia apenas a semente: o membro i
+     * usa firstSeed + i, então qualquer membro pode ser repetido isoladamente com
+     * simulation.seed. As cópias não gravam checkpoints, série temporal nem
+     * execução (todos os membros escreveriam nos mesmos arquivos) e usam uma
+     * thread por membro no motor paralelo, pois o paralelismo vem dos membros.
+     * @param base configuração de partida (não é alterada)
+     * @param firstSeed semente do primeiro membro (diferente de zero)
+     * @param members número de membros
+     * @return uma configuração por membro
+     */
+    public static List<ConfigurationProvider> seedVariants(ConfigurationManager base, long firstSeed, int members)
+    {
+        List<ConfigurationProvider> configs = new ArrayList<>(members);
+        long seed = firstSeed;
+        for(int i = 0; i < members; i++) {
+            if(seed == 0) {
+                seed++; // 0 significa semente sorteada
+            }
+            ConfigurationManager config = new ConfigurationManager(base);
+            config.setQuiet(true);
+            config.setSeed(seed++);
+            config.setSimulationThreads(1);
+            config.setCheckpointInterval(0);
+            config.setTimeSeriesFile("");
+            config.setRecordingFile("");
+            configs.add(config);
+        }
+        return configs;
+    }
+
+    /**
+     * Executa todos os membros até o passo dado (ou até a extinção de todos os
+     * animais) e agrega as populações.
+     * @param configs configuração de cada membro
+     * @param steps passos executados por membro
+     * @return estatísticas do conjunto
+     * @throws InterruptedException se a thread for interrompida enquanto espera os membros
+     * @throws IllegalArgumentException se os membros não usarem o mesmo species.file
+     */
+    public EnsembleStatistics run(List<? extends ConfigurationProvider> configs, int steps)
+        throws InterruptedException
+    {
+        installSpecies(configs);
+        EnsembleStatistics statistics = new EnsembleStatistics(configs.size(), steps);
+        List<Callable<Void>> tasks = new ArrayList<>(configs.size());
+        for(int i = 0; i < configs.size(); i++) {
+            int member = i;
+            ConfigurationProvider config = configs.get(i);
+            tasks.add(() -> {
+                runMember(member, config, steps, statistics);
+                return null;
+            });
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads, daemonThreads());
+        try {
+            List<Future<Void>> results = pool.invokeAll(tasks);
+            for(int i = 0; i < results.size(); i++) {
+                try {
+                    results.get(i).get();
+                } catch(ExecutionException e) {
+                    throw new IllegalStateException("Membro " + i + " do conjunto falhou", e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return statistics;
+    }
+
+    /**
+     * Instala a tabela de espécies comum a todos os membros. Os simuladores
+     * dos membros encontram o arquivo já instalado e não o releem.
+     */
+    private static void installSpecies(List<? extends ConfigurationProvider> configs)
+    {
+        if(configs.isEmpty()) {
+            return;
+        }
+        String file = configs.get(0).getSpeciesFile();
+        for(ConfigurationProvider config : configs) {
+            if(!file.equals(config.getSpeciesFile())) {
+                throw new IllegalArgumentException("Os membros do conjunto devem usar o mesmo species.file: "
+                                                   + file + " e " + config.getSpeciesFile());
+            }
+        }
+        Species.install(file);
+    }
+
+    /**
+     * Executa um membro, guardando a população de cada espécie em cada passo.
+     */
+    private static void runMember(int member, ConfigurationProvider config, int steps,
+                                  EnsembleStatistics statistics)
+    {
+        Simulador simulator = new Simulador(config, new ConcreteAnimalFactory(),
+                                            new DefaultEnvironmentManager(), new NullViewManager());
+        try {
+            // counts[step * COUNT + espécie]; após a extinção total os passos restantes ficam em zero
+            int[] counts = new int[(steps + 1) * Species.count()];
+            int stepsRun = 0;
+            boolean alive = recordCounts(simulator, counts, 0);
+            while(alive && stepsRun < steps) {
+                simulator.simulateOneStep();
+                stepsRun++;
+                alive = recordCounts(simulator, counts, stepsRun);
+            }
+            statistics.add(member, simulator.getContext().getSeed(), counts, stepsRun);
+        } finally {
+            simulator.close();
+        }
+    }
+
+    /**
+     * @return true se ainda há algum animal vivo
+     */
+    private static boolean recordCounts(Simulador simulator, int[] counts, int step)
+    {
+        int total = 0;
+        int offset = step * Species.count();
+        for(int s = 0; s < Species.count(); s++) {
+            int count = simulator.getPopulation(s);
+            counts[offset + s] = count;
+            total += count;
+        }
+        return total > 0;
+    }
+
+    /**
+     * Threads daemon nomeadas, para não impedir o fim da JVM.
+     */
+    private static ThreadFactory daemonThreads()
+    {
+        AtomicInteger next = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "conjunto-" + next.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,205 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Estatísticas agregadas de um conjunto de simulações (EnsembleRunner):
+ * média, desvio padrão, mínimo e máximo da população de cada espécie em cada
+ * passo, a população final e a semente de cada membro.
+ *
+ * Os membros são somados à medida que terminam, por várias threads; a soma é
+ * sincronizada e feita uma vez por membro, então não disputa com os passos.
+ * Consulte as estatísticas apenas depois de EnsembleRunner.run retornar.
+ *
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public class EnsembleStatistics
+{
+    private final int members;
+    private final int steps;
+
+    // Acumuladores por (passo * COUNT + espécie)
+    private final long[] sum;
+    private final double[] sumOfSquares;
+    private final int[] min;
+    private final int[] max;
+
+    // Resultado de cada membro
+    private final long[] seeds;
+    private final int[][] finalCounts;
+    private final int[] stepsRun;
+    private int completed;
+
+    /**
+     * @param members número de membros do conjunto
+     * @param steps passos executados por membro
+     */
+    public EnsembleStatistics(int members, int steps)
+    {
+        this.members = members;
+        this.steps = steps;
+        int cells = (steps + 1) * Species.count();
+        sum = new long[cells];
+        sumOfSquares = new double[cells];
+        min = new int[cells];
+        max = new int[cells];
+        Arrays.fill(min, Integer.MAX_VALUE);
+        seeds = new long[members];
+        finalCounts = new int[members][Species.count()];
+        stepsRun = new int[members];
+    }
+
+    /**
+     * Soma a população de um membro que terminou.
+     * @param member índice do membro
+     * @param seed semente usada pelo membro
+     * @param counts população por (passo * Species.count() + espécie), passos 0 a steps
+     * @param memberSteps passos realmente executados (menos que steps se todos morreram)
+     */
+    synchronized void add(int member, long seed, int[] counts, int memberSteps)
+    {
+        for(int i = 0; i < counts.length; i++) {
+            int count = counts[i];
+            sum[i] += count;
+            sumOfSquares[i] += (double) count * count;
+            if(count < min[i]) {
+                min[i] = count;
+            }
+            if(count > max[i]) {
+                max[i] = count;
+            }
+        }
+        seeds[member] = seed;
+        System.arraycopy(counts, steps * Species.count(), finalCounts[member], 0, Species.count());
+        stepsRun[member] = memberSteps;
+        completed++;
+    }
+
+    public int getMemberCount()
+    {
+        return members;
+    }
+
+    public int getSteps()
+    {
+        return steps;
+    }
+
+    /**
+     * @return população média da espécie no passo
+     */
+    public synchronized double getMean(int step, int speciesId)
+    {
+        return completed == 0 ? 0.0 : (double) sum[step * Species.count() + speciesId] / completed;
+    }
+
+    /**
+     * @return desvio padrão (populacional) da espécie no passo
+     */
+    public synchronized double getStdDev(int step, int speciesId)
+    {
+        if(completed == 0) {
+            return 0.0;
+        }
+        int i = step * Species.count() + speciesId;
+        double mean = (double) sum[i] / completed;
+        return Math.sqrt(Math.max(0.0, sumOfSquares[i] / completed - mean * mean));
+    }
+
+    public synchronized int getMin(int step, int speciesId)
+    {
+        return completed == 0 ? 0 : min[step * Species.count() + speciesId];
+    }
+
+    public synchronized int getMax(int step, int speciesId)
+    {
+        return completed == 0 ? 0 : max[step * Species.count() + speciesId];
+    }
+
+    public synchronized long getSeed(int member)
+    {
+        return seeds[member];
+    }
+
+    /**
+     * @return população da espécie no último passo do membro
+     */
+    public synchronized int getFinalCount(int member, int speciesId)
+    {
+        return finalCounts[member][speciesId];
+    }
+
+    /**
+     * @return passos executados pelo membro antes do fim (ou da extinção total)
+     */
+    public synchronized int getStepsRun(int member)
+    {
+        return stepsRun[member];
+    }
+
+    /**
+     * @return fração dos membros em que a espécie sobreviveu até o fim
+     */
+    public synchronized double getSurvivalRate(int speciesId)
+    {
+        int survived = 0;
+        for(int[] counts : finalCounts) {
+            if(counts[speciesId] > 0) {
+                survived++;
+            }
+        }
+        return members == 0 ? 0.0 : (double) survived / members;
+    }
+
+    /**
+     * @param minSpecies número mínimo de espécies vivas
+     * @return fração dos membros que terminaram com pelo menos minSpecies espécies vivas
+     */
+    public synchronized double getCoexistenceRate(int minSpecies)
+    {
+        int coexisting = 0;
+        for(int[] counts : finalCounts) {
+            int living = 0;
+            for(int count : counts) {
+                if(count > 0) {
+                    living++;
+                }
+            }
+            if(living >= minSpecies) {
+                coexisting++;
+            }
+        }
+        return members == 0 ? 0.0 : (double) coexisting / members;
+    }
+
+    /**
+     * Exporta as estatísticas por passo em CSV: passo e, para cada espécie,
+     * média, desvio padrão, mínimo e máximo.
+     * @param path arquivo de destino
+     */
+    public synchronized void exportCsv(Path path) throws IOException
+    {
+        try(PrintWriter out = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            StringBuilder header = new StringBuilder("step");
+            for(int s = 0; s < Species.count(); s++) {
+                String name = Species.nameOf(s);
+                header.append(',').append(name).append("_mean,").append(name).append("_sd,")
+                      .append(name).append("_min,").append(name).append("_max");
+            }
+            out.println(header);
+            for(int step = 0; step <= steps; step++) {
+                StringBuilder line = new StringBuilder().append(step);
+                for(int s = 0; s < Species.count(); s++) {
+                    line.append(String.format(Locale.ROOT, ",%.3f,%.3f,%d,%d", getMean(step, s),
+                                              getStdDev(step, s), getMin(step, s), getMax(step, s)));
+                }
+                out.println(line);
+            }
+        }
+    }
+}
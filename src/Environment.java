@@ -5,12 +5,38 @@
  * @version 2025
  */
 public abstract class Environment {
+    /**
+     * Verifica se uma espécie pode entrar neste ambiente, pelos habitats da
+     * tabela de espécies (SpeciesTable).
+     * As regras são compiladas uma única vez na matriz de permissões do TerrainLayer.
+     * @param speciesId Identificador da espécie (ver Species).
+     * @return true se a espécie puder entrar, false caso contrário.
+     */
+    public boolean canEnter(int speciesId)
+    {
+        return Species.table().canEnter(speciesId, this);
+    }
+
+    /**
+     * Verifica se este ambiente é o refúgio da espécie (onde ela fica parada
+     * e apenas se reproduz). Compilado pelo TerrainLayer como canEnter.
+     * @param speciesId Identificador da espécie (ver Species).
+     * @return true se for o refúgio da espécie.
+     */
+    public boolean isRefuge(int speciesId)
+    {
+        return Species.table().isRefuge(speciesId, this);
+    }
+
     /**
      * Verifica se um determinado animal pode entrar neste ambiente.
      * @param animal O animal que tenta entrar no ambiente.
      * @return true se o animal puder entrar, false caso contrário.
      */
-    public abstract boolean canEnter(Animal animal);
+    public boolean canEnter(Animal animal)
+    {
+        return canEnter(animal.getSpeciesId());
+    }
     /**
      * Retorna o nome do ambiente.
      * @return Nome do ambiente.
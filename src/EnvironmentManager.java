@@ -8,7 +8,8 @@
 public interface EnvironmentManager {
     
     /**
-     * Popula um campo com ambientes apropriados
+     * Popula um campo com ambientes apropriados, definindo a sua camada de terreno.
+     * Campos criados depois com new Campo(field) compartilham a mesma camada.
      * @param field campo a ser populado
      */
     void populateEnvironments(Campo field);
@@ -19,7 +20,7 @@ public interface EnvironmentManager {
      * @param col coluna da posição
      * @param fieldDepth profundidade total do campo
      * @param fieldWidth largura total do campo
-     * @return ambiente apropriado para a posição
+     * @return ambiente apropriado para a posição (pode ser uma instância compartilhada)
      */
     Environment getEnvironmentForPosition(int row, int col, int fieldDepth, int fieldWidth);
 }
\ No newline at end of file
@@ -1,20 +1,15 @@
-import java.awt.Color;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.Map;
-
 /**
  * Esta classe coleta e fornece dados estatísticos sobre o estado do campo.
- * É flexível: criará e manterá um contador para qualquer classe de objeto
- * encontrada no campo. Melhorada com uso de generics.
+ * As contagens vêm dos contadores incrementais do Campo (um por espécie),
+ * então consultar as estatísticas não exige varrer todas as células.
  * 
  * @author Código melhorado com POO
  * @version 2025
  */
 public class EstatisticasCampo
 {
-    // Contadores para cada tipo de entidade (raposa, coelho, etc.)
-    private Map<Class<?>, Counter> counters;
+    // Contadores para cada espécie, indexados pelo identificador (ver Species)
+    private Counter[] counters;
     // Se os contadores estão atualizados
     private boolean countsValid;
 
@@ -23,11 +18,21 @@ public class EstatisticasCampo
      */
     public EstatisticasCampo()
     {
-        // Configura uma coleção para contadores de cada tipo de animal
-        counters = new HashMap<>();
+        createCounters();
         countsValid = true;
     }
 
+    /**
+     * Cria um contador por espécie da tabela em uso.
+     */
+    private void createCounters()
+    {
+        counters = new Counter[Species.count()];
+        for(int s = 0; s < counters.length; s++) {
+            counters[s] = new Counter(Species.nameOf(s));
+        }
+    }
+
     /**
      * @return String descrevendo quais animais estão no campo
      */
@@ -37,7 +42,7 @@ public class EstatisticasCampo
         if(!countsValid) {
             generateCounts(field);
         }
-        for(Counter info : counters.values()) {
+        for(Counter info : counters) {
             buffer.append(info.getName());
             buffer.append(": ");
             buffer.append(info.getCount());
@@ -52,32 +57,13 @@ public class EstatisticasCampo
     public void reset()
     {
         countsValid = false;
-        for(Counter cnt : counters.values()) {
-            cnt.reset();
+        // A visualização pode ser criada antes de o Simulador instalar a tabela de espécies
+        if(counters.length != Species.count()) {
+            createCounters();
         }
-    }
-
-    /**
-     * Incrementa a contagem para uma classe de animal.
-     * @param animalClass Classe do animal
-     */
-    public void incrementCount(Class<?> animalClass)
-    {
-        Counter cnt = counters.get(animalClass);
-        if(cnt == null) {
-            // Ainda não temos um contador para esta espécie - cria um
-            cnt = new Counter(animalClass.getSimpleName());
-            counters.put(animalClass, cnt);
+        for(Counter cnt : counters) {
+            cnt.reset();
         }
-        cnt.increment();
-    }
-
-    /**
-     * Indica que uma contagem de animais foi completada.
-     */
-    public void countFinished()
-    {
-        countsValid = true;
     }
 
     /**
@@ -90,7 +76,7 @@ public class EstatisticasCampo
         if(!countsValid) {
             generateCounts(field);
         }
-        for(Counter info : counters.values()) {
+        for(Counter info : counters) {
             if(info.getCount() > 0) {
                 nonZero++;
             }
@@ -99,20 +85,13 @@ public class EstatisticasCampo
     }
     
     /**
-     * Gera contagens do número de raposas e coelhos.
-     * Só atualiza quando uma solicitação é feita.
+     * Copia as contagens mantidas pelo campo, em O(número de espécies).
      * @param field Campo a ser analisado
      */
     private void generateCounts(Campo field)
     {
-        reset();
-        for(int row = 0; row < field.getDepth(); row++) {
-            for(int col = 0; col < field.getWidth(); col++) {
-                Animal animal = field.getObjectAt(row, col);
-                if(animal != null) {
-                    incrementCount(animal.getClass());
-                }
-            }
+        for(int s = 0; s < counters.length; s++) {
+            counters[s].setCount(field.getPopulation(s));
         }
         countsValid = true;
     }
@@ -0,0 +1,131 @@
+import java.awt.Color;
+import java.util.Arrays;
+
+/**
+ * Compõe a imagem do campo em um int[] RGB, um pixel por célula, sem depender
+ * de componentes Swing (pode ser usado sem display, por exemplo em benchmarks).
+ *
+ * O terreno é estático: é pré-renderizado uma vez por camada de terreno e, a
+ * cada quadro, copiado para os pixels antes de pintar apenas as células com
+ * animais. Usado por uma única thread por vez.
+ *
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public class FieldRenderer
+{
+    // Colors used for empty locations.
+    private static final Color EMPTY_COLOR = Color.white;
+
+    // Color used for objects that have no defined color.
+    private static final Color UNKNOWN_COLOR = Color.gray;
+
+    // Colors used for the environments.
+    private static final Color MOUNTAIN_COLOR = Color.DARK_GRAY;
+    private static final Color SAVANNA_COLOR = new Color(240, 230, 140);
+    private static final Color BURROW_COLOR = new Color(139, 69, 19);
+    private static final Color PLAINS_COLOR = new Color(144, 238, 144);
+
+    // Cores (RGB) de cada espécie, indexadas pelo identificador
+    private final int[] speciesColors;
+    // Terreno pré-renderizado e a camada de onde veio
+    private int[] terrainPixels;
+    private TerrainLayer renderedTerrain;
+
+    public FieldRenderer()
+    {
+        // Dimensionado para o máximo, com as cores da tabela de espécies em uso
+        speciesColors = new int[SpeciesTable.MAX_SPECIES];
+        Arrays.fill(speciesColors, UNKNOWN_COLOR.getRGB());
+        for(int s = 0; s < Species.count(); s++) {
+            speciesColors[s] = Species.table().getColor(s).getRGB();
+        }
+    }
+
+    /**
+     * Define a cor de uma espécie.
+     * @param speciesId identificador da espécie
+     * @param color cor dos animais da espécie
+     */
+    public void setColor(int speciesId, Color color)
+    {
+        speciesColors[speciesId] = color.getRGB();
+    }
+
+    private Color getEnvironmentColor(Environment env) {
+        if (env instanceof Mountain) return MOUNTAIN_COLOR;
+        if (env instanceof Savanna) return SAVANNA_COLOR;
+        if (env instanceof Burrow) return BURROW_COLOR;
+        if (env instanceof Plains) return PLAINS_COLOR;
+        return EMPTY_COLOR;
+    }
+
+    /**
+     * Compõe os pixels do campo: terreno em cache e, por cima, os animais.
+     * @param field campo a desenhar
+     * @param pixels destino com depth * width posições
+     */
+    public void render(Campo field, int[] pixels)
+    {
+        int width = field.getWidth();
+        TerrainLayer terrain = field.getTerrain();
+        if(terrainPixels == null || (terrain != null && terrain != renderedTerrain)) {
+            renderTerrain(terrain, pixels.length);
+        }
+        System.arraycopy(terrainPixels, 0, pixels, 0, pixels.length);
+
+        for(int row = 0; row < field.getDepth(); row++) {
+            int offset = row * width;
+            for(int col = 0; col < width; col++) {
+                Animal animal = field.getObjectAt(row, col);
+                if(animal != null) {
+                    pixels[offset + col] = speciesColors[animal.getSpeciesId()];
+                }
+            }
+        }
+    }
+
+    /**
+     * Compõe os pixels de um quadro gravado.
+     * @param cellCodes um byte por célula: 0 = vazia, 1 + espécie do ocupante
+     * @param terrain terreno da gravação
+     * @param pixels destino com o mesmo número de posições
+     */
+    public void render(byte[] cellCodes, TerrainLayer terrain, int[] pixels)
+    {
+        if(terrainPixels == null || terrain != renderedTerrain) {
+            renderTerrain(terrain, pixels.length);
+        }
+        System.arraycopy(terrainPixels, 0, pixels, 0, pixels.length);
+        for(int cell = 0; cell < cellCodes.length; cell++) {
+            int code = cellCodes[cell];
+            if(code != 0) {
+                pixels[cell] = speciesColors[code - 1];
+            }
+        }
+    }
+
+    /**
+     * Pré-renderiza o terreno, com uma cor por tipo de ambiente da paleta.
+     */
+    private void renderTerrain(TerrainLayer terrain, int cells)
+    {
+        terrainPixels = new int[cells];
+        if(terrain == null) {
+            Arrays.fill(terrainPixels, EMPTY_COLOR.getRGB());
+            return;
+        }
+        // Primeiro os códigos: no terreno em blocos a paleta cresce enquanto os blocos são derivados
+        for(int cell = 0; cell < cells; cell++) {
+            terrainPixels[cell] = terrain.codeAt(cell);
+        }
+        int[] paletteColors = new int[terrain.getKindCount()];
+        for(int code = 0; code < paletteColors.length; code++) {
+            paletteColors[code] = getEnvironmentColor(terrain.environmentForCode(code)).getRGB();
+        }
+        for(int cell = 0; cell < cells; cell++) {
+            terrainPixels[cell] = paletteColors[terrainPixels[cell]];
+        }
+        renderedTerrain = terrain;
+    }
+}
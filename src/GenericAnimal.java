@@ -0,0 +1,207 @@
+import java.util.List;
+
+/**
+ * Animal cujas regras vêm da tabela de espécies (SpeciesTable).
+ * Um único tipo representa todas as espécies: idade, reprodução, fome, dieta,
+ * fuga, refúgio e habitats são lidos da linha da espécie, então uma espécie
+ * nova não precisa de uma subclasse.
+ *
+ * Cada passo segue a mesma sequência para todas as espécies:
+ * - envelhece e, se a espécie come, perde comida (pode morrer);
+ * - no refúgio, apenas se reproduz e fica parado;
+ * - se foge de alguma espécie e há uma ao alcance da percepção, tenta fugir;
+ * - reproduz (vizinho sorteado ou primeiro vizinho livre);
+ * - caça a primeira presa adjacente na ordem da dieta, ou anda para um vizinho livre;
+ * - sem destino, fica, fica ou morre, ou morre (whenBlocked).
+ *
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public final class GenericAnimal extends Animal implements Predator, Prey
+{
+    // Nível de comida (sempre 0 em espécies que não comem)
+    private int foodLevel;
+
+    /**
+     * Cria um animal da espécie.
+     * @param speciesId Identificador da espécie (ver Species).
+     * @param randomAge Se verdadeiro, idade (e comida, se a espécie sortear) aleatórias.
+     */
+    public GenericAnimal(int speciesId, boolean randomAge)
+    {
+        super(speciesId, randomAge);
+        SpeciesTable table = Species.table();
+        int initialFood = table.getInitialFood(speciesId);
+        if(randomAge && initialFood > 0 && table.hasRandomInitialFood(speciesId)) {
+            foodLevel = rand.nextInt(initialFood) + (initialFood / 4);
+        }
+        else {
+            foodLevel = initialFood;
+        }
+    }
+
+    @Override
+    protected void resetAsNewborn()
+    {
+        super.resetAsNewborn();
+        foodLevel = Species.table().getInitialFood(getSpeciesId());
+    }
+
+    @Override
+    public void act(Campo currentField, Campo updatedField, List<Animal> newAnimals)
+    {
+        SpeciesTable table = Species.table();
+        int species = getSpeciesId();
+
+        incrementAge();
+        if(table.eats(species)) {
+            foodLevel -= table.getHungerLoss(species);
+            if(foodLevel <= 0) setDead();
+        }
+        if(!isAlive()) return;
+
+        // No refúgio a espécie fica parada e só se reproduz
+        if(currentField.isRefuge(location, species)) {
+            giveBirth(table, updatedField, newAnimals);
+            updatedField.place(this, location);
+            return;
+        }
+
+        // Se detecta predadores, tenta fugir
+        if(table.getFleeMask(species) != 0 && detectsPredators(currentField, location)) {
+            Location escapeLoc = escape(currentField, location);
+            if(escapeLoc != null) {
+                setLocation(escapeLoc);
+                updatedField.place(this, escapeLoc);
+                return;
+            }
+        }
+
+        giveBirth(table, updatedField, newAnimals);
+
+        // Caça; sem presa, anda para um vizinho livre
+        Location newLocation = table.getDietSize(species) > 0 ? hunt(currentField, location) : null;
+        if(newLocation == null) {
+            newLocation = updatedField.freeAdjacentLocation(location);
+        }
+
+        if(newLocation != null &&
+                updatedField.getObjectAt(newLocation) == null &&
+                updatedField.canEnter(newLocation, this)) {
+            setLocation(newLocation);
+            updatedField.place(this, newLocation);
+            return;
+        }
+
+        switch(table.getWhenBlocked(species)) {
+            case SpeciesTable.BLOCKED_STAY:
+                updatedField.place(this, location);
+                break;
+            case SpeciesTable.BLOCKED_STAY_OR_DIE:
+                if(updatedField.getObjectAt(location) == null && updatedField.canEnter(location, this)) {
+                    updatedField.place(this, location);
+                } else {
+                    setDead();
+                }
+                break;
+            default:
+                setDead(); // superlotação
+                break;
+        }
+    }
+
+    /**
+     * Coloca os filhotes em vizinhos livres que o ambiente permita.
+     * O filhote só é criado quando há lugar para ele.
+     */
+    private void giveBirth(SpeciesTable table, Campo updatedField, List<Animal> newAnimals)
+    {
+        int species = getSpeciesId();
+        boolean random = table.isBirthRandom(species);
+        int births = breed();
+        for(int b = 0; b < births; b++) {
+            Location loc = random ? updatedField.randomAdjacentLocation(location)
+                                  : updatedField.freeAdjacentLocation(location);
+            if(loc != null && updatedField.getObjectAt(loc) == null && updatedField.canEnter(loc, species)) {
+                Animal young = updatedField.getArena().obtain(species);
+                young.setLocation(loc);
+                newAnimals.add(young);
+                updatedField.place(young, loc);
+            }
+        }
+    }
+
+    /**
+     * Come a primeira presa viva adjacente, na ordem de preferência da dieta.
+     * Só visita os vizinhos marcados no mapa de bits da espécie da presa.
+     */
+    @Override
+    public Location hunt(Campo field, Location location)
+    {
+        SpeciesTable table = Species.table();
+        int species = getSpeciesId();
+        for(int k = 0; k < table.getDietSize(species); k++) {
+            int candidates = field.neighbourMask(location, Species.bit(table.getPrey(species, k)));
+            for(; candidates != 0; candidates &= candidates - 1) {
+                Location where = field.adjacentLocation(location, Integer.numberOfTrailingZeros(candidates));
+                Animal a = field.getObjectAt(where);
+                if(a.isAlive()) {
+                    a.setDead();
+                    int value = table.getFoodValue(species, k);
+                    foodLevel = table.isFeedingAdditive(species)
+                                ? Math.min(foodLevel + value, table.getInitialFood(species))
+                                : value;
+                    return where;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Com perceptionRadius 1, consulta a máscara de vizinhos do campo
+     * (Campo.neighbourMask); com raios maiores, a tabela de percepção
+     * (Campo.countWithin). Ambos em O(1).
+     * @return true se alguma espécie da qual esta foge está a até perceptionRadius células
+     */
+    @Override
+    public boolean detectsPredators(Campo field, Location location)
+    {
+        SpeciesTable table = Species.table();
+        int fleeMask = table.getFleeMask(getSpeciesId());
+        int radius = table.getPerceptionRadius(getSpeciesId());
+        if(radius > 1) {
+            return field.countWithin(location, radius, fleeMask) > 0;
+        }
+        return field.neighbourMask(location, fleeMask) != 0;
+    }
+
+    /**
+     * Primeiro vizinho livre, permitido e sem predadores ao alcance da percepção.
+     */
+    @Override
+    public Location escape(Campo field, Location location)
+    {
+        for(int free = field.freeNeighbourMask(location); free != 0; free &= free - 1) {
+            Location loc = field.adjacentLocation(location, Integer.numberOfTrailingZeros(free));
+            if(!field.canEnter(loc, this)) continue;
+            if(!detectsPredators(field, loc)) return loc;
+        }
+        return null;
+    }
+
+    @Override
+    protected Animal createOffspring(boolean randomAge)
+    {
+        return new GenericAnimal(getSpeciesId(), randomAge);
+    }
+
+    @Override protected int getMaxAge() { return Species.table().getMaxAge(getSpeciesId()); }
+    @Override protected int getBreedingAge() { return Species.table().getBreedingAge(getSpeciesId()); }
+    @Override protected double getBreedingProbability() { return Species.table().getBreedingProbability(getSpeciesId()); }
+    @Override protected int getMaxLitterSize() { return Species.table().getMaxLitterSize(getSpeciesId()); }
+
+    @Override public int getFoodLevel() { return foodLevel; }
+    @Override protected void setFoodLevel(int foodLevel) { this.foodLevel = foodLevel; }
+    @Override public boolean isHungry() { return foodLevel < Species.table().getHungryBelow(getSpeciesId()); }
+}
@@ -0,0 +1,45 @@
+import java.awt.Color;
+
+/**
+ * Implementação nula do gerenciador de visualização (Null Object Pattern).
+ * Não abre janelas nem desenha nada, permitindo executar a simulação
+ * em servidores sem interface gráfica e medir a velocidade real dos passos.
+ * 
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public class NullViewManager implements ViewManager {
+    
+    // Estatísticas calculadas apenas quando isViable é consultado
+    private final EstatisticasCampo stats;
+    
+    public NullViewManager() {
+        this.stats = new EstatisticasCampo();
+    }
+    
+    @Override
+    public void setupColors() {
+        // sem cores: nada é desenhado
+    }
+    
+    @Override
+    public void showStatus(int step, Campo field) {
+        // sem visualização
+    }
+
+    @Override
+    public boolean isViable(Campo field) {
+        stats.reset();
+        return stats.isViable(field);
+    }
+    
+    @Override
+    public boolean isDisplaying() {
+        return false;
+    }
+    
+    @Override
+    public void setSpeciesColor(int speciesId, Color color) {
+        // sem cores: nada é desenhado
+    }
+}
@@ -0,0 +1,169 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mapas de bits da ocupação do campo: um para as células ocupadas e um por
+ * espécie, com um bit por célula em palavras long por linha.
+ *
+ * Cada linha tem uma coluna de borda à esquerda e à direita, e há uma linha de
+ * borda em cima e embaixo, sempre zeradas; assim a vizinhança 3x3 de qualquer
+ * célula do campo são três janelas de 3 bits, uma por linha, sem checagem de
+ * limites. O resultado das consultas é uma máscara de 8 bits na ordem das
+ * direções de Campo (bit d = vizinho na direção d).
+ *
+ * As escritas são atômicas (VarHandle), porque no motor paralelo blocos de
+ * mesma cor podem dividir uma palavra; cada thread só altera os bits da sua
+ * vizinhança, então as leituras simples sempre veem corretos os bits que
+ * interessam a quem lê.
+ *
+ * clear() não varre os mapas: cada palavra tem um carimbo de época, e a
+ * primeira marcação de uma palavra na época a anota numa lista de palavras
+ * sujas. clear() zera só essas palavras (em todos os mapas) e avança a época,
+ * em O(palavras usadas), que é no máximo o número de animais colocados.
+ *
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public final class OccupancyBoards
+{
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle STAMPS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    // Palavras por linha com borda (largura + 2 bits)
+    private final int wordsPerRow;
+    private final long[] occupied;
+    private final long[][] species;
+    // Época em que cada palavra foi marcada pela última vez, e as palavras marcadas na época atual
+    private final int[] stamps;
+    private final int[] dirtyWords;
+    private final AtomicInteger dirtyCount = new AtomicInteger();
+    private int epoch = 1;
+
+    /**
+     * @param depth número de linhas do campo
+     * @param width número de colunas do campo
+     * @param speciesCount número de espécies
+     */
+    public OccupancyBoards(int depth, int width, int speciesCount)
+    {
+        this.wordsPerRow = (width + 2 + 63) >>> 6;
+        int words = (depth + 2) * wordsPerRow;
+        this.occupied = new long[words];
+        this.species = new long[speciesCount][words];
+        this.stamps = new int[words];
+        this.dirtyWords = new int[words];
+    }
+
+    /**
+     * Marca a célula como ocupada pela espécie.
+     */
+    public void set(int row, int col, int speciesId)
+    {
+        int word = word(row + 1, col + 1);
+        long bit = 1L << (col + 1);
+        markDirty(word);
+        WORDS.getAndBitwiseOr(occupied, word, bit);
+        WORDS.getAndBitwiseOr(species[speciesId], word, bit);
+    }
+
+    /**
+     * Desmarca a ocupação da célula pela espécie.
+     */
+    public void unset(int row, int col, int speciesId)
+    {
+        int word = word(row + 1, col + 1);
+        long keep = ~(1L << (col + 1));
+        WORDS.getAndBitwiseAnd(occupied, word, keep);
+        WORDS.getAndBitwiseAnd(species[speciesId], word, keep);
+    }
+
+    /**
+     * Anota a palavra como suja na primeira marcação da época; o CAS no
+     * carimbo garante uma única anotação mesmo com várias threads na palavra.
+     */
+    private void markDirty(int word)
+    {
+        int stamp = stamps[word];
+        if(stamp != epoch && STAMPS.compareAndSet(stamps, word, stamp, epoch)) {
+            dirtyWords[dirtyCount.getAndIncrement()] = word;
+        }
+    }
+
+    /**
+     * Apaga todos os mapas, zerando só as palavras marcadas desde o último clear.
+     * Não pode ser chamado durante set/unset.
+     */
+    public void clear()
+    {
+        int count = dirtyCount.get();
+        for(int i = 0; i < count; i++) {
+            int word = dirtyWords[i];
+            occupied[word] = 0L;
+            for(long[] board : species) {
+                board[word] = 0L;
+            }
+        }
+        dirtyCount.set(0);
+        epoch++;
+        if(epoch == 0) {
+            // A época deu a volta: zera os carimbos para não reaproveitar épocas antigas
+            Arrays.fill(stamps, 0);
+            epoch = 1;
+        }
+    }
+
+    /**
+     * @return máscara dos 8 vizinhos ocupados de (row, col), inclusive fora do campo (sempre 0)
+     */
+    public int occupiedNeighbours(int row, int col)
+    {
+        return neighbours(occupied, row, col);
+    }
+
+    /**
+     * @param speciesMask espécies procuradas (um bit por espécie)
+     * @return máscara dos 8 vizinhos de (row, col) ocupados por alguma espécie da máscara
+     */
+    public int speciesNeighbours(int row, int col, int speciesMask)
+    {
+        int mask = 0;
+        for(int m = speciesMask; m != 0; m &= m - 1) {
+            mask |= neighbours(species[Integer.numberOfTrailingZeros(m)], row, col);
+        }
+        return mask;
+    }
+
+    /**
+     * Monta a máscara dos vizinhos a partir das janelas de 3 bits das linhas
+     * acima, atual e abaixo (direções 0-2, 3-4 e 5-7).
+     */
+    private int neighbours(long[] board, int row, int col)
+    {
+        // Em coordenadas com borda, a janela da coluna col - 1 a col + 1 começa no bit col
+        int top = window(board, row, col);
+        int middle = window(board, row + 1, col);
+        int bottom = window(board, row + 2, col);
+        return top | (middle & 1) << 3 | (middle >>> 2 & 1) << 4 | bottom << 5;
+    }
+
+    /**
+     * @return os 3 bits da linha (com borda) a partir do bit first
+     */
+    private int window(long[] board, int row, int first)
+    {
+        int word = word(row, first);
+        int shift = first & 63;
+        long bits = board[word] >>> shift;
+        if(shift > 61) {
+            bits |= board[word + 1] << (64 - shift);
+        }
+        return (int) bits & 7;
+    }
+
+    private int word(int row, int bit)
+    {
+        return row * wordsPerRow + (bit >>> 6);
+    }
+}
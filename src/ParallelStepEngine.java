@@ -0,0 +1,265 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Motor de passos paralelo baseado em coloração do campo em blocos (tiles).
+ *
+ * O campo é dividido em blocos quadrados de lado tileSize, coloridos como um
+ * tabuleiro 2x2 (quatro cores). Cada animal só escreve no updatedField dentro da
+ * sua vizinhança de 8 células, então dois animais em blocos de mesma cor estão
+ * sempre a pelo menos tileSize + 1 células de distância e nunca tocam a mesma
+ * célula. Cada cor é uma fase: os blocos da fase agem em paralelo no ForkJoinPool
+ * e as fases são executadas uma após a outra.
+ *
+ * Blocos sem animais não geram tarefas, então campos grandes e quase vazios
+ * custam apenas o necessário para distribuir os animais.
+ *
+ * A ordem dos animais dentro de cada bloco é fixa e os números aleatórios vêm do
+ * SimulationContext, então o resultado não depende do número de threads.
+ *
+ * Um observador de fases opcional é chamado ao fim de cada cor, na thread que
+ * chamou step; as faixas do modo distribuído (BandWorker) o usam para trocar
+ * com as faixas vizinhas o que mudou na fronteira antes da fase seguinte.
+ *
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public class ParallelStepEngine implements StepEngine {
+
+    // Menor bloco que garante vizinhanças disjuntas entre blocos de mesma cor
+    private static final int MIN_TILE_SIZE = 2;
+    private static final int COLORS = 4;
+    // Abaixo deste número de blocos a tarefa não é mais dividida
+    private static final int TILES_PER_TASK = 4;
+
+    private final ForkJoinPool pool;
+    private final int tileSize;
+    // Chamado com a cor de cada fase concluída (null se ninguém observa)
+    private final IntConsumer afterPhase;
+
+    // Estruturas reaproveitadas entre passos
+    private int[] tileStart = new int[0];
+    private int[] cursor = new int[0];
+    private Animal[] sorted = new Animal[0];
+    // Recém-nascidos por bloco; a lista só é criada quando o bloco tem animais
+    private List<List<Animal>> tileNewborns = new ArrayList<>();
+    // Número de blocos do passo em andamento
+    private int tileCount;
+
+    /**
+     * @param threads número de threads (0 ou negativo usa todos os processadores)
+     * @param tileSize lado de cada bloco em células
+     */
+    public ParallelStepEngine(int threads, int tileSize) {
+        this(threads, tileSize, null);
+    }
+
+    /**
+     * @param threads número de threads (0 ou negativo usa todos os processadores)
+     * @param tileSize lado de cada bloco em células
+     * @param afterPhase chamado ao fim de cada uma das quatro fases, mesmo sem blocos ocupados
+     */
+    public ParallelStepEngine(int threads, int tileSize, IntConsumer afterPhase) {
+        int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism);
+        this.tileSize = effectiveTileSize(tileSize);
+        this.afterPhase = afterPhase;
+    }
+
+    /**
+     * @param tileSize lado pedido (simulation.tileSize)
+     * @return lado usado de fato, com o mínimo que garante vizinhanças disjuntas
+     */
+    public static int effectiveTileSize(int tileSize) {
+        return Math.max(MIN_TILE_SIZE, tileSize);
+    }
+
+    /**
+     * @return lado dos blocos em células (depois de aplicar o mínimo)
+     */
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    @Override
+    public void step(Campo currentField, Campo updatedField, Population animals, SimulationContext context) {
+        int tilesDown = (currentField.getDepth() + tileSize - 1) / tileSize;
+        int tilesAcross = (currentField.getWidth() + tileSize - 1) / tileSize;
+        int tileCount = tilesDown * tilesAcross;
+        this.tileCount = tileCount;
+
+        int living = bucketByTile(animals, tilesAcross, tileCount, currentField.getArena());
+
+        for(int color = 0; color < COLORS; color++) {
+            int[] tiles = occupiedTilesOfColor(color, tilesDown, tilesAcross);
+            if(tiles.length > 0) {
+                pool.invoke(new TileTask(tiles, 0, tiles.length, currentField, updatedField, context));
+            }
+            if(afterPhase != null) {
+                afterPhase.accept(color);
+            }
+        }
+
+        // Reconstrói a lista: sobreviventes na ordem dos blocos, depois os recém-nascidos
+        animals.clear();
+        for(int i = 0; i < living; i++) {
+            animals.add(sorted[i]);
+            sorted[i] = null;
+        }
+        animals.removeDead(currentField.getArena());
+        for(int t = 0; t < tileCount; t++) {
+            if(tileStart[t + 1] > tileStart[t]) {
+                animals.addAll(tileNewborns.get(t));
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Percorre os recém-nascidos do passo em andamento até a última fase
+     * concluída; para o observador de fases.
+     * @param action ação aplicada a cada recém-nascido, na ordem dos blocos
+     */
+    public void forEachNewborn(Consumer<Animal> action) {
+        for(int t = 0; t < tileCount; t++) {
+            if(tileStart[t + 1] > tileStart[t]) {
+                tileNewborns.get(t).forEach(action);
+            }
+        }
+    }
+
+    /**
+     * Ordena os animais vivos por bloco (counting sort estável); os mortos vão para a arena.
+     * @return número de animais vivos distribuídos
+     */
+    private int bucketByTile(Population animals, int tilesAcross, int tileCount, AnimalArena arena) {
+        if(tileStart.length < tileCount + 1) {
+            tileStart = new int[tileCount + 1];
+            cursor = new int[tileCount + 1];
+        }
+        while(tileNewborns.size() < tileCount) {
+            tileNewborns.add(null);
+        }
+
+        int[] counts = cursor;
+        Arrays.fill(counts, 0, tileCount + 1, 0);
+        int living = 0;
+        for(Animal animal : animals) {
+            if(animal.isAlive()) {
+                counts[tileOf(animal.getLocation(), tilesAcross) + 1]++;
+                living++;
+            } else {
+                arena.retire(animal);
+            }
+        }
+        for(int t = 0; t < tileCount; t++) {
+            if(counts[t + 1] > 0) {
+                List<Animal> newborns = tileNewborns.get(t);
+                if(newborns == null) {
+                    tileNewborns.set(t, new ArrayList<>());
+                } else {
+                    newborns.clear();
+                }
+            }
+            counts[t + 1] += counts[t];
+        }
+        System.arraycopy(counts, 0, tileStart, 0, tileCount + 1);
+
+        if(sorted.length < living) {
+            sorted = new Animal[living];
+        }
+        for(Animal animal : animals) {
+            if(animal.isAlive()) {
+                sorted[counts[tileOf(animal.getLocation(), tilesAcross)]++] = animal;
+            }
+        }
+        return living;
+    }
+
+    private int tileOf(Location location, int tilesAcross) {
+        return (location.getRow() / tileSize) * tilesAcross + location.getCol() / tileSize;
+    }
+
+    /**
+     * @return índices dos blocos com animais e com a cor dada no tabuleiro 2x2
+     */
+    private int[] occupiedTilesOfColor(int color, int tilesDown, int tilesAcross) {
+        int rowParity = color / 2;
+        int colParity = color % 2;
+        int n = 0;
+        for(int tr = rowParity; tr < tilesDown; tr += 2) {
+            for(int tc = colParity; tc < tilesAcross; tc += 2) {
+                int tile = tr * tilesAcross + tc;
+                if(tileStart[tile + 1] > tileStart[tile]) {
+                    n++;
+                }
+            }
+        }
+        int[] tiles = new int[n];
+        n = 0;
+        for(int tr = rowParity; tr < tilesDown; tr += 2) {
+            for(int tc = colParity; tc < tilesAcross; tc += 2) {
+                int tile = tr * tilesAcross + tc;
+                if(tileStart[tile + 1] > tileStart[tile]) {
+                    tiles[n++] = tile;
+                }
+            }
+        }
+        return tiles;
+    }
+
+    /**
+     * Tarefa que executa os animais de um intervalo de blocos da mesma cor.
+     */
+    private class TileTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] tiles;
+        private final int from, to;
+        private final Campo currentField, updatedField;
+        private final SimulationContext context;
+
+        TileTask(int[] tiles, int from, int to, Campo currentField, Campo updatedField,
+                 SimulationContext context) {
+            this.tiles = tiles;
+            this.from = from;
+            this.to = to;
+            this.currentField = currentField;
+            this.updatedField = updatedField;
+            this.context = context;
+        }
+
+        @Override
+        protected void compute() {
+            if(to - from <= TILES_PER_TASK) {
+                for(int i = from; i < to; i++) {
+                    actTile(tiles[i]);
+                }
+            } else {
+                int mid = (from + to) >>> 1;
+                invokeAll(new TileTask(tiles, from, mid, currentField, updatedField, context),
+                          new TileTask(tiles, mid, to, currentField, updatedField, context));
+            }
+        }
+
+        private void actTile(int tile) {
+            List<Animal> newborns = tileNewborns.get(tile);
+            for(int i = tileStart[tile]; i < tileStart[tile + 1]; i++) {
+                Animal animal = sorted[i];
+                if(animal.isAlive()) {
+                    context.beginAct(currentField.cellIndex(animal.getLocation()));
+                    animal.act(currentField, updatedField, newborns);
+                }
+            }
+        }
+    }
+}
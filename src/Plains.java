@@ -1,24 +1,14 @@
 /**
  * Representa o ambiente de Planície (padrão).
- * Sem restrições: Todos os animais podem entrar.
+ * Na tabela padrão de espécies: todos os animais podem entrar.
  * @author Seu Nome/Grupo
  * @version 2025
  */
 public class Plains extends Environment
 {
-    /**
-     * Verifica se o animal pode entrar.
-     * Na planície, todos são bem-vindos.
-     */
-    @Override
-    public boolean canEnter(Animal animal)
-    {
-        return true;
-    }
-
     @Override
     public String toString()
     {
         return "Planície";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,207 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Lista de animais da simulação, guardada em um array.
+ * Remove os animais mortos em uma única passada (compactação estável), sem
+ * deslocar o restante do array a cada remoção como Iterator.remove() em um
+ * ArrayList, e oferece uma visão somente leitura que não copia os animais.
+ *
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public class Population implements Iterable<Animal>
+{
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Animal[] animals = new Animal[INITIAL_CAPACITY];
+    private int size;
+    private final List<Animal> view = new ReadOnlyView();
+
+    /**
+     * @return número de animais na lista (inclui mortos ainda não removidos)
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * @param index posição, de 0 a size() - 1
+     * @return animal na posição
+     */
+    public Animal get(int index)
+    {
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Indice " + index + " fora de 0.." + (size - 1));
+        }
+        return animals[index];
+    }
+
+    /**
+     * Substitui o animal na posição (usado pelos motores ao compactar).
+     */
+    void set(int index, Animal animal)
+    {
+        animals[index] = animal;
+    }
+
+    /**
+     * Adiciona um animal ao final.
+     */
+    public void add(Animal animal)
+    {
+        if(size == animals.length) {
+            animals = Arrays.copyOf(animals, size * 2);
+        }
+        animals[size++] = animal;
+    }
+
+    /**
+     * Adiciona todos os animais da coleção ao final, na ordem dela.
+     */
+    public void addAll(Collection<? extends Animal> newAnimals)
+    {
+        ensureCapacity(size + newAnimals.size());
+        for(Animal animal : newAnimals) {
+            animals[size++] = animal;
+        }
+    }
+
+    /**
+     * Mantém apenas as primeiras posições da lista, descartando o restante.
+     * @param newSize novo tamanho (no máximo o atual)
+     */
+    void truncate(int newSize)
+    {
+        Arrays.fill(animals, newSize, size, null);
+        size = newSize;
+    }
+
+    /**
+     * Remove todos os animais.
+     */
+    public void clear()
+    {
+        truncate(0);
+    }
+
+    /**
+     * Remove os animais mortos em uma única passada, preservando a ordem dos vivos.
+     * @return número de animais removidos
+     */
+    public int removeDead()
+    {
+        return removeDead(null);
+    }
+
+    /**
+     * Remove os animais mortos, devolvendo-os à arena para reaproveitamento.
+     * @param arena arena que recebe os mortos (ou null para descartá-los)
+     * @return número de animais removidos
+     */
+    public int removeDead(AnimalArena arena)
+    {
+        int kept = 0;
+        for(int i = 0; i < size; i++) {
+            Animal animal = animals[i];
+            if(animal.isAlive()) {
+                animals[kept++] = animal;
+            }
+            else if(arena != null) {
+                arena.retire(animal);
+            }
+        }
+        int removed = size - kept;
+        truncate(kept);
+        return removed;
+    }
+
+    /**
+     * Ordena a lista (ordenação estável).
+     * @param order critério de ordenação
+     */
+    public void sort(Comparator<? super Animal> order)
+    {
+        Arrays.sort(animals, 0, size, order);
+    }
+
+    /**
+     * Embaralha a lista com o mesmo algoritmo de Collections.shuffle,
+     * de modo que a mesma semente produz a mesma ordem.
+     * @param rand gerador usado no embaralhamento
+     */
+    public void shuffle(Random rand)
+    {
+        for(int i = size; i > 1; i--) {
+            int j = rand.nextInt(i);
+            Animal tmp = animals[i - 1];
+            animals[i - 1] = animals[j];
+            animals[j] = tmp;
+        }
+    }
+
+    private void ensureCapacity(int capacity)
+    {
+        if(capacity > animals.length) {
+            animals = Arrays.copyOf(animals, Math.max(capacity, animals.length * 2));
+        }
+    }
+
+    /**
+     * Visão somente leitura da lista, sem cópia: reflete o estado atual e
+     * não deve ser percorrida enquanto um passo está em execução.
+     * @return lista não modificável apoiada nesta população
+     */
+    public List<Animal> asList()
+    {
+        return view;
+    }
+
+    @Override
+    public Iterator<Animal> iterator()
+    {
+        return new Iterator<Animal>() {
+            private int next;
+
+            @Override
+            public boolean hasNext()
+            {
+                return next < size;
+            }
+
+            @Override
+            public Animal next()
+            {
+                if(next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return animals[next++];
+            }
+        };
+    }
+
+    /**
+     * Lista não modificável que lê diretamente o array da população.
+     */
+    private class ReadOnlyView extends AbstractList<Animal>
+    {
+        @Override
+        public Animal get(int index)
+        {
+            return Population.this.get(index);
+        }
+
+        @Override
+        public int size()
+        {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de população por espécie, atualizados incrementalmente.
+ * Usa um LongAdder por espécie (contadores distribuídos em faixas), então
+ * várias threads do motor paralelo podem atualizar sem disputa, e a leitura
+ * custa O(número de espécies) em vez de uma varredura do campo.
+ * 
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public class PopulationCounter
+{
+    private final LongAdder[] counts;
+
+    public PopulationCounter()
+    {
+        counts = new LongAdder[Species.count()];
+        for(int s = 0; s < counts.length; s++) {
+            counts[s] = new LongAdder();
+        }
+    }
+
+    /**
+     * Registra um animal a mais da espécie.
+     * @param speciesId identificador da espécie
+     */
+    public void increment(int speciesId)
+    {
+        counts[speciesId].increment();
+    }
+
+    /**
+     * Registra um animal a menos da espécie.
+     * @param speciesId identificador da espécie
+     */
+    public void decrement(int speciesId)
+    {
+        counts[speciesId].decrement();
+    }
+
+    /**
+     * @param speciesId identificador da espécie
+     * @return população atual da espécie
+     */
+    public int get(int speciesId)
+    {
+        return counts[speciesId].intValue();
+    }
+
+    /**
+     * @return população total de todas as espécies
+     */
+    public int getTotal()
+    {
+        int total = 0;
+        for(LongAdder count : counts) {
+            total += count.intValue();
+        }
+        return total;
+    }
+
+    /**
+     * @return número de espécies com pelo menos um animal
+     */
+    public int getLivingSpecies()
+    {
+        int living = 0;
+        for(LongAdder count : counts) {
+            if(count.sum() > 0) {
+                living++;
+            }
+        }
+        return living;
+    }
+
+    /**
+     * Zera todos os contadores (não deve ser chamado durante um passo).
+     */
+    public void reset()
+    {
+        for(LongAdder count : counts) {
+            count.reset();
+        }
+    }
+}
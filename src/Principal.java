@@ -11,6 +11,10 @@ public class Principal {
         EnvironmentManager environment = new DefaultEnvironmentManager();
         
         Simulador simulator = new Simulador(config, factory, environment);
+        if (config.isReloadEnabled()) {
+            // Alterações no config.txt são aplicadas no próximo passo
+            simulator.watchConfiguration(ConfigurationManager.getDefaultFile());
+        }
         
         // Iniciar interface de controle
         SwingUtilities.invokeLater(() -> {
@@ -0,0 +1,60 @@
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Classe principal para executar a simulação dividida em faixas horizontais,
+ * cada uma num processo Java próprio, que trocam as linhas de fronteira e os
+ * animais migrantes por TCP local a cada passo.
+ *
+ * Uso: java PrincipalDistribuido [processos] [populacao.csv]
+ * Executa simulation.steps passos do config.txt (uma semente sorteada se
+ * simulation.seed for 0) e imprime a população final da grade inteira. Com
+ * um arquivo CSV, grava a população de cada espécie por passo.
+ */
+public class PrincipalDistribuido {
+    private static final int DEFAULT_PROCESSES = 2;
+
+    public static void main(String[] args) throws Exception {
+        int processes = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PROCESSES;
+
+        ConfigurationManager base = new ConfigurationManager();
+        base.displayConfiguration();
+        Species.install(base.getSpeciesFile());
+        long seed = base.getSeed();
+        if(seed == 0) {
+            seed = RandomStream.mix(System.nanoTime());
+            System.out.println("Semente sorteada: " + seed + " (use simulation.seed para repetir)");
+        }
+        int steps = base.getSimulationSteps();
+
+        long start = System.nanoTime();
+        try(DistributedCoordinator coordinator =
+                new DistributedCoordinator(ConfigurationSnapshot.of(base), seed, processes)) {
+            double startup = (System.nanoTime() - start) / 1_000_000_000.0;
+            start = System.nanoTime();
+            coordinator.simulateSteps(steps);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            System.out.println("\n=== RESUMO DA EXECUCAO DISTRIBUIDA ===");
+            System.out.println("Processos: " + processes);
+            System.out.println("Passos executados: " + coordinator.getStep());
+            System.out.printf("Inicializacao: %.3f s%n", startup);
+            System.out.printf("Tempo total: %.3f s%n", seconds);
+            System.out.printf("Passos por segundo: %.1f%n", seconds > 0 ? steps / seconds : 0.0);
+            System.out.println("Populacao final:");
+            Map<String, Integer> counts = new TreeMap<>();
+            for(int s = 0; s < Species.count(); s++) {
+                counts.put(Species.nameOf(s), coordinator.getPopulation(s));
+            }
+            for(Map.Entry<String, Integer> entry : counts.entrySet()) {
+                System.out.println("  " + entry.getKey() + ": " + entry.getValue());
+            }
+
+            if(args.length > 1) {
+                coordinator.exportCsv(Paths.get(args[1]));
+                System.out.println("Populacao por passo gravada em: " + args[1]);
+            }
+        }
+    }
+}
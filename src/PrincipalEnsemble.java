@@ -0,0 +1,57 @@
+import java.nio.file.Paths;
+
+/**
+ * Classe principal para executar um conjunto de simulações independentes
+ * (sem interface gráfica) que variam apenas a semente, e resumir a população
+ * final e a coexistência das espécies.
+ *
+ * Uso: java PrincipalEnsemble [membros] [threads] [estatisticas.csv]
+ * Os membros usam o config.txt com as sementes simulation.seed, +1, +2, ...
+ * (uma semente sorteada se simulation.seed for 0) e executam simulation.steps
+ * passos. Com um arquivo CSV, grava média, desvio, mínimo e máximo por passo.
+ */
+public class PrincipalEnsemble {
+    private static final int DEFAULT_MEMBERS = 16;
+
+    public static void main(String[] args) throws Exception {
+        int members = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MEMBERS;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+
+        ConfigurationManager base = new ConfigurationManager();
+        // Uma só instalação para todos os membros (a tabela é global ao processo)
+        Species.install(base.getSpeciesFile());
+        base.displayConfiguration();
+        long firstSeed = base.getSeed();
+        if(firstSeed == 0) {
+            firstSeed = RandomStream.mix(System.nanoTime());
+            System.out.println("Semente inicial sorteada: " + firstSeed);
+        }
+        int steps = base.getSimulationSteps();
+
+        EnsembleRunner runner = new EnsembleRunner(threads);
+        long start = System.nanoTime();
+        EnsembleStatistics stats = runner.run(EnsembleRunner.seedVariants(base, firstSeed, members), steps);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        System.out.println("\n=== RESUMO DO CONJUNTO ===");
+        System.out.println("Membros: " + members + " (sementes " + stats.getSeed(0) + " a "
+                           + stats.getSeed(members - 1) + ")");
+        System.out.printf("Tempo total: %.3f s (%.2f membros por segundo)%n", seconds,
+                          seconds > 0 ? members / seconds : 0.0);
+        System.out.println("Populacao final (media +- desvio, minimo..maximo, sobrevivencia):");
+        for(int s = 0; s < Species.count(); s++) {
+            System.out.printf("  %s: %.1f +- %.1f, %d..%d, %.0f%%%n", Species.nameOf(s),
+                              stats.getMean(steps, s), stats.getStdDev(steps, s),
+                              stats.getMin(steps, s), stats.getMax(steps, s),
+                              stats.getSurvivalRate(s) * 100);
+        }
+        System.out.printf("Coexistencia de todas as especies: %.0f%%%n",
+                          stats.getCoexistenceRate(Species.count()) * 100);
+        System.out.printf("Mais de uma especie viva: %.0f%%%n", stats.getCoexistenceRate(2) * 100);
+
+        if(args.length > 2) {
+            stats.exportCsv(Paths.get(args[2]));
+            System.out.println("Estatisticas por passo gravadas em: " + args[2]);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+/**
+ * Processo de uma faixa do modo distribuído, iniciado pelo coordenador
+ * (PrincipalDistribuido). Recebe as configurações do coordenador.
+ *
+ * Uso: java PrincipalFaixa portaDoCoordenador indiceDaFaixa
+ */
+public class PrincipalFaixa {
+    public static void main(String[] args) throws Exception {
+        if(args.length < 2) {
+            System.out.println("Uso: java PrincipalFaixa portaDoCoordenador indiceDaFaixa");
+            System.exit(2);
+        }
+        BandWorker.run(Integer.parseInt(args[0]), Integer.parseInt(args[1]));
+    }
+}
@@ -0,0 +1,97 @@
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Classe principal para execução em lote (headless), sem interface gráfica.
+ * Executa simulation.steps passos do config.txt na velocidade máxima e
+ * imprime um resumo com o tempo de inicialização, passos por segundo, bytes
+ * alocados por passo e a população final de cada espécie.
+ *
+ * Uso: java PrincipalLote [fotografia]
+ * Com um arquivo de fotografia (checkpoint.file), retoma a simulação do passo
+ * gravado e executa os passos restantes até simulation.steps.
+ */
+public class PrincipalLote {
+    public static void main(String[] args) throws IOException {
+        ConfigurationProvider config = new ConfigurationManager();
+        AnimalFactory factory = new ConcreteAnimalFactory();
+        EnvironmentManager environment = new DefaultEnvironmentManager();
+        
+        Simulador simulator = new Simulador(config, factory, environment, new NullViewManager());
+        if(args.length > 0) {
+            simulator.loadSnapshot(Paths.get(args[0]));
+            System.out.println("Retomando do passo " + simulator.getStep() + " (" + args[0] + ")");
+        }
+        int firstStep = simulator.getStep();
+        int requested = Math.max(0, config.getSimulationSteps() - firstStep);
+        
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        simulator.simulateSteps(requested);
+        long elapsed = System.nanoTime() - start;
+        long allocatedAfter = allocatedBytes();
+        long allocated = allocatedBefore < 0 || allocatedAfter < 0 ? -1 : allocatedAfter - allocatedBefore;
+        // Passos desta execução (ao retomar, getStep é o passo absoluto)
+        int steps = simulator.getStep() - firstStep;
+        
+        double seconds = elapsed / 1_000_000_000.0;
+        System.out.println("\n=== RESUMO DA EXECUCAO EM LOTE ===");
+        System.out.println("Passos executados: " + steps);
+        System.out.printf("Inicializacao: %.3f s (povoamento: %.3f s)%n",
+                          simulator.getStartupNanos() / 1_000_000_000.0,
+                          simulator.getPopulateNanos() / 1_000_000_000.0);
+        System.out.printf("Tempo total: %.3f s%n", seconds);
+        System.out.printf("Passos por segundo: %.1f%n", seconds > 0 ? steps / seconds : 0.0);
+        if(allocated >= 0) {
+            System.out.printf("Alocacao por passo: %.1f KB%n", steps > 0 ? allocated / 1024.0 / steps : 0.0);
+        }
+        Campo field = simulator.getField();
+        if(field.isChunked()) {
+            System.out.println("Blocos de celulas alocados: " + field.getAllocatedChunkCount());
+        }
+        System.out.println("Populacao final:");
+        for(Map.Entry<String, Integer> entry : countSpecies(simulator).entrySet()) {
+            System.out.println("  " + entry.getKey() + ": " + entry.getValue());
+        }
+        simulator.close();
+    }
+    
+    /**
+     * Soma os bytes já alocados por todas as threads vivas (inclui as do motor paralelo).
+     * Threads que terminaram entre as duas medidas não entram na soma: o que
+     * alocaram (por exemplo, trabalhadores do ForkJoinPool comum encerrados por
+     * ociosidade) se perde, então a alocação por passo pode ficar subestimada.
+     * @return total de bytes alocados, ou -1 se a JVM não oferece a medida
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if(!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        if(!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        long total = 0;
+        for(long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if(bytes > 0) {
+                total += bytes;
+            }
+        }
+        return total;
+    }
+    
+    /**
+     * Obtém a população final de cada espécie pelos contadores do simulador.
+     */
+    private static Map<String, Integer> countSpecies(Simulador simulator) {
+        Map<String, Integer> counts = new TreeMap<>();
+        for(int s = 0; s < Species.count(); s++) {
+            counts.put(Species.nameOf(s), simulator.getPopulation(s));
+        }
+        return counts;
+    }
+}
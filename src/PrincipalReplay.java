@@ -0,0 +1,27 @@
+import javax.swing.*;
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Classe principal para reproduzir uma execução gravada com recording.file,
+ * sem executar a simulação novamente.
+ *
+ * Uso: java PrincipalReplay gravacao.bin
+ */
+public class PrincipalReplay {
+    public static void main(String[] args) throws IOException {
+        if(args.length == 0) {
+            System.out.println("Uso: java PrincipalReplay gravacao.bin");
+            return;
+        }
+        RunReplay replay = new RunReplay(Paths.get(args[0]));
+        System.out.println("Quadros gravados: " + replay.getFrameCount() + " (campo "
+                           + replay.getWidth() + "x" + replay.getDepth() + ")");
+        int frameDelay = new ConfigurationManager().getStepDelayMillis();
+
+        SwingUtilities.invokeLater(() -> {
+            DefaultViewManager viewManager = new DefaultViewManager(replay.getDepth(), replay.getWidth());
+            new ControleReplay(replay, viewManager.getView(), frameDelay).setVisible(true);
+        });
+    }
+}
@@ -0,0 +1,40 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Classe principal para analisar uma série temporal gravada pela simulação
+ * (timeseries.file): imprime um resumo por espécie e, opcionalmente, exporta
+ * a série para CSV.
+ *
+ * Uso: java PrincipalSerie serie.bin [saida.csv]
+ */
+public class PrincipalSerie {
+    public static void main(String[] args) throws IOException {
+        if(args.length == 0) {
+            System.out.println("Uso: java PrincipalSerie serie.bin [saida.csv]");
+            return;
+        }
+        try(TimeSeriesReader series = new TimeSeriesReader(Paths.get(args[0]))) {
+            long size = series.size();
+            System.out.println("Passos gravados: " + size);
+            if(size > 0) {
+                System.out.println("Passos " + series.getStep(0) + " a " + series.getStep(size - 1));
+                String[] names = series.getSpeciesNames();
+                for(int s = 0; s < names.length; s++) {
+                    int min = Integer.MAX_VALUE, max = 0;
+                    for(long i = 0; i < size; i++) {
+                        int count = series.getCount(i, s);
+                        min = Math.min(min, count);
+                        max = Math.max(max, count);
+                    }
+                    System.out.println("  " + names[s] + ": minimo " + min + ", maximo " + max
+                                       + ", final " + series.getCount(size - 1, s));
+                }
+            }
+            if(args.length > 1) {
+                series.exportCsv(Paths.get(args[1]));
+                System.out.println("CSV exportado para " + args[1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+import java.util.Random;
+
+/**
+ * Gerador de números aleatórios baseado em contador (SplitMix64).
+ *
+ * Cada valor é uma função pura da chave do stream e de um contador:
+ * valor(i) = mix(chave + i * GAMMA). Não há estado compartilhado entre threads,
+ * e a mesma chave sempre produz a mesma sequência, independentemente de quantas
+ * threads executam a simulação ou da ordem em que executam.
+ *
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public class RandomStream extends Random
+{
+    private static final long serialVersionUID = 1L;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    // Chave do stream e número de valores já gerados
+    private long key;
+    private long counter;
+
+    /**
+     * Cria um stream com chave derivada do relógio (não reprodutível).
+     */
+    public RandomStream()
+    {
+        super(System.nanoTime());
+    }
+
+    /**
+     * Posiciona o stream na chave (seed, domain, step, id) e reinicia o contador.
+     * @param seed semente da simulação
+     * @param domain finalidade dos números (ação de animal, população inicial, ...)
+     * @param step passo da simulação
+     * @param id identificador dentro do domínio (célula, linha, ...)
+     */
+    public void position(long seed, long domain, long step, long id)
+    {
+        key = key(seed, domain, step, id);
+        counter = 0;
+    }
+
+    /**
+     * @return chave do stream (seed, domain, step, id), sem posicionar nenhum stream
+     */
+    static long key(long seed, long domain, long step, long id)
+    {
+        long h = mix(seed + domain * GOLDEN_GAMMA);
+        h = mix(h + step * GOLDEN_GAMMA);
+        return mix(h + id * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Posiciona o stream em um filho da chave dada, independente de passo e domínio.
+     * @param parentKey chave de um stream já posicionado
+     * @param id identificador do filho
+     */
+    void positionChild(long parentKey, long id)
+    {
+        key = mix(parentKey + (id + 1) * GOLDEN_GAMMA);
+        counter = 0;
+    }
+
+    /**
+     * @return chave atual do stream
+     */
+    long key()
+    {
+        return key;
+    }
+
+    /**
+     * @return número de valores já gerados desde o último posicionamento
+     */
+    long counter()
+    {
+        return counter;
+    }
+
+    /**
+     * Restaura uma posição obtida com key() e counter().
+     */
+    void restore(long key, long counter)
+    {
+        this.key = key;
+        this.counter = counter;
+    }
+
+    @Override
+    public void setSeed(long seed)
+    {
+        key = mix(seed);
+        counter = 0;
+    }
+
+    @Override
+    public long nextLong()
+    {
+        counter++;
+        return mix(key + counter * GOLDEN_GAMMA);
+    }
+
+    @Override
+    protected int next(int bits)
+    {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    /**
+     * Função de mistura do SplitMix64.
+     */
+    static long mix(long z)
+    {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
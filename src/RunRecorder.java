@@ -0,0 +1,318 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gravação de uma execução inteira para reprodução posterior (RunReplay).
+ *
+ * Cada passo é um quadro com um byte por célula (0 = vazia, 1 + espécie do
+ * ocupante). A cada keyframeInterval quadros é gravado um quadro-chave completo,
+ * comprimido por run-length; nos demais, apenas as sequências de células que
+ * mudaram desde o quadro anterior. Como a maior parte do campo não muda de um
+ * passo para o outro, uma execução longa ocupa uma fração do tamanho bruto, e a
+ * reprodução chega a qualquer passo decodificando no máximo keyframeInterval
+ * quadros a partir do quadro-chave anterior.
+ *
+ * A thread da simulação só preenche a grade do passo (obtainGrid/submit); a
+ * comparação, a codificação e a escrita são feitas em uma thread de fundo. As
+ * grades são recicladas (três no total), então a memória é limitada e, se o
+ * disco atrasar, obtainGrid espera.
+ *
+ * Formato (big-endian): cabeçalho MAGIC, VERSION, dimensões, keyframeInterval,
+ * nomes das espécies, paleta do terreno (nomes de classe) e códigos do terreno
+ * em run-length; depois os quadros: tipo, passo, população de cada espécie,
+ * tamanho e conteúdo codificado.
+ *
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public class RunRecorder implements AutoCloseable
+{
+    static final int MAGIC = 0x50505252; // "PPRR"
+    static final int VERSION = 1;
+    static final byte FRAME_KEY = 0;
+    static final byte FRAME_DELTA = 1;
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 100;
+    // Grades em circulação: uma sendo preenchida, uma na fila e a anterior do codificador
+    private static final int GRIDS = 3;
+
+    private final FileChannel channel;
+    private final int cells;
+    private final int species;
+    private final int keyframeInterval;
+    private final ExecutorService writer;
+    private final BlockingQueue<byte[]> freeGrids = new ArrayBlockingQueue<>(GRIDS);
+    // Estado do codificador (usado apenas pela thread de fundo)
+    private byte[] previous;
+    private int frames;
+    private byte[] encoded = new byte[1 << 16];
+    private int encodedSize;
+    private volatile IOException failure;
+    private boolean closed;
+
+    /**
+     * Cria (ou substitui) o arquivo da gravação e grava o cabeçalho com o terreno.
+     *
+     * @param path arquivo de destino
+     * @param terrain terreno do campo (dimensões e paleta)
+     * @param speciesNames nome de cada espécie, na ordem dos códigos
+     * @param keyframeInterval quadros entre quadros-chave
+     * @throws IOException se o arquivo não puder ser criado
+     */
+    public RunRecorder(Path path, TerrainLayer terrain, String[] speciesNames, int keyframeInterval)
+        throws IOException
+    {
+        if(keyframeInterval <= 0) {
+            throw new IllegalArgumentException("Intervalo entre quadros-chave deve ser maior que zero");
+        }
+        this.cells = terrain.getDepth() * terrain.getWidth();
+        this.species = speciesNames.length;
+        this.keyframeInterval = keyframeInterval;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                                   StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        try {
+            writeHeader(terrain, speciesNames);
+        } catch(IOException e) {
+            channel.close();
+            throw e;
+        }
+        for(int i = 0; i < GRIDS - 1; i++) {
+            freeGrids.add(new byte[cells]);
+        }
+        previous = new byte[cells];
+        writer = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "gravacao");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private void writeHeader(TerrainLayer terrain, String[] speciesNames) throws IOException
+    {
+        encodedSize = 0;
+        putInt(MAGIC);
+        putInt(VERSION);
+        putInt(terrain.getDepth());
+        putInt(terrain.getWidth());
+        putInt(keyframeInterval);
+        putInt(species);
+        for(String name : speciesNames) {
+            putString(name);
+        }
+        // Códigos antes da paleta: no terreno em blocos a paleta cresce enquanto os blocos são derivados
+        byte[] codes = new byte[cells];
+        for(int cell = 0; cell < cells; cell++) {
+            codes[cell] = (byte) terrain.codeAt(cell);
+        }
+        putInt(terrain.getKindCount());
+        for(int code = 0; code < terrain.getKindCount(); code++) {
+            putString(terrain.environmentForCode(code).getClass().getName());
+        }
+        int lengthAt = encodedSize;
+        putInt(0);
+        encodeRuns(codes);
+        writeInt(lengthAt, encodedSize - lengthAt - 4);
+        flushEncoded();
+    }
+
+    /**
+     * Entrega uma grade livre para a thread da simulação preencher.
+     * Espera se o codificador está atrasado.
+     * @return grade com um byte por célula, ou null se a gravação foi encerrada
+     */
+    public byte[] obtainGrid()
+    {
+        if(closed || failure != null) {
+            return null;
+        }
+        try {
+            return freeGrids.take();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Agenda a gravação do quadro do passo.
+     *
+     * @param step número do passo
+     * @param counts população de cada espécie (copiada)
+     * @param grid grade obtida com obtainGrid e preenchida (passa a pertencer ao gravador)
+     */
+    public void submit(int step, int[] counts, byte[] grid)
+    {
+        int[] population = Arrays.copyOf(counts, species);
+        writer.execute(() -> {
+            try {
+                if(failure == null) {
+                    writeFrame(step, population, grid);
+                }
+            } catch(IOException e) {
+                failure = e;
+                System.out.println("Erro ao gravar execucao: " + e.getMessage());
+            } finally {
+                // A grade gravada passa a ser a anterior; a anterior volta a ficar livre
+                byte[] free = previous;
+                previous = grid;
+                freeGrids.add(free);
+            }
+        });
+    }
+
+    /**
+     * Codifica e grava um quadro (executado na thread de fundo).
+     */
+    private void writeFrame(int step, int[] population, byte[] grid) throws IOException
+    {
+        boolean key = frames % keyframeInterval == 0;
+        frames++;
+        encodedSize = 0;
+        put(key ? FRAME_KEY : FRAME_DELTA);
+        putInt(step);
+        for(int count : population) {
+            putInt(count);
+        }
+        int lengthAt = encodedSize;
+        putInt(0);
+        if(key) {
+            encodeRuns(grid);
+        }
+        else {
+            encodeDelta(previous, grid);
+        }
+        writeInt(lengthAt, encodedSize - lengthAt - 4);
+        flushEncoded();
+    }
+
+    /**
+     * Run-length: pares (comprimento, valor) cobrindo todas as células.
+     */
+    private void encodeRuns(byte[] grid)
+    {
+        int i = 0;
+        while(i < grid.length) {
+            byte value = grid[i];
+            int end = i + 1;
+            while(end < grid.length && grid[end] == value) {
+                end++;
+            }
+            putVarInt(end - i);
+            put(value);
+            i = end;
+        }
+    }
+
+    /**
+     * Diferença: triplas (células iguais a pular, número de células alteradas,
+     * novos valores dessas células).
+     */
+    private void encodeDelta(byte[] before, byte[] after)
+    {
+        int i = 0;
+        int last = 0; // fim da última sequência alterada
+        while(i < after.length) {
+            if(before[i] == after[i]) {
+                i++;
+                continue;
+            }
+            int end = i + 1;
+            while(end < after.length && before[end] != after[end]) {
+                end++;
+            }
+            putVarInt(i - last);
+            putVarInt(end - i);
+            ensure(end - i);
+            System.arraycopy(after, i, encoded, encodedSize, end - i);
+            encodedSize += end - i;
+            last = end;
+            i = end;
+        }
+    }
+
+    private void flushEncoded() throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.wrap(encoded, 0, encodedSize);
+        while(buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void ensure(int bytes)
+    {
+        if(encodedSize + bytes > encoded.length) {
+            encoded = Arrays.copyOf(encoded, Math.max(encoded.length * 2, encodedSize + bytes));
+        }
+    }
+
+    private void put(byte value)
+    {
+        ensure(1);
+        encoded[encodedSize++] = value;
+    }
+
+    private void putInt(int value)
+    {
+        ensure(4);
+        writeInt(encodedSize, value);
+        encodedSize += 4;
+    }
+
+    private void writeInt(int at, int value)
+    {
+        encoded[at] = (byte) (value >>> 24);
+        encoded[at + 1] = (byte) (value >>> 16);
+        encoded[at + 2] = (byte) (value >>> 8);
+        encoded[at + 3] = (byte) value;
+    }
+
+    private void putVarInt(int value)
+    {
+        while((value & ~0x7F) != 0) {
+            put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        put((byte) value);
+    }
+
+    private void putString(String value)
+    {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putInt(bytes.length);
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, encoded, encodedSize, bytes.length);
+        encodedSize += bytes.length;
+    }
+
+    /**
+     * Espera os quadros pendentes serem gravados e fecha o arquivo.
+     * @throws IOException se alguma gravação falhou
+     */
+    @Override
+    public void close() throws IOException
+    {
+        if(closed) {
+            return;
+        }
+        closed = true;
+        writer.shutdown();
+        try {
+            writer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if(failure != null) {
+            throw failure;
+        }
+    }
+}
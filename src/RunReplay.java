@@ -0,0 +1,311 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Leitor de uma execução gravada por RunRecorder, com acesso a qualquer passo.
+ *
+ * Ao abrir, apenas os cabeçalhos dos quadros são lidos para montar o índice
+ * (posição, passo e populações de cada quadro). seek(frame) decodifica o
+ * quadro-chave anterior e aplica as diferenças até o quadro pedido; se o quadro
+ * pedido está adiante do último decodificado e antes do próximo quadro-chave,
+ * continua a partir dele, então avançar um passo custa uma única diferença.
+ * Um quadro truncado no fim do arquivo (gravação interrompida) é ignorado.
+ *
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public class RunReplay implements AutoCloseable
+{
+    private final FileChannel channel;
+    private final int depth, width;
+    private final int keyframeInterval;
+    private final String[] speciesNames;
+    private final TerrainLayer terrain;
+    // Índice dos quadros
+    private int frameCount;
+    private long[] offsets = new long[256];
+    private byte[] types = new byte[256];
+    private int[] steps = new int[256];
+    private int[][] counts;
+    private int[] lengths = new int[256];
+    // Estado da decodificação
+    private final byte[] grid;
+    private int decodedFrame = -1;
+    private ByteBuffer payload = ByteBuffer.allocate(1 << 16);
+
+    /**
+     * Abre a gravação e indexa os quadros.
+     * @param path arquivo gravado por RunRecorder
+     * @throws IOException se o arquivo não existir ou não for uma gravação
+     */
+    public RunReplay(Path path) throws IOException
+    {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long position = 0;
+            ByteBuffer header = read(position, 24);
+            if(header.getInt() != RunRecorder.MAGIC) {
+                throw new IOException("Arquivo nao e uma gravacao da simulacao: " + path);
+            }
+            int version = header.getInt();
+            if(version != RunRecorder.VERSION) {
+                throw new IOException("Versao de gravacao nao suportada: " + version);
+            }
+            depth = header.getInt();
+            width = header.getInt();
+            keyframeInterval = header.getInt();
+            int species = header.getInt();
+            position += 24;
+            speciesNames = new String[species];
+            for(int s = 0; s < species; s++) {
+                speciesNames[s] = readString(position);
+                position += 4 + speciesNames[s].getBytes(StandardCharsets.UTF_8).length;
+            }
+            Environment[] palette = new Environment[read(position, 4).getInt()];
+            position += 4;
+            for(int code = 0; code < palette.length; code++) {
+                String name = readString(position);
+                position += 4 + name.getBytes(StandardCharsets.UTF_8).length;
+                palette[code] = SimulationSnapshot.instantiate(name);
+            }
+            int terrainLength = read(position, 4).getInt();
+            byte[] codes = new byte[depth * width];
+            decodeRuns(read(position + 4, terrainLength), codes);
+            terrain = TerrainLayer.fromCodes(depth, width, palette, codes);
+            position += 4 + terrainLength;
+
+            grid = new byte[depth * width];
+            counts = new int[species][256];
+            indexFrames(position);
+        } catch(IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Lê os cabeçalhos dos quadros a partir de 'position'.
+     */
+    private void indexFrames(long position) throws IOException
+    {
+        int species = speciesNames.length;
+        int headerSize = 1 + 4 + 4 * species + 4;
+        long size = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(headerSize);
+        while(position + headerSize <= size) {
+            header.clear();
+            readFully(header, position);
+            header.flip();
+            byte type = header.get();
+            int step = header.getInt();
+            if(frameCount == offsets.length) {
+                int capacity = frameCount * 2;
+                offsets = Arrays.copyOf(offsets, capacity);
+                types = Arrays.copyOf(types, capacity);
+                steps = Arrays.copyOf(steps, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+                for(int s = 0; s < species; s++) {
+                    counts[s] = Arrays.copyOf(counts[s], capacity);
+                }
+            }
+            for(int s = 0; s < species; s++) {
+                counts[s][frameCount] = header.getInt();
+            }
+            int length = header.getInt();
+            if(position + headerSize + length > size) {
+                break; // quadro truncado
+            }
+            if(type != RunRecorder.FRAME_KEY && type != RunRecorder.FRAME_DELTA) {
+                throw new IOException("Quadro invalido na gravacao: " + type);
+            }
+            if(frameCount == 0 && type != RunRecorder.FRAME_KEY) {
+                throw new IOException("Gravacao nao comeca com um quadro-chave");
+            }
+            offsets[frameCount] = position + headerSize;
+            types[frameCount] = type;
+            steps[frameCount] = step;
+            lengths[frameCount] = length;
+            frameCount++;
+            position += headerSize + length;
+        }
+    }
+
+    /**
+     * Decodifica o quadro pedido.
+     * @param frame índice do quadro, de 0 a getFrameCount() - 1
+     * @return grade com um byte por célula (0 = vazia, 1 + espécie); reutilizada
+     *         pela próxima chamada, não deve ser modificada
+     * @throws IOException se a leitura falhar
+     */
+    public byte[] seek(int frame) throws IOException
+    {
+        if(frame < 0 || frame >= frameCount) {
+            throw new IndexOutOfBoundsException("Quadro " + frame + " fora de 0.." + (frameCount - 1));
+        }
+        int key = frame;
+        while(types[key] != RunRecorder.FRAME_KEY) {
+            key--;
+        }
+        int from;
+        if(decodedFrame >= key && decodedFrame <= frame) {
+            from = decodedFrame + 1; // continua a partir do quadro já decodificado
+        }
+        else {
+            decodeRuns(readPayload(key), grid);
+            from = key + 1;
+        }
+        for(int f = from; f <= frame; f++) {
+            applyDelta(readPayload(f), grid);
+        }
+        decodedFrame = frame;
+        return grid;
+    }
+
+    private ByteBuffer readPayload(int frame) throws IOException
+    {
+        if(payload.capacity() < lengths[frame]) {
+            payload = ByteBuffer.allocate(Math.max(lengths[frame], payload.capacity() * 2));
+        }
+        payload.clear().limit(lengths[frame]);
+        readFully(payload, offsets[frame]);
+        payload.flip();
+        return payload;
+    }
+
+    private static void decodeRuns(ByteBuffer in, byte[] out) throws IOException
+    {
+        int cell = 0;
+        while(in.hasRemaining()) {
+            int run = getVarInt(in);
+            byte value = in.get();
+            if(cell + run > out.length) {
+                throw new IOException("Quadro-chave corrompido");
+            }
+            Arrays.fill(out, cell, cell + run, value);
+            cell += run;
+        }
+        if(cell != out.length) {
+            throw new IOException("Quadro-chave incompleto");
+        }
+    }
+
+    private static void applyDelta(ByteBuffer in, byte[] grid) throws IOException
+    {
+        int cell = 0;
+        while(in.hasRemaining()) {
+            cell += getVarInt(in);
+            int changed = getVarInt(in);
+            if(cell + changed > grid.length) {
+                throw new IOException("Quadro de diferenca corrompido");
+            }
+            in.get(grid, cell, changed);
+            cell += changed;
+        }
+    }
+
+    private static int getVarInt(ByteBuffer in)
+    {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while((b & 0x80) != 0);
+        return value;
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        readFully(buffer, position);
+        buffer.flip();
+        return buffer;
+    }
+
+    private String readString(long position) throws IOException
+    {
+        int length = read(position, 4).getInt();
+        return new String(read(position + 4, length).array(), StandardCharsets.UTF_8);
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException
+    {
+        while(buffer.hasRemaining()) {
+            if(channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Gravacao truncada");
+            }
+        }
+    }
+
+    /**
+     * @return número de quadros gravados
+     */
+    public int getFrameCount()
+    {
+        return frameCount;
+    }
+
+    /**
+     * @param frame índice do quadro
+     * @return passo da simulação gravado no quadro
+     */
+    public int getStep(int frame)
+    {
+        return steps[frame];
+    }
+
+    /**
+     * @param frame índice do quadro
+     * @param species índice da espécie
+     * @return população da espécie no quadro (sem decodificar o quadro)
+     */
+    public int getCount(int frame, int species)
+    {
+        return counts[species][frame];
+    }
+
+    /**
+     * @return nomes das espécies, na ordem dos códigos das células
+     */
+    public String[] getSpeciesNames()
+    {
+        return speciesNames.clone();
+    }
+
+    /**
+     * @return terreno gravado
+     */
+    public TerrainLayer getTerrain()
+    {
+        return terrain;
+    }
+
+    public int getDepth()
+    {
+        return depth;
+    }
+
+    public int getWidth()
+    {
+        return width;
+    }
+
+    public int getKeyframeInterval()
+    {
+        return keyframeInterval;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        channel.close();
+    }
+}
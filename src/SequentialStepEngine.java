@@ -0,0 +1,37 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Motor de passos sequencial (padrão).
+ * Percorre a lista de animais em ordem, em uma única thread.
+ * Os animais encontrados mortos são removidos na mesma passada (compactação
+ * estável), sem deslocar o restante da lista a cada remoção, e devolvidos à arena.
+ * 
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public class SequentialStepEngine implements StepEngine {
+    
+    private final List<Animal> newAnimals = new ArrayList<>();
+    
+    @Override
+    public void step(Campo currentField, Campo updatedField, Population animals, SimulationContext context) {
+        newAnimals.clear();
+
+        AnimalArena arena = currentField.getArena();
+        int kept = 0;
+        for(int i = 0; i < animals.size(); i++) {
+            Animal animal = animals.get(i);
+            if(animal.isAlive()) {
+                context.beginAct(currentField.cellIndex(animal.getLocation()));
+                animal.act(currentField, updatedField, newAnimals);
+                animals.set(kept++, animal);
+            } else {
+                arena.retire(animal);
+            }
+        }
+        animals.truncate(kept);
+
+        animals.addAll(newAnimals);
+    }
+}
@@ -1,13 +1,17 @@
 import java.util.Random;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.List;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.Collections;
+import java.util.stream.IntStream;
+import java.util.concurrent.atomic.AtomicReference;
 
 
 /**
  * Classe principal do simulador predador-presa com ambientes naturais.
- * Esta versão inclui Humanos, Leões, Raposas e Coelhos.
+ * As espécies vêm da tabela de espécies (species.file); a tabela padrão
+ * inclui Humanos, Leões, Raposas e Coelhos.
  * Os ambientes incluem Montanhas, Savanas, Tocas e Planícies.
  *
  * A simulação ocorre em passos discretos, onde cada animal age, se move,
@@ -19,21 +23,47 @@ import java.util.Collections;
 public class Simulador
 {
     // Interfaces para baixo acoplamento (Dependency Injection)
-    private final ConfigurationProvider configProvider;
+    // Configuração compilada; trocada por inteiro ao recarregar o config.txt
+    private volatile ConfigurationSnapshot configuration;
     private final AnimalFactory animalFactory;
     private final EnvironmentManager environmentManager;
     private final ViewManager viewManager;
+    private final StepEngine stepEngine;
+    private final SimulationContext context;
+    private final boolean dataOriented;
+    private final Checkpointer checkpointer;
+    private final TimeSeriesWriter timeSeries;
+    // Gravação da execução (criada depois do terreno)
+    private RunRecorder recorder;
+    // Configuração recarregada à espera do próximo limite de passo, e quem a observa
+    private final AtomicReference<ConfigurationSnapshot> pendingConfiguration = new AtomicReference<>();
+    private ConfigurationWatcher configWatcher;
     
     // Configurações de tamanho do campo (valores padrão)
     private static final int DEFAULT_WIDTH = 50;
     private static final int DEFAULT_DEPTH = 50;
+    // Acima deste número de células o modo "auto" usa o campo em blocos
+    private static final long CHUNKED_THRESHOLD = 4096L * 4096L;
 
     // Estado da simulação
-    private List<Animal> animals;
-    private List<Animal> newAnimals;
+    private Population animals;
     private Campo field;
     private Campo updatedField;
     private int step;
+    // Motor orientado a dados (simulation.engine=soa) e se os objetos estão desatualizados
+    private SoaEngine soaEngine;
+    private boolean objectsStale;
+    // Tempos de inicialização (terreno e povoamento) e do último povoamento, em nanossegundos
+    private long startupNanos;
+    private long populateNanos;
+    // Valores do passo entregues à série temporal (reaproveitados a cada passo;
+    // dimensionados depois de instalar a tabela de espécies)
+    private final int[] seriesCounts;
+    private final double[] seriesMeanAge;
+    private final double[] seriesMeanFood;
+    private final long[] seriesAgeSum;
+    private final long[] seriesFoodSum;
+    private final int[] seriesLiving;
 
     /**
      * Construtor padrão usando implementações concretas (para compatibilidade)
@@ -55,14 +85,41 @@ public class Simulador
                      AnimalFactory animalFactory,
                      EnvironmentManager environmentManager)
     {
-        this.configProvider = configProvider;
+        this(configProvider, animalFactory, environmentManager, null);
+    }
+
+    /**
+     * Construtor com injeção completa, incluindo a visualização.
+     * Use NullViewManager para executar sem interface gráfica (modo headless).
+     * @param configProvider provedor de configurações
+     * @param animalFactory fábrica de animais
+     * @param environmentManager gerenciador de ambientes
+     * @param viewManager gerenciador de visualização, ou null para usar DefaultViewManager
+     */
+    public Simulador(ConfigurationProvider configProvider,
+                     AnimalFactory animalFactory,
+                     EnvironmentManager environmentManager,
+                     ViewManager viewManager)
+    {
         this.animalFactory = animalFactory;
         this.environmentManager = environmentManager;
         
+        // A tabela de espécies vem antes de tudo: probabilidades, terreno e motores dependem dela
+        Species.install(configProvider.getSpeciesFile());
+        int species = Species.count();
+        seriesCounts = new int[species];
+        seriesMeanAge = new double[species];
+        seriesMeanFood = new double[species];
+        seriesAgeSum = new long[species];
+        seriesFoodSum = new long[species];
+        seriesLiving = new int[species];
+        
         configProvider.displayConfiguration();
+        ConfigurationSnapshot config = ConfigurationSnapshot.of(configProvider);
+        this.configuration = config;
         
-        int depth = configProvider.getFieldHeight();
-        int width = configProvider.getFieldWidth();
+        int depth = config.getFieldHeight();
+        int width = config.getFieldWidth();
         
         if(width <= 0 || depth <= 0) {
             System.out.println("As dimensões devem ser maiores que zero. Usando valores padrão.");
@@ -70,8 +127,22 @@ public class Simulador
             width = DEFAULT_WIDTH;
         }
         
-        this.viewManager = new DefaultViewManager(depth, width);
-        initializeSimulator(depth, width);
+        this.viewManager = (viewManager != null) ? viewManager : new DefaultViewManager(depth, width);
+        boolean chunked = useChunkedField(config, depth, width);
+        boolean soa = "soa".equalsIgnoreCase(config.getSimulationEngine());
+        if(soa && chunked) {
+            // O SoaEngine guarda dois int[] do campo inteiro: anularia o armazenamento em blocos
+            System.out.println("O motor soa exige armazenamento denso (field.storage=dense). Usando motor sequencial.");
+            soa = false;
+        }
+        this.dataOriented = soa;
+        this.stepEngine = createStepEngine(config);
+        this.context = new SimulationContext(resolveSeed(config));
+        this.checkpointer = createCheckpointer(config);
+        this.timeSeries = createTimeSeries(config);
+        long start = System.nanoTime();
+        initializeSimulator(depth, width, chunked);
+        startupNanos = System.nanoTime() - start;
     }
 
     /**
@@ -87,25 +158,143 @@ public class Simulador
     /**
      * Inicializa os componentes do simulador usando baixo acoplamento
      */
-    private void initializeSimulator(int depth, int width)
+    private void initializeSimulator(int depth, int width, boolean chunked)
     {
-        animals = new ArrayList<>();
-        newAnimals = new ArrayList<>();
-        field = new Campo(depth, width);
-        updatedField = new Campo(depth, width);
+        animals = new Population();
+        field = new Campo(depth, width, chunked, resolveChunkSize(configuration));
 
-        // Usa EnvironmentManager para popular ambientes
+        // Usa EnvironmentManager para popular ambientes uma única vez;
+        // o campo de atualização compartilha a mesma camada de terreno
+        context.begin(SimulationContext.DOMAIN_TERRAIN, 0);
         environmentManager.populateEnvironments(field);
-        environmentManager.populateEnvironments(updatedField);
+        updatedField = new Campo(field);
+        recorder = createRecorder(configuration, field.getTerrain());
+
+        if(dataOriented) {
+            soaEngine = new SoaEngine(field);
+        }
 
         reset();
     }
 
+    /**
+     * Obtém a semente configurada, sorteando uma nova quando simulation.seed é 0.
+     */
+    private static long resolveSeed(ConfigurationProvider configProvider)
+    {
+        long seed = configProvider.getSeed();
+        if(seed == 0) {
+            seed = RandomStream.mix(System.nanoTime());
+            System.out.println("Semente sorteada: " + seed + " (use simulation.seed para repetir)");
+        }
+        return seed;
+    }
 
+    /**
+     * Decide se o campo usa o modo em blocos, conforme field.storage.
+     */
+    private static boolean useChunkedField(ConfigurationProvider configProvider, int depth, int width)
+    {
+        String storage = configProvider.getFieldStorage();
+        if("chunked".equalsIgnoreCase(storage)) {
+            return true;
+        }
+        if("dense".equalsIgnoreCase(storage)) {
+            return false;
+        }
+        if(!"auto".equalsIgnoreCase(storage)) {
+            System.out.println("Armazenamento desconhecido: " + storage + ". Usando auto.");
+        }
+        return (long) depth * width > CHUNKED_THRESHOLD;
+    }
 
+    /**
+     * Obtém o lado dos blocos do campo, usando o padrão se field.chunkSize for inválido.
+     */
+    static int resolveChunkSize(ConfigurationProvider configProvider)
+    {
+        int chunkSize = configProvider.getChunkSize();
+        if(!Campo.isValidChunkSize(chunkSize)) {
+            System.out.println("Lado de bloco invalido: " + chunkSize + " (potencia de 2 de "
+                               + Campo.MIN_CHUNK_SIZE + " a " + Campo.MAX_CHUNK_SIZE + "). Usando "
+                               + Campo.CHUNK_SIZE + ".");
+            return Campo.CHUNK_SIZE;
+        }
+        return chunkSize;
+    }
 
+    /**
+     * Cria o gravador de checkpoints se checkpoint.interval for positivo.
+     */
+    private static Checkpointer createCheckpointer(ConfigurationProvider configProvider)
+    {
+        int interval = configProvider.getCheckpointInterval();
+        if(interval <= 0) {
+            return null;
+        }
+        return new Checkpointer(interval, Paths.get(configProvider.getCheckpointFile()),
+                                configProvider.isCheckpointCompressed());
+    }
+
+    /**
+     * Cria o gravador da série temporal se timeseries.file estiver definido.
+     */
+    private static TimeSeriesWriter createTimeSeries(ConfigurationProvider configProvider)
+    {
+        String file = configProvider.getTimeSeriesFile();
+        if(file.isEmpty()) {
+            return null;
+        }
+        String[] names = new String[Species.count()];
+        for(int s = 0; s < names.length; s++) {
+            names[s] = Species.nameOf(s);
+        }
+        try {
+            return new TimeSeriesWriter(Paths.get(file), names, configProvider.isTimeSeriesDetailed(),
+                                        TimeSeriesWriter.DEFAULT_BLOCK_STEPS);
+        } catch(IOException e) {
+            System.out.println("Erro ao criar serie temporal: " + e.getMessage());
+            return null;
+        }
+    }
 
+    /**
+     * Cria a gravação da execução se recording.file estiver definido.
+     */
+    private static RunRecorder createRecorder(ConfigurationProvider configProvider, TerrainLayer terrain)
+    {
+        String file = configProvider.getRecordingFile();
+        if(file.isEmpty()) {
+            return null;
+        }
+        String[] names = new String[Species.count()];
+        for(int s = 0; s < names.length; s++) {
+            names[s] = Species.nameOf(s);
+        }
+        try {
+            return new RunRecorder(Paths.get(file), terrain, names,
+                                   configProvider.getRecordingKeyframeInterval());
+        } catch(IOException e) {
+            System.out.println("Erro ao criar gravacao: " + e.getMessage());
+            return null;
+        }
+    }
 
+    /**
+     * Escolhe o motor de passos configurado em simulation.engine.
+     */
+    private static StepEngine createStepEngine(ConfigurationProvider configProvider)
+    {
+        String engine = configProvider.getSimulationEngine();
+        if("parallel".equalsIgnoreCase(engine)) {
+            return new ParallelStepEngine(configProvider.getSimulationThreads(),
+                                          configProvider.getTileSize());
+        }
+        if(!"sequential".equalsIgnoreCase(engine) && !"soa".equalsIgnoreCase(engine)) {
+            System.out.println("Motor desconhecido: " + engine + ". Usando motor sequencial.");
+        }
+        return new SequentialStepEngine();
+    }
 
     /**
      * Executa um único passo da simulação.
@@ -113,27 +302,43 @@ public class Simulador
      */
     public void simulateOneStep()
     {
+        applyPendingConfiguration();
         step++;
-        newAnimals.clear();
-
-        for(Iterator<Animal> iter = animals.iterator(); iter.hasNext();) {
-            Animal animal = iter.next();
-            if(animal.isAlive()) {
-                animal.act(field, updatedField, newAnimals);
-            } else {
-                iter.remove();
-            }
+        context.setStep(step);
+
+        if(soaEngine != null) {
+            soaEngine.step(context);
+            objectsStale = true;
         }
+        else {
+            field.updatePerception();
+            stepEngine.step(field, updatedField, animals, context);
 
-        animals.addAll(newAnimals);
+            Campo temp = field;
+            field = updatedField;
+            updatedField = temp;
 
-        Campo temp = field;
-        field = updatedField;
-        updatedField = temp;
+            updatedField.clear(); // animais somente!
+            field.getArena().recycleRetired();
+        }
 
-        updatedField.clear(); // animais somente!
+        if(checkpointer != null && checkpointer.isDue(step)) {
+            checkpointer.submit(captureSnapshot());
+        }
+        recordTimeSeries();
+        recordFrame();
+        showStatus();
+    }
 
-        viewManager.showStatus(step, field);
+    /**
+     * Executa vários passos seguidos da simulação, sem pausas entre eles.
+     * @param steps número de passos a executar
+     */
+    public void simulateSteps(int steps)
+    {
+        for(int i = 0; i < steps; i++) {
+            simulateOneStep();
+        }
     }
 
     /**
@@ -142,44 +347,349 @@ public class Simulador
      */
     public void reset()
     {
+        applyPendingConfiguration();
         step = 0;
+        context.setStep(step);
         animals.clear();
         field.clear();
         updatedField.clear();
+        field.getArena().clear();
 
         populate(field);
+        if(soaEngine != null) {
+            soaEngine.load(field, animals);
+            objectsStale = false;
+        }
+
+        recordTimeSeries();
+        recordFrame();
+        showStatus();
+    }
+
+    /**
+     * Captura o estado atual (limite de passo) em uma fotografia independente.
+     * @return fotografia com terreno, animais, semente e passo
+     */
+    public SimulationSnapshot captureSnapshot()
+    {
+        syncObjects();
+        return SimulationSnapshot.capture(field, animals.asList(), context, step);
+    }
+
+    /**
+     * Grava o estado atual em um arquivo.
+     * @param path arquivo de destino
+     * @param compress true para comprimir com Deflater
+     * @throws IOException se a gravação falhar
+     */
+    public void saveSnapshot(Path path, boolean compress) throws IOException
+    {
+        captureSnapshot().writeTo(path, compress);
+    }
+
+    /**
+     * Lê uma fotografia de um arquivo e restaura a simulação a partir dela.
+     * @param path arquivo gravado por saveSnapshot ou pelos checkpoints
+     * @throws IOException se a leitura falhar
+     */
+    public void loadSnapshot(Path path) throws IOException
+    {
+        restore(SimulationSnapshot.readFrom(path));
+    }
+
+    /**
+     * Restaura a simulação a partir de uma fotografia: semente, passo, terreno e animais.
+     * A continuação é idêntica à da simulação original.
+     * @param snapshot fotografia com as mesmas dimensões deste simulador
+     */
+    public void restore(SimulationSnapshot snapshot)
+    {
+        if(snapshot.getDepth() != field.getDepth() || snapshot.getWidth() != field.getWidth()) {
+            throw new IllegalArgumentException("Fotografia de " + snapshot.getWidth() + "x" + snapshot.getDepth()
+                + " incompativel com o campo de " + field.getWidth() + "x" + field.getDepth());
+        }
+        if(snapshot.isChunked() != field.isChunked()) {
+            throw new IllegalArgumentException("Fotografia e campo usam armazenamentos diferentes (field.storage)");
+        }
+
+        context.setSeed(snapshot.getSeed());
+        TerrainLayer terrain = snapshot.createTerrain();
+        if(terrain == null) {
+            // Terreno em blocos: reconstruído a partir da semente restaurada
+            context.setStep(0);
+            context.begin(SimulationContext.DOMAIN_TERRAIN, 0);
+            environmentManager.populateEnvironments(field);
+            terrain = field.getTerrain();
+        }
+        field.setTerrain(terrain);
+        updatedField.setTerrain(terrain);
+
+        step = snapshot.getStep();
+        context.setStep(step);
+        animals.clear();
+        field.clear();
+        updatedField.clear();
+        field.getArena().clear();
+        snapshot.restoreAnimals(field, animals);
+
+        if(dataOriented) {
+            soaEngine = new SoaEngine(field);
+            soaEngine.load(field, animals);
+            objectsStale = false;
+        }
+
+        showStatus();
+    }
+
+    /**
+     * Passa a observar o arquivo de configuração: cada alteração é compilada na
+     * thread do observador e aplicada no próximo limite de passo.
+     * @param file arquivo de configuração (normalmente config.txt)
+     */
+    public void watchConfiguration(Path file)
+    {
+        if(configWatcher != null) {
+            return;
+        }
+        try {
+            configWatcher = new ConfigurationWatcher(file, this::requestConfiguration);
+        } catch(IOException e) {
+            System.out.println("Recarga de configuracoes desativada: " + e.getMessage());
+        }
+    }
 
+    /**
+     * Agenda uma nova configuração para o próximo limite de passo (início de
+     * simulateOneStep ou reset). Pode ser chamado de qualquer thread; se várias
+     * chegarem antes do limite, vale a mais recente.
+     * @param newer configuração recarregada
+     */
+    public void requestConfiguration(ConfigurationSnapshot newer)
+    {
+        pendingConfiguration.set(newer);
+    }
+
+    /**
+     * Troca a configuração pela recarregada, se houver. Apenas os valores que
+     * podem mudar durante a execução são aplicados (ConfigurationSnapshot.reload).
+     */
+    private void applyPendingConfiguration()
+    {
+        ConfigurationSnapshot newer = pendingConfiguration.getAndSet(null);
+        if(newer == null) {
+            return;
+        }
+        List<String> ignored = configuration.restartRequiredChanges(newer);
+        configuration = configuration.reload(newer);
+        System.out.println("Configuracoes recarregadas no passo " + step);
+        if(!ignored.isEmpty()) {
+            System.out.println("Alteracoes que exigem reiniciar (ignoradas): " + String.join(", ", ignored));
+        }
+    }
+
+    /**
+     * Espera a gravação do último checkpoint e da série temporal e libera as
+     * threads de gravação e do motor de passos.
+     */
+    public void close()
+    {
+        if(configWatcher != null) {
+            configWatcher.close();
+        }
+        stepEngine.shutdown();
+        if(checkpointer != null) {
+            checkpointer.close();
+        }
+        if(recorder != null) {
+            try {
+                recorder.close();
+            } catch(IOException e) {
+                System.out.println("Erro ao fechar gravacao: " + e.getMessage());
+            }
+        }
+        if(timeSeries != null) {
+            try {
+                timeSeries.close();
+            } catch(IOException e) {
+                System.out.println("Erro ao fechar serie temporal: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Entrega o quadro do passo atual à gravação: um byte por célula com a
+     * espécie do ocupante (lido direto das colunas no motor orientado a dados).
+     */
+    private void recordFrame()
+    {
+        if(recorder == null) {
+            return;
+        }
+        byte[] grid = recorder.obtainGrid();
+        if(grid == null) {
+            return;
+        }
+        if(soaEngine != null) {
+            soaEngine.fillCellCodes(grid);
+        }
+        else {
+            int width = field.getWidth();
+            for(int row = 0; row < field.getDepth(); row++) {
+                for(int col = 0; col < width; col++) {
+                    Animal animal = field.getObjectAt(row, col);
+                    grid[row * width + col] = animal == null ? 0 : (byte) (animal.getSpeciesId() + 1);
+                }
+            }
+        }
+        for(int s = 0; s < Species.count(); s++) {
+            seriesCounts[s] = getPopulation(s);
+        }
+        recorder.submit(step, seriesCounts, grid);
+    }
+
+    /**
+     * Acrescenta o passo atual à série temporal: populações e, se configurado,
+     * idade média e comida média de cada espécie (sem converter o motor
+     * orientado a dados em objetos).
+     */
+    private void recordTimeSeries()
+    {
+        if(timeSeries == null) {
+            return;
+        }
+        for(int s = 0; s < Species.count(); s++) {
+            seriesCounts[s] = getPopulation(s);
+        }
+        if(timeSeries.hasDetails()) {
+            long[] ageSum = seriesAgeSum, foodSum = seriesFoodSum;
+            int[] living = seriesLiving;
+            Arrays.fill(ageSum, 0);
+            Arrays.fill(foodSum, 0);
+            Arrays.fill(living, 0);
+            if(soaEngine != null) {
+                for(int s = 0; s < Species.count(); s++) {
+                    ageSum[s] = soaEngine.getAgeSum(s);
+                    foodSum[s] = soaEngine.getFoodSum(s);
+                    living[s] = soaEngine.getLiving(s);
+                }
+            }
+            else {
+                for(Animal animal : animals) {
+                    if(animal.isAlive()) {
+                        int s = animal.getSpeciesId();
+                        ageSum[s] += animal.getAge();
+                        foodSum[s] += animal.getFoodLevel();
+                        living[s]++;
+                    }
+                }
+            }
+            for(int s = 0; s < Species.count(); s++) {
+                seriesMeanAge[s] = living[s] > 0 ? (double) ageSum[s] / living[s] : 0.0;
+                seriesMeanFood[s] = living[s] > 0 ? (double) foodSum[s] / living[s] : 0.0;
+            }
+        }
+        timeSeries.record(step, seriesCounts, seriesMeanAge, seriesMeanFood);
+    }
+
+    /**
+     * Mostra o passo atual, convertendo o estado do motor orientado a dados
+     * em objetos somente quando a visualização desenha o campo.
+     */
+    private void showStatus()
+    {
+        if(viewManager.isDisplaying()) {
+            syncObjects();
+        }
         viewManager.showStatus(step, field);
     }
 
+    /**
+     * Atualiza o campo e a lista de animais a partir do motor orientado a dados.
+     */
+    private void syncObjects()
+    {
+        if(objectsStale) {
+            soaEngine.store(field, animals);
+            objectsStale = false;
+        }
+    }
+
     /**
      * Insere os animais iniciais no campo usando AnimalFactory (baixo acoplamento)
      *
+     * As linhas são povoadas em paralelo, cada uma com o seu stream
+     * (DOMAIN_POPULATE, linha), então o resultado não depende do número de
+     * threads. Em cada célula a fábrica escolhe a espécie e a máscara de
+     * espécies do terreno (TerrainLayer.canEnter) decide se ela pode ficar ali;
+     * só então o animal é construído. Os animais entram na população na ordem
+     * das linhas e são embaralhados com o stream DOMAIN_SHUFFLE.
+     *
      * @param field Campo onde os animais serão inseridos.
      */
     private void populate(Campo field)
     {
-        Random rand = new Random();
+        long start = System.nanoTime();
         field.clear();
+        ConfigurationSnapshot config = configuration;
+
+        Animal[][] rows = new Animal[field.getDepth()][];
+        IntStream.range(0, rows.length).parallel()
+                 .forEach(row -> rows[row] = populateRow(field, config, animalFactory, context, row));
+        for(Animal[] row : rows) {
+            for(Animal animal : row) {
+                animals.add(animal);
+            }
+        }
+
+        animals.shuffle(context.begin(SimulationContext.DOMAIN_SHUFFLE, 0));
+        populateNanos = System.nanoTime() - start;
+    }
 
-        for(int row = 0; row < field.getDepth(); row++) {
-            for(int col = 0; col < field.getWidth(); col++) {
-                
-                double probability = rand.nextDouble();
-                Environment env = field.getEnvironment(row, col);
-
-                // Usa AnimalFactory para criar animais (desacoplado)
-                Animal animal = animalFactory.createAnimal(probability, configProvider);
-                
-                if(animal != null && animalFactory.canPlace(animal, env)) {
-                    animals.add(animal);
-                    animal.setLocation(row, col);
-                    field.place(animal, row, col);
+    /**
+     * Povoa uma linha do campo; as células da linha só são tocadas por esta chamada.
+     * Também usado pelas faixas do modo distribuído, que povoam só as suas linhas.
+     * @return animais colocados na linha, da esquerda para a direita
+     */
+    static Animal[] populateRow(Campo field, ConfigurationSnapshot config, AnimalFactory animalFactory,
+                                SimulationContext context, int row)
+    {
+        // Um stream por linha; as idades aleatórias dos animais usam o mesmo stream
+        Random rand = context.begin(SimulationContext.DOMAIN_POPULATE, row);
+        TerrainLayer terrain = field.getTerrain();
+        Animal[] placed = new Animal[0];
+        int count = 0;
+        for(int col = 0; col < field.getWidth(); col++) {
+            int speciesId = animalFactory.chooseSpecies(rand.nextDouble(), config);
+
+            // O terreno só é consultado onde nasce um animal (no modo em blocos,
+            // células vazias não chegam a derivar o terreno do seu bloco)
+            if(speciesId >= 0 && terrain.canEnter(row, col, speciesId)) {
+                Animal animal = animalFactory.createAnimal(speciesId);
+                animal.setLocation(field.locationAt(row, col));
+                field.place(animal, row, col);
+                if(count == placed.length) {
+                    placed = Arrays.copyOf(placed, Math.max(8, count * 2));
                 }
+                placed[count++] = animal;
             }
         }
+        return Arrays.copyOf(placed, count);
+    }
 
-        Collections.shuffle(animals);
+    /**
+     * @return tempo de criação do simulador (terreno e povoamento), em nanossegundos
+     */
+    public long getStartupNanos()
+    {
+        return startupNanos;
+    }
+
+    /**
+     * @return tempo do último povoamento (construção ou reset), em nanossegundos
+     */
+    public long getPopulateNanos()
+    {
+        return populateNanos;
     }
 
     /**
@@ -191,22 +701,85 @@ public class Simulador
     }
 
     /**
-     * @return lista de todos os animais vivos no campo.
+     * Obtém a população atual de uma espécie, em O(1).
+     * @param speciesId identificador da espécie (ver Species)
+     * @return número de animais da espécie no campo
      */
-    public List<Animal> getAnimals()
+    public int getPopulation(int speciesId)
     {
-        return new ArrayList<>(animals);
+        return soaEngine != null ? soaEngine.getPopulation(speciesId) : field.getPopulation(speciesId);
     }
 
+    /**
+     * @return número total de animais no campo
+     */
+    public int getTotalPopulation()
+    {
+        int total = 0;
+        for(int s = 0; s < Species.count(); s++) {
+            total += getPopulation(s);
+        }
+        return total;
+    }
+
+    /**
+     * Determina se a simulação ainda é viável.
+     * @return true se há mais de uma espécie viva
+     */
+    public boolean isViable()
+    {
+        int living = 0;
+        for(int s = 0; s < Species.count(); s++) {
+            if(getPopulation(s) > 0) {
+                living++;
+            }
+        }
+        return living > 1;
+    }
+
+    /**
+     * Retorna os animais da simulação sem copiar a lista.
+     * A visão é somente leitura e reflete o estado atual: não a percorra
+     * enquanto um passo está em execução.
+     * @return visão não modificável dos animais da simulação
+     */
+    public List<Animal> getAnimals()
+    {
+        syncObjects();
+        return animals.asList();
+    }
 
+    /**
+     * @return número de animais na lista da simulação, sem copiá-la
+     */
+    public int getAnimalCount()
+    {
+        syncObjects();
+        return animals.size();
+    }
 
+    /**
+     * @return campo atual da simulação (somente leitura por convenção).
+     */
+    public Campo getField()
+    {
+        syncObjects();
+        return field;
+    }
 
+    /**
+     * @return contexto da simulação (semente e passo atual)
+     */
+    public SimulationContext getContext()
+    {
+        return context;
+    }
 
     /**
      * @return o provedor de configurações
      */
     public ConfigurationProvider getConfigProvider()
     {
-        return configProvider;
+        return configuration;
     }
 }
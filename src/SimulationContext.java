@@ -0,0 +1,166 @@
+import java.util.Random;
+
+/**
+ * Contexto de uma simulação: semente, passo atual e acesso aos números aleatórios.
+ *
+ * Cada thread possui o seu próprio RandomStream. Antes de cada ação, o motor de
+ * passos posiciona o stream da thread na chave (semente, passo, célula do animal),
+ * então uma execução com semente S produz o mesmo resultado com 1 ou 32 threads
+ * e sem disputa entre threads pelo estado do gerador.
+ *
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public class SimulationContext
+{
+    // Domínios de uso dos números aleatórios
+    public static final long DOMAIN_ACT = 1;
+    public static final long DOMAIN_POPULATE = 2;
+    public static final long DOMAIN_TERRAIN = 3;
+    public static final long DOMAIN_SHUFFLE = 4;
+    public static final long DOMAIN_ORDER = 5;
+
+    // Stream da thread atual
+    private static final ThreadLocal<RandomStream> CURRENT =
+        ThreadLocal.withInitial(RandomStream::new);
+    // Fachada que delega ao stream da thread atual
+    private static final Random CURRENT_RANDOM = new CurrentRandom();
+
+    private long seed;
+    private int step;
+
+    /**
+     * @param seed semente da simulação
+     */
+    public SimulationContext(long seed)
+    {
+        this.seed = seed;
+    }
+
+    /**
+     * Posiciona o stream da thread atual para a ação do animal na célula dada.
+     * @param cell índice da célula (row * largura + col)
+     * @return stream posicionado
+     */
+    public Random beginAct(int cell)
+    {
+        return begin(DOMAIN_ACT, cell);
+    }
+
+    /**
+     * Posiciona o stream da thread atual na chave (domínio, id) do passo atual.
+     * @param domain finalidade dos números
+     * @param id identificador dentro do domínio
+     * @return stream posicionado
+     */
+    public Random begin(long domain, long id)
+    {
+        RandomStream stream = CURRENT.get();
+        stream.position(seed, domain, step, id);
+        return stream;
+    }
+
+    /**
+     * Chave pseudoaleatória da célula no passo atual, sem usar o stream da thread.
+     * Ordenar animais por ela dá uma ordem aleatória que não depende de como a
+     * lista foi montada (usada pelas faixas do modo distribuído).
+     * @param cell índice da célula (row * largura + col)
+     * @return chave da célula
+     */
+    public long orderKey(int cell)
+    {
+        return RandomStream.key(seed, DOMAIN_ORDER, step, cell);
+    }
+
+    /**
+     * @return chave do stream da thread atual, para derivar streams filhos depois
+     */
+    public static long currentKey()
+    {
+        return CURRENT.get().key();
+    }
+
+    /**
+     * Executa a tarefa com o stream da thread posicionado no filho (parentKey, id)
+     * e depois restaura a posição anterior, sem perturbar quem estava usando o stream.
+     * Usado para derivar dados sob demanda no meio de um passo (terreno em blocos).
+     * @param parentKey chave obtida com currentKey()
+     * @param id identificador do filho
+     * @param task tarefa que usa SimulationContext.random()
+     */
+    public static void runWithChildStream(long parentKey, long id, Runnable task)
+    {
+        RandomStream stream = CURRENT.get();
+        long key = stream.key();
+        long counter = stream.counter();
+        stream.positionChild(parentKey, id);
+        try {
+            task.run();
+        } finally {
+            stream.restore(key, counter);
+        }
+    }
+
+    /**
+     * @return gerador que usa o stream da thread atual, onde quer que seja chamado
+     */
+    public static Random random()
+    {
+        return CURRENT_RANDOM;
+    }
+
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    /**
+     * Troca a semente (usado ao restaurar uma fotografia salva).
+     */
+    public void setSeed(long seed)
+    {
+        this.seed = seed;
+    }
+
+    public int getStep()
+    {
+        return step;
+    }
+
+    public void setStep(int step)
+    {
+        this.step = step;
+    }
+
+    /**
+     * Random sem estado próprio: cada chamada usa o stream da thread atual.
+     */
+    private static class CurrentRandom extends Random
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected int next(int bits)
+        {
+            return (int) (CURRENT.get().nextLong() >>> (64 - bits));
+        }
+
+        @Override
+        public int nextInt(int bound)
+        {
+            return CURRENT.get().nextInt(bound);
+        }
+
+        @Override
+        public double nextDouble()
+        {
+            return CURRENT.get().nextDouble();
+        }
+
+        @Override
+        public long nextLong()
+        {
+            return CURRENT.get().nextLong();
+        }
+    }
+}
@@ -0,0 +1,561 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Fotografia (snapshot) do estado da simulação em um limite de passo:
+ * semente, passo, terreno e todos os animais da lista (espécie, idade, nível de
+ * comida, localização, vivo e se ocupa a sua célula no campo), além dos mortos
+ * que já saíram da lista mas ainda ocupam uma célula.
+ *
+ * A captura copia os animais para colunas primitivas e guarda uma referência à
+ * camada de terreno, que é imutável; por isso o arquivo pode ser escrito em outra
+ * thread enquanto a simulação continua. Como os números aleatórios dependem só
+ * de (semente, passo, célula), uma simulação restaurada continua exatamente como
+ * a original continuaria.
+ *
+ * Formato binário (escrito com FileChannel, big-endian):
+ * cabeçalho MAGIC, VERSION, flags (bit 0: conteúdo comprimido com Deflater) e o
+ * conteúdo: dimensões, semente, passo, terreno (paleta por nome de classe e um
+ * byte por célula, ou apenas a marca de terreno em blocos, que é reconstruído a
+ * partir da semente) e as colunas dos animais.
+ *
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public class SimulationSnapshot
+{
+    private static final int MAGIC = 0x50505346; // "PPSF"
+    private static final int VERSION = 1;
+    private static final int FLAG_COMPRESSED = 1;
+    private static final byte TERRAIN_DENSE = 0;
+    private static final byte TERRAIN_LAZY = 1;
+    private static final byte ANIMAL_ALIVE = 1;
+    private static final byte ANIMAL_ON_GRID = 2;
+    // Morto que saiu da lista mas ainda ocupa a célula (motor paralelo remove os
+    // mortos ao fim do passo); volta ao campo, mas não à lista
+    private static final byte ANIMAL_GRID_ONLY = 4;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final int depth, width;
+    private final long seed;
+    private final int step;
+    private final boolean chunked;
+    // Terreno denso: paleta e códigos (null no terreno em blocos)
+    private final TerrainLayer terrain;
+    private final Environment[] palette;
+    private final byte[] terrainCodes;
+    // Colunas dos animais, na ordem da lista da simulação
+    private final int count;
+    private final byte[] species;
+    private final byte[] flags;
+    private final int[] age;
+    private final int[] food;
+    private final int[] row;
+    private final int[] col;
+
+    private SimulationSnapshot(int depth, int width, long seed, int step, boolean chunked,
+                               TerrainLayer terrain, Environment[] palette, byte[] terrainCodes,
+                               int count)
+    {
+        this.depth = depth;
+        this.width = width;
+        this.seed = seed;
+        this.step = step;
+        this.chunked = chunked;
+        this.terrain = terrain;
+        this.palette = palette;
+        this.terrainCodes = terrainCodes;
+        this.count = count;
+        species = new byte[count];
+        flags = new byte[count];
+        age = new int[count];
+        food = new int[count];
+        row = new int[count];
+        col = new int[count];
+    }
+
+    /**
+     * Captura o estado atual. Deve ser chamado entre passos, na thread da simulação.
+     * O custo é proporcional ao número de animais; o terreno não é copiado.
+     *
+     * @param field campo atual
+     * @param animals animais da simulação, na ordem da lista
+     * @param context contexto com a semente
+     * @param step passo atual
+     * @return fotografia independente do simulador
+     */
+    static SimulationSnapshot capture(Campo field, List<Animal> animals, SimulationContext context, int step)
+    {
+        // Ocupantes do campo que não estão na lista: só existem se a contagem não bate
+        int onGrid = 0;
+        Set<Animal> deadOnGrid = Collections.newSetFromMap(new IdentityHashMap<>());
+        for(Animal animal : animals) {
+            if(field.getObjectAt(animal.getLocation()) == animal) {
+                onGrid++;
+                if(!animal.isAlive()) deadOnGrid.add(animal);
+            }
+        }
+        int occupants = 0;
+        for(int s = 0; s < Species.count(); s++) {
+            occupants += field.getPopulation(s);
+        }
+        List<Animal> gridOnly = new ArrayList<>();
+        if(occupants != onGrid) {
+            field.forEachOccupant(animal -> {
+                if(!animal.isAlive() && !deadOnGrid.contains(animal)) gridOnly.add(animal);
+            });
+        }
+
+        boolean chunked = field.isChunked();
+        TerrainLayer terrain = chunked ? null : field.getTerrain();
+        SimulationSnapshot snapshot = new SimulationSnapshot(field.getDepth(), field.getWidth(),
+            context.getSeed(), step, chunked, terrain, null, null, animals.size() + gridOnly.size());
+        for(int i = 0; i < snapshot.count; i++) {
+            boolean listed = i < animals.size();
+            Animal animal = listed ? animals.get(i) : gridOnly.get(i - animals.size());
+            Location location = animal.getLocation();
+            snapshot.species[i] = (byte) animal.getSpeciesId();
+            snapshot.age[i] = animal.getAge();
+            snapshot.food[i] = animal.getFoodLevel();
+            snapshot.row[i] = location.getRow();
+            snapshot.col[i] = location.getCol();
+            byte f = listed ? 0 : ANIMAL_GRID_ONLY;
+            if(animal.isAlive()) f |= ANIMAL_ALIVE;
+            if(field.getObjectAt(location) == animal) f |= ANIMAL_ON_GRID;
+            snapshot.flags[i] = f;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Grava a fotografia em um arquivo temporário e o move para o destino,
+     * de modo que uma queda durante a escrita não corrompe a fotografia anterior.
+     *
+     * @param path arquivo de destino
+     * @param compress true para comprimir o conteúdo com Deflater
+     * @throws IOException se a escrita falhar
+     */
+    public void writeTo(Path path, boolean compress) throws IOException
+    {
+        Path absolute = path.toAbsolutePath();
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        try(FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(12);
+            header.putInt(MAGIC).putInt(VERSION).putInt(compress ? FLAG_COMPRESSED : 0).flip();
+            while(header.hasRemaining()) {
+                channel.write(header);
+            }
+            try(BlockOutput out = new BlockOutput(channel, compress)) {
+                writeContent(out);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void writeContent(BlockOutput out) throws IOException
+    {
+        out.putInt(depth);
+        out.putInt(width);
+        out.putLong(seed);
+        out.putInt(step);
+        if(chunked) {
+            out.put(TERRAIN_LAZY);
+        }
+        else {
+            out.put(TERRAIN_DENSE);
+            out.putInt(terrain.getKindCount());
+            for(int code = 0; code < terrain.getKindCount(); code++) {
+                byte[] name = terrain.environmentForCode(code).getClass().getName()
+                                     .getBytes(StandardCharsets.UTF_8);
+                out.putInt(name.length);
+                out.put(name, 0, name.length);
+            }
+            int cells = depth * width;
+            for(int cell = 0; cell < cells; cell++) {
+                out.put((byte) terrain.codeAt(cell));
+            }
+        }
+        // Colunas dos animais (valores parecidos juntos comprimem melhor)
+        out.putInt(count);
+        out.put(species, 0, count);
+        out.put(flags, 0, count);
+        for(int i = 0; i < count; i++) out.putInt(age[i]);
+        for(int i = 0; i < count; i++) out.putInt(food[i]);
+        for(int i = 0; i < count; i++) out.putInt(row[i]);
+        for(int i = 0; i < count; i++) out.putInt(col[i]);
+    }
+
+    /**
+     * Lê uma fotografia gravada com writeTo.
+     * @param path arquivo da fotografia
+     * @return fotografia lida
+     * @throws IOException se o arquivo não existir, estiver truncado ou não for uma fotografia
+     */
+    public static SimulationSnapshot readFrom(Path path) throws IOException
+    {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(12);
+            while(header.hasRemaining()) {
+                if(channel.read(header) < 0) {
+                    throw new EOFException("Arquivo de fotografia truncado: " + path);
+                }
+            }
+            header.flip();
+            if(header.getInt() != MAGIC) {
+                throw new IOException("Arquivo nao e uma fotografia da simulacao: " + path);
+            }
+            int version = header.getInt();
+            if(version != VERSION) {
+                throw new IOException("Versao de fotografia nao suportada: " + version);
+            }
+            boolean compressed = (header.getInt() & FLAG_COMPRESSED) != 0;
+            BlockInput in = new BlockInput(channel, compressed);
+            try {
+                return readContent(in);
+            } finally {
+                in.close();
+            }
+        }
+    }
+
+    private static SimulationSnapshot readContent(BlockInput in) throws IOException
+    {
+        int depth = in.getInt();
+        int width = in.getInt();
+        long seed = in.getLong();
+        int step = in.getInt();
+        byte terrainMode = in.get();
+        Environment[] palette = null;
+        byte[] codes = null;
+        if(terrainMode == TERRAIN_DENSE) {
+            palette = new Environment[in.getInt()];
+            for(int code = 0; code < palette.length; code++) {
+                byte[] name = new byte[in.getInt()];
+                in.get(name, 0, name.length);
+                palette[code] = instantiate(new String(name, StandardCharsets.UTF_8));
+            }
+            codes = new byte[depth * width];
+            in.get(codes, 0, codes.length);
+        }
+        else if(terrainMode != TERRAIN_LAZY) {
+            throw new IOException("Terreno invalido na fotografia: " + terrainMode);
+        }
+
+        int count = in.getInt();
+        SimulationSnapshot snapshot = new SimulationSnapshot(depth, width, seed, step,
+            terrainMode == TERRAIN_LAZY, null, palette, codes, count);
+        in.get(snapshot.species, 0, count);
+        for(int i = 0; i < count; i++) {
+            // A fotografia guarda identificadores: precisa da mesma tabela de espécies
+            if(snapshot.species[i] < 0 || snapshot.species[i] >= Species.count()) {
+                throw new IOException("Especie desconhecida na fotografia: " + snapshot.species[i]
+                                      + " (a tabela de especies tem " + Species.count() + ")");
+            }
+        }
+        in.get(snapshot.flags, 0, count);
+        for(int i = 0; i < count; i++) snapshot.age[i] = in.getInt();
+        for(int i = 0; i < count; i++) snapshot.food[i] = in.getInt();
+        for(int i = 0; i < count; i++) snapshot.row[i] = in.getInt();
+        for(int i = 0; i < count; i++) snapshot.col[i] = in.getInt();
+        return snapshot;
+    }
+
+    /**
+     * Cria o ambiente a partir do nome da classe (ambientes não têm estado).
+     */
+    static Environment instantiate(String className) throws IOException
+    {
+        try {
+            return (Environment) Class.forName(className).getDeclaredConstructor().newInstance();
+        } catch(ReflectiveOperationException | ClassCastException e) {
+            throw new IOException("Ambiente desconhecido na fotografia: " + className, e);
+        }
+    }
+
+    /**
+     * @return camada de terreno da fotografia, ou null se o terreno é em blocos
+     *         (reconstruído a partir da semente)
+     */
+    TerrainLayer createTerrain()
+    {
+        if(chunked) {
+            return null;
+        }
+        if(terrain != null) {
+            return terrain; // fotografia capturada nesta execução
+        }
+        return TerrainLayer.fromCodes(depth, width, palette, terrainCodes);
+    }
+
+    /**
+     * Recria os animais, colocando no campo os que ocupavam a sua célula.
+     * @param field campo vazio com as dimensões da fotografia
+     * @param animals população vazia que recebe os animais, na ordem original
+     */
+    void restoreAnimals(Campo field, Population animals)
+    {
+        for(int i = 0; i < count; i++) {
+            Animal animal = AnimalArena.newInstance(species[i]);
+            animal.age = age[i];
+            animal.setFoodLevel(food[i]);
+            if((flags[i] & ANIMAL_ALIVE) == 0) {
+                animal.setDead();
+            }
+            animal.setLocation(field.locationAt(row[i], col[i]));
+            if((flags[i] & ANIMAL_ON_GRID) != 0) {
+                field.place(animal, animal.getLocation());
+            }
+            if((flags[i] & ANIMAL_GRID_ONLY) == 0) {
+                animals.add(animal);
+            }
+        }
+    }
+
+    public int getDepth()
+    {
+        return depth;
+    }
+
+    public int getWidth()
+    {
+        return width;
+    }
+
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    public int getStep()
+    {
+        return step;
+    }
+
+    public boolean isChunked()
+    {
+        return chunked;
+    }
+
+    /**
+     * @return número de animais na fotografia
+     */
+    public int getAnimalCount()
+    {
+        return count;
+    }
+
+    /**
+     * Saída em blocos sobre um FileChannel, comprimida ou não.
+     */
+    private static final class BlockOutput implements AutoCloseable
+    {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private final Deflater deflater;
+        private final ByteBuffer compressed;
+
+        BlockOutput(FileChannel channel, boolean compress)
+        {
+            this.channel = channel;
+            this.deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+            this.compressed = compress ? ByteBuffer.allocate(BUFFER_SIZE) : null;
+        }
+
+        void put(byte value) throws IOException
+        {
+            ensure(1);
+            buffer.put(value);
+        }
+
+        void putInt(int value) throws IOException
+        {
+            ensure(4);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException
+        {
+            ensure(8);
+            buffer.putLong(value);
+        }
+
+        void put(byte[] values, int offset, int length) throws IOException
+        {
+            while(length > 0) {
+                ensure(1);
+                int n = Math.min(length, buffer.remaining());
+                buffer.put(values, offset, n);
+                offset += n;
+                length -= n;
+            }
+        }
+
+        private void ensure(int bytes) throws IOException
+        {
+            if(buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException
+        {
+            buffer.flip();
+            if(deflater == null) {
+                while(buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            else {
+                deflater.setInput(buffer);
+                while(!deflater.needsInput()) {
+                    drain();
+                }
+            }
+            buffer.clear();
+        }
+
+        private void drain() throws IOException
+        {
+            compressed.clear();
+            deflater.deflate(compressed);
+            compressed.flip();
+            while(compressed.hasRemaining()) {
+                channel.write(compressed);
+            }
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            flush();
+            if(deflater != null) {
+                deflater.finish();
+                while(!deflater.finished()) {
+                    drain();
+                }
+                deflater.end();
+            }
+        }
+    }
+
+    /**
+     * Entrada em blocos sobre um FileChannel, comprimida ou não.
+     */
+    private static final class BlockInput
+    {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private final Inflater inflater;
+        private final ByteBuffer compressed;
+
+        BlockInput(FileChannel channel, boolean compressed)
+        {
+            this.channel = channel;
+            this.inflater = compressed ? new Inflater() : null;
+            this.compressed = compressed ? ByteBuffer.allocate(BUFFER_SIZE) : null;
+            buffer.flip(); // começa vazio
+            if(compressed) {
+                this.compressed.flip();
+            }
+        }
+
+        byte get() throws IOException
+        {
+            require(1);
+            return buffer.get();
+        }
+
+        int getInt() throws IOException
+        {
+            require(4);
+            return buffer.getInt();
+        }
+
+        long getLong() throws IOException
+        {
+            require(8);
+            return buffer.getLong();
+        }
+
+        void get(byte[] values, int offset, int length) throws IOException
+        {
+            while(length > 0) {
+                require(1);
+                int n = Math.min(length, buffer.remaining());
+                buffer.get(values, offset, n);
+                offset += n;
+                length -= n;
+            }
+        }
+
+        /**
+         * Garante pelo menos 'bytes' bytes no buffer, lendo mais do canal.
+         */
+        private void require(int bytes) throws IOException
+        {
+            if(buffer.remaining() >= bytes) {
+                return;
+            }
+            buffer.compact();
+            while(buffer.position() < bytes) {
+                if(fill() < 0) {
+                    throw new EOFException("Fotografia truncada");
+                }
+            }
+            buffer.flip();
+        }
+
+        private int fill() throws IOException
+        {
+            if(inflater == null) {
+                return channel.read(buffer);
+            }
+            try {
+                while(true) {
+                    if(inflater.finished()) {
+                        return -1;
+                    }
+                    int n = inflater.inflate(buffer);
+                    if(n > 0) {
+                        return n;
+                    }
+                    if(inflater.needsInput()) {
+                        compressed.compact();
+                        int read = channel.read(compressed);
+                        compressed.flip();
+                        if(read < 0) {
+                            return -1;
+                        }
+                        inflater.setInput(compressed);
+                    }
+                }
+            } catch(DataFormatException e) {
+                throw new IOException("Fotografia corrompida", e);
+            }
+        }
+
+        void close()
+        {
+            if(inflater != null) {
+                inflater.end();
+            }
+        }
+    }
+}
@@ -0,0 +1,608 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Motor de simulação orientado a dados (structure of arrays).
+ *
+ * Em vez de um objeto por animal, cada espécie guarda colunas primitivas
+ * (idade, nível de comida, célula e flag de vida) e o campo é um int[] com o
+ * código do ocupante de cada célula. As regras são as mesmas de
+ * GenericAnimal.act, com os parâmetros da tabela de espécies (SpeciesTable),
+ * e os animais de todas as espécies agem num único laço, na mesma ordem da
+ * lista do SequentialStepEngine: os sobreviventes na ordem anterior e depois
+ * os recém-nascidos, na ordem em que nasceram. Como no motor de objetos, um
+ * animal morto depois de se mover continua ocupando a célula até o fim do
+ * passo seguinte, e um animal sobrescrito no campo por outro continua vivo
+ * fora da grade; com a mesma semente, o resultado é igual ao do motor
+ * sequencial.
+ *
+ * O estado pode ser convertido de/para objetos Animal (load/store) para a
+ * interface gráfica e para o resto do simulador.
+ *
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public class SoaEngine
+{
+    // Código de célula = (índice << SPECIES_SHIFT | espécie) + 1; 0 = vazia
+    // (SPECIES_SHIFT bits comportam SpeciesTable.MAX_SPECIES espécies)
+    private static final int SPECIES_SHIFT = 5;
+    private static final int SPECIES_MASK = (1 << SPECIES_SHIFT) - 1;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private static final int[] ROW_OFFSETS = { -1, -1, -1,  0, 0,  1, 1, 1 };
+    private static final int[] COL_OFFSETS = { -1,  0,  1, -1, 1, -1, 0, 1 };
+
+    private final int depth, width;
+    private int[] current;
+    private int[] next;
+
+    // Terreno compartilhado com o Campo (inclui as matrizes de permissões e de refúgios)
+    private final TerrainLayer terrain;
+
+    // Parâmetros das espécies, copiados da tabela e indexados pelo identificador
+    private final int species;
+    private final int[] maxAge;
+    private final int[] breedingAge;
+    private final double[] breedingProbability;
+    private final int[] maxLitterSize;
+    private final int[] initialFood;
+    private final int[] hungerLoss;
+    private final boolean[] feedingAdds;
+    private final int[] fleeMask;
+    private final int[] perceptionRadius;
+    // Tabela de percepção de cada espécie com perceptionRadius > 1 (compartilhada por máscara)
+    private final SummedAreaTable[] perception;
+    private final SummedAreaTable[] perceptionTables;
+    private final boolean[] birthRandom;
+    private final int[] whenBlocked;
+    private final int[][] dietPrey;
+    private final int[][] dietFood;
+
+    private final Columns[] columns;
+    // Ordem de ação: códigos (espécie e índice nas colunas) de todas as espécies
+    private int[] order = new int[INITIAL_CAPACITY];
+    private int orderSize;
+    private final Random rand = SimulationContext.random();
+
+    /**
+     * Cria o motor com as dimensões e o terreno de um campo.
+     * @param field campo denso com os ambientes já definidos
+     * @throws IllegalArgumentException se o campo usar o armazenamento em blocos
+     */
+    public SoaEngine(Campo field)
+    {
+        if(field.isChunked()) {
+            throw new IllegalArgumentException("O motor soa exige um campo denso");
+        }
+        depth = field.getDepth();
+        width = field.getWidth();
+        current = new int[depth * width];
+        next = new int[depth * width];
+
+        SpeciesTable table = Species.table();
+        species = table.size();
+        maxAge = new int[species];
+        breedingAge = new int[species];
+        breedingProbability = new double[species];
+        maxLitterSize = new int[species];
+        initialFood = new int[species];
+        hungerLoss = new int[species];
+        feedingAdds = new boolean[species];
+        fleeMask = new int[species];
+        perceptionRadius = new int[species];
+        perception = new SummedAreaTable[species];
+        birthRandom = new boolean[species];
+        whenBlocked = new int[species];
+        dietPrey = new int[species][];
+        dietFood = new int[species][];
+        columns = new Columns[species];
+        for(int s = 0; s < species; s++) {
+            maxAge[s] = table.getMaxAge(s);
+            breedingAge[s] = table.getBreedingAge(s);
+            breedingProbability[s] = table.getBreedingProbability(s);
+            maxLitterSize[s] = table.getMaxLitterSize(s);
+            initialFood[s] = table.getInitialFood(s);
+            hungerLoss[s] = table.getHungerLoss(s);
+            feedingAdds[s] = table.isFeedingAdditive(s);
+            fleeMask[s] = table.getFleeMask(s);
+            perceptionRadius[s] = table.getPerceptionRadius(s);
+            birthRandom[s] = table.isBirthRandom(s);
+            whenBlocked[s] = table.getWhenBlocked(s);
+            dietPrey[s] = new int[table.getDietSize(s)];
+            dietFood[s] = new int[table.getDietSize(s)];
+            for(int k = 0; k < dietPrey[s].length; k++) {
+                dietPrey[s][k] = table.getPrey(s, k);
+                dietFood[s][k] = table.getFoodValue(s, k);
+            }
+            columns[s] = new Columns();
+        }
+
+        terrain = field.getTerrain();
+
+        int[] masks = table.getPerceptionMasks();
+        perceptionTables = new SummedAreaTable[masks.length];
+        for(int k = 0; k < masks.length; k++) {
+            perceptionTables[k] = new SummedAreaTable(depth, width, masks[k]);
+            for(int s = 0; s < species; s++) {
+                if(perceptionRadius[s] > 1 && fleeMask[s] == masks[k]) {
+                    perception[s] = perceptionTables[k];
+                }
+            }
+        }
+    }
+
+    /**
+     * Carrega os animais na ordem da lista, que passa a ser a ordem de ação:
+     * os vivos (inclusive os sobrescritos, fora da grade) e os mortos que
+     * ainda ocupam a sua célula. Carregar uma lista gravada por store
+     * (fotografias) reproduz exatamente o estado anterior.
+     * @param field campo com os animais posicionados
+     * @param animals animais da simulação
+     */
+    public void load(Campo field, Population animals)
+    {
+        Arrays.fill(current, 0);
+        for(Columns c : columns) {
+            c.size = 0;
+            c.onGrid = 0;
+        }
+        orderSize = 0;
+        for(Animal animal : animals) {
+            Location location = animal.getLocation();
+            boolean occupant = field.getObjectAt(location) == animal;
+            if(animal.isAlive() || occupant) {
+                int s = animal.getSpeciesId();
+                Columns c = columns[s];
+                int cell = location.getRow() * width + location.getCol();
+                int code = code(s, c.add(animal.getAge(), animal.getFoodLevel(), cell));
+                c.alive[indexOf(code)] = animal.isAlive();
+                if(occupant) {
+                    current[cell] = code;
+                    c.onGrid++;
+                }
+                appendOrder(code);
+            }
+        }
+    }
+
+    /**
+     * Converte o estado atual em objetos Animal, posicionados no campo e na lista.
+     * @param field campo a ser preenchido (é limpo antes)
+     * @param animals população a ser preenchida (é limpa antes)
+     */
+    public void store(Campo field, Population animals)
+    {
+        field.clear();
+        animals.clear();
+        for(int k = 0; k < orderSize; k++) {
+            int code = order[k];
+            int s = speciesOf(code), i = indexOf(code);
+            Columns c = columns[s];
+            int cell = c.cell[i];
+            Animal animal = AnimalArena.newInstance(s);
+            animal.age = c.age[i];
+            animal.setFoodLevel(c.food[i]);
+            if(!c.alive[i]) {
+                animal.setDead();
+            }
+            animal.setLocation(field.locationAt(cell / width, cell % width));
+            if(current[cell] == code) {
+                field.place(animal, animal.getLocation());
+            }
+            animals.add(animal);
+        }
+    }
+
+    /**
+     * Executa um passo da simulação.
+     * @param context contexto que posiciona os números aleatórios de cada ação
+     */
+    public void step(SimulationContext context)
+    {
+        // O campo atual não muda durante o passo: as tabelas valem para o passo inteiro
+        for(SummedAreaTable table : perceptionTables) {
+            table.build(current, SPECIES_MASK);
+        }
+
+        int n = orderSize; // recém-nascidos entram no fim da ordem e só agem no próximo passo
+        for(int k = 0; k < n; k++) {
+            int code = order[k];
+            int s = speciesOf(code), i = indexOf(code);
+            Columns c = columns[s];
+            if(!c.alive[i]) continue;
+            context.beginAct(c.cell[i]);
+            act(s, c, i);
+        }
+
+        for(int s = 0; s < species; s++) {
+            compact(s);
+        }
+        int kept = 0;
+        for(int k = 0; k < orderSize; k++) {
+            int code = order[k];
+            int s = speciesOf(code);
+            int index = columns[s].remap[indexOf(code)];
+            if(index >= 0) {
+                order[kept++] = code(s, index);
+            }
+        }
+        orderSize = kept;
+
+        int[] temp = current;
+        current = next;
+        next = temp;
+        Arrays.fill(next, 0);
+    }
+
+    /**
+     * Animais da espécie que ocupam uma célula do campo atual, como
+     * Campo.getPopulation no motor de objetos (inclui os mortos no passo que
+     * ainda ocupam a célula).
+     * @param species identificador da espécie
+     * @return população da espécie no campo
+     */
+    public int getPopulation(int species)
+    {
+        return columns[species].onGrid;
+    }
+
+    /**
+     * @param species identificador da espécie
+     * @return número de animais vivos da espécie, dentro ou fora da grade
+     */
+    public int getLiving(int species)
+    {
+        Columns c = columns[species];
+        int living = 0;
+        for(int i = 0; i < c.size; i++) {
+            if(c.alive[i]) living++;
+        }
+        return living;
+    }
+
+    /**
+     * Preenche um byte por célula com o ocupante atual: 0 = vazia, 1 + espécie.
+     * @param out grade com depth * width posições
+     */
+    public void fillCellCodes(byte[] out)
+    {
+        for(int cell = 0; cell < out.length; cell++) {
+            int occupant = current[cell];
+            out[cell] = occupant == 0 ? 0 : (byte) (((occupant - 1) & SPECIES_MASK) + 1);
+        }
+    }
+
+    /**
+     * @param species identificador da espécie
+     * @return soma das idades dos animais vivos da espécie
+     */
+    public long getAgeSum(int species)
+    {
+        Columns c = columns[species];
+        long sum = 0;
+        for(int i = 0; i < c.size; i++) {
+            if(c.alive[i]) sum += c.age[i];
+        }
+        return sum;
+    }
+
+    /**
+     * @param species identificador da espécie
+     * @return soma dos níveis de comida dos animais vivos da espécie
+     */
+    public long getFoodSum(int species)
+    {
+        Columns c = columns[species];
+        long sum = 0;
+        for(int i = 0; i < c.size; i++) {
+            if(c.alive[i]) sum += c.food[i];
+        }
+        return sum;
+    }
+
+    // ----------------------------------------------------------------
+    // Regras das espécies (equivalentes a GenericAnimal.act)
+    // ----------------------------------------------------------------
+
+    private void act(int s, Columns c, int i)
+    {
+        boolean alive = incrementAge(s, c, i);
+        if(initialFood[s] > 0) {
+            alive = incrementHunger(c, i, hungerLoss[s]) && alive;
+        }
+        if(!alive) return;
+        int cell = c.cell[i];
+
+        // No refúgio: só reproduz e permanece
+        if(terrain.isRefuge(cell, s)) {
+            breed(s, c, i, cell);
+            next[cell] = code(s, i);
+            return;
+        }
+
+        if(fleeMask[s] != 0 && threatened(s, cell)) {
+            int escape = escape(s, cell);
+            if(escape >= 0) {
+                moveTo(s, c, i, escape);
+                return;
+            }
+        }
+
+        breed(s, c, i, cell);
+
+        int target = hunt(s, c, i, cell);
+        if(target < 0) {
+            target = freeAdjacent(next, cell);
+        }
+
+        if(target >= 0 && next[target] == 0 && terrain.canEnter(target, s)) {
+            moveTo(s, c, i, target);
+        } else if(whenBlocked[s] == SpeciesTable.BLOCKED_STAY) {
+            next[cell] = code(s, i);
+        } else if(whenBlocked[s] == SpeciesTable.BLOCKED_STAY_OR_DIE
+                  && next[cell] == 0 && terrain.canEnter(cell, s)) {
+            next[cell] = code(s, i);
+        } else {
+            c.alive[i] = false; // superlotação
+        }
+    }
+
+    // ----------------------------------------------------------------
+    // Operações comuns
+    // ----------------------------------------------------------------
+
+    /**
+     * @return true se o animal continua vivo após envelhecer
+     */
+    private boolean incrementAge(int s, Columns c, int i)
+    {
+        if(++c.age[i] > maxAge[s]) {
+            c.alive[i] = false;
+        }
+        return c.alive[i];
+    }
+
+    /**
+     * @return true se o animal continua vivo após perder comida
+     */
+    private boolean incrementHunger(Columns c, int i, int loss)
+    {
+        c.food[i] -= loss;
+        if(c.food[i] <= 0) {
+            c.alive[i] = false;
+        }
+        return c.alive[i];
+    }
+
+    private int births(int s, Columns c, int i)
+    {
+        if(c.age[i] >= breedingAge[s] && rand.nextDouble() <= breedingProbability[s]) {
+            return rand.nextInt(maxLitterSize[s]) + 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Filhotes em vizinhos aleatórios ou no primeiro vizinho livre (birthPlacement),
+     * se livres e permitidos.
+     */
+    private void breed(int s, Columns c, int i, int cell)
+    {
+        int births = births(s, c, i);
+        for(int b = 0; b < births; b++) {
+            int target = birthRandom[s] ? randomAdjacent(cell) : freeAdjacent(next, cell);
+            if(target >= 0 && next[target] == 0 && terrain.canEnter(target, s)) {
+                int young = code(s, c.add(0, initialFood[s], target));
+                next[target] = young;
+                appendOrder(young);
+            }
+        }
+    }
+
+    private void moveTo(int s, Columns c, int i, int target)
+    {
+        c.cell[i] = target;
+        next[target] = code(s, i);
+    }
+
+    /**
+     * Come a primeira presa viva adjacente, na ordem da dieta, e atualiza a comida.
+     * @return célula da presa, ou -1
+     */
+    private int hunt(int s, Columns c, int i, int cell)
+    {
+        int[] prey = dietPrey[s];
+        for(int k = 0; k < prey.length; k++) {
+            int where = kill(cell, prey[k]);
+            if(where >= 0) {
+                int value = dietFood[s][k];
+                c.food[i] = feedingAdds[s] ? Math.min(c.food[i] + value, initialFood[s]) : value;
+                return where;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Mata a primeira presa viva da espécie dada na vizinhança do campo atual.
+     * @return célula da presa, ou -1
+     */
+    private int kill(int cell, int preySpecies)
+    {
+        int row = cell / width, col = cell % width;
+        for(int d = 0; d < Campo.NEIGHBOURS; d++) {
+            int where = neighbour(row, col, d);
+            if(where < 0) continue;
+            int occupant = current[where];
+            if(occupant != 0 && ((occupant - 1) & SPECIES_MASK) == preySpecies) {
+                Columns prey = columns[preySpecies];
+                int index = (occupant - 1) >>> SPECIES_SHIFT;
+                if(prey.alive[index]) {
+                    prey.alive[index] = false;
+                    return where;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return true se alguma espécie da qual s foge está a até perceptionRadius
+     *         células no campo atual (com raio maior que 1, consulta em O(1))
+     */
+    private boolean threatened(int s, int cell)
+    {
+        int row = cell / width, col = cell % width;
+        if(perception[s] != null) {
+            return perception[s].countWithin(row, col, perceptionRadius[s]) > 0;
+        }
+        int mask = fleeMask[s];
+        for(int d = 0; d < Campo.NEIGHBOURS; d++) {
+            int where = neighbour(row, col, d);
+            if(where < 0 || current[where] == 0) continue;
+            if((mask & (1 << ((current[where] - 1) & SPECIES_MASK))) != 0) return true;
+        }
+        return false;
+    }
+
+    private int escape(int s, int cell)
+    {
+        int row = cell / width, col = cell % width;
+        for(int d = 0; d < Campo.NEIGHBOURS; d++) {
+            int where = neighbour(row, col, d);
+            if(where < 0 || current[where] != 0) continue;
+            if(!terrain.canEnter(where, s)) continue;
+            if(!threatened(s, where)) return where;
+        }
+        return -1;
+    }
+
+    private int freeAdjacent(int[] grid, int cell)
+    {
+        int row = cell / width, col = cell % width;
+        for(int d = 0; d < Campo.NEIGHBOURS; d++) {
+            int where = neighbour(row, col, d);
+            if(where >= 0 && grid[where] == 0) return where;
+        }
+        return -1;
+    }
+
+    private int randomAdjacent(int cell)
+    {
+        int row = cell / width, col = cell % width;
+        int valid = 0;
+        for(int d = 0; d < Campo.NEIGHBOURS; d++) {
+            if(neighbour(row, col, d) >= 0) valid++;
+        }
+        if(valid == 0) return -1;
+        int chosen = rand.nextInt(valid);
+        for(int d = 0; d < Campo.NEIGHBOURS; d++) {
+            int where = neighbour(row, col, d);
+            if(where >= 0 && chosen-- == 0) return where;
+        }
+        return -1;
+    }
+
+    private int neighbour(int row, int col, int direction)
+    {
+        int r = row + ROW_OFFSETS[direction];
+        int c = col + COL_OFFSETS[direction];
+        if(r < 0 || r >= depth || c < 0 || c >= width) return -1;
+        return r * width + c;
+    }
+
+    /**
+     * Compacta as colunas de uma espécie em uma única passada, preservando a
+     * ordem: descarta os mortos que não ocupam célula no próximo campo e
+     * atualiza os códigos das células. O novo índice de cada animal (ou -1)
+     * fica em remap, para reconstruir a ordem de ação.
+     */
+    private void compact(int s)
+    {
+        Columns c = columns[s];
+        int kept = 0, onGrid = 0;
+        for(int i = 0; i < c.size; i++) {
+            int cell = c.cell[i];
+            boolean occupant = next[cell] == code(s, i);
+            if(!c.alive[i] && !occupant) {
+                c.remap[i] = -1;
+                continue;
+            }
+            c.remap[i] = kept;
+            if(kept != i) {
+                c.age[kept] = c.age[i];
+                c.food[kept] = c.food[i];
+                c.cell[kept] = cell;
+                c.alive[kept] = c.alive[i];
+                if(occupant) {
+                    next[cell] = code(s, kept);
+                }
+            }
+            if(occupant) onGrid++;
+            kept++;
+        }
+        c.size = kept;
+        c.onGrid = onGrid;
+    }
+
+    private void appendOrder(int code)
+    {
+        if(orderSize == order.length) {
+            order = Arrays.copyOf(order, orderSize * 2);
+        }
+        order[orderSize++] = code;
+    }
+
+    private static int code(int species, int index)
+    {
+        return ((index << SPECIES_SHIFT) | species) + 1;
+    }
+
+    private static int speciesOf(int code)
+    {
+        return (code - 1) & SPECIES_MASK;
+    }
+
+    private static int indexOf(int code)
+    {
+        return (code - 1) >>> SPECIES_SHIFT;
+    }
+
+    /**
+     * Colunas primitivas de uma espécie.
+     */
+    private static class Columns
+    {
+        int size;
+        // Animais que ocupam uma célula do campo atual
+        int onGrid;
+        int[] age = new int[INITIAL_CAPACITY];
+        int[] food = new int[INITIAL_CAPACITY];
+        int[] cell = new int[INITIAL_CAPACITY];
+        boolean[] alive = new boolean[INITIAL_CAPACITY];
+        // Novo índice de cada animal após compact, ou -1 se descartado
+        int[] remap = new int[INITIAL_CAPACITY];
+
+        /**
+         * Acrescenta um animal vivo.
+         * @return índice do animal
+         */
+        int add(int ageValue, int foodValue, int cellValue)
+        {
+            if(size == age.length) {
+                int capacity = size * 2;
+                age = Arrays.copyOf(age, capacity);
+                food = Arrays.copyOf(food, capacity);
+                cell = Arrays.copyOf(cell, capacity);
+                alive = Arrays.copyOf(alive, capacity);
+                remap = Arrays.copyOf(remap, capacity);
+            }
+            age[size] = ageValue;
+            food[size] = foodValue;
+            cell[size] = cellValue;
+            alive[size] = true;
+            return size++;
+        }
+    }
+}
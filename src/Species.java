@@ -0,0 +1,94 @@
+/**
+ * Identificadores inteiros das espécies da simulação e a tabela de espécies
+ * em uso (SpeciesTable).
+ * Os identificadores permitem indexar tabelas (permissões de terreno,
+ * contadores, parâmetros) com um simples acesso a array, sem reflexão nem
+ * comparação de nomes.
+ *
+ * A tabela é global ao processo: é instalada a partir de species.file antes
+ * de criar o campo, e todos os simuladores de um mesmo processo (por exemplo,
+ * os membros de um EnsembleRunner) devem usar a mesma. Instalar de novo o
+ * arquivo já instalado não relê nem troca a tabela, então simuladores que
+ * sobem em paralelo com o mesmo species.file não disputam a tabela.
+ *
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public final class Species
+{
+    private static volatile SpeciesTable table = SpeciesTable.defaults();
+    // Arquivo de onde veio a tabela em uso (null se foi instalada diretamente)
+    private static String installedFile;
+
+    private Species()
+    {
+    }
+
+    /**
+     * @return tabela de espécies em uso
+     */
+    public static SpeciesTable table()
+    {
+        return table;
+    }
+
+    /**
+     * Instala a tabela de espécies. Chame antes de criar animais ou campos.
+     * @param speciesTable nova tabela
+     */
+    public static synchronized void install(SpeciesTable speciesTable)
+    {
+        table = speciesTable;
+        installedFile = null;
+    }
+
+    /**
+     * Instala a tabela de species.file, a menos que ela já seja a tabela em uso.
+     * @param file caminho do arquivo, ou texto vazio para a tabela padrão
+     */
+    public static synchronized void install(String file)
+    {
+        if(file.equals(installedFile)) {
+            return;
+        }
+        table = SpeciesTable.load(file);
+        installedFile = file;
+    }
+
+    /**
+     * @return número de espécies da tabela em uso
+     */
+    public static int count()
+    {
+        return table.size();
+    }
+
+    /**
+     * @param speciesId identificador da espécie
+     * @return nome da espécie
+     */
+    public static String nameOf(int speciesId)
+    {
+        return table.getName(speciesId);
+    }
+
+    /**
+     * Obtém o identificador de uma espécie pelo nome.
+     * Uso em configuração; não use no caminho crítico.
+     * @param name nome da espécie
+     * @return identificador, ou -1 se não houver espécie com esse nome
+     */
+    public static int idOf(String name)
+    {
+        return table.idOf(name);
+    }
+
+    /**
+     * @param speciesId identificador da espécie
+     * @return máscara com apenas o bit da espécie ligado
+     */
+    public static int bit(int speciesId)
+    {
+        return 1 << speciesId;
+    }
+}
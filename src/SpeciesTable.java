@@ -0,0 +1,675 @@
+import java.awt.Color;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Tabela das espécies da simulação: uma linha de parâmetros por espécie,
+ * guardados em arrays planos indexados pelo identificador da espécie.
+ *
+ * A tabela é lida de um arquivo de propriedades (species.file no config.txt),
+ * com chaves species.&lt;Nome&gt;.&lt;parâmetro&gt;; sem arquivo, vale a tabela
+ * padrão, que reproduz Rabbit, Fox, Lion e Human. Todas as espécies são
+ * executadas pelas mesmas regras genéricas (GenericAnimal e SoaEngine), então
+ * acrescentar uma espécie é acrescentar uma linha, sem código novo.
+ *
+ * Parâmetros de cada espécie (padrão entre parênteses):
+ * - color: cor na visualização, #RRGGBB (cinza)
+ * - maxAge, breedingAge, breedingProbability, maxLitterSize: reprodução e idade
+ * - spawnProbability: probabilidade na população inicial (0); o config.txt
+ *   pode sobrescrevê-la com animal.&lt;nome&gt;.probability
+ * - initialFood: nível de comida inicial e máximo (0 = não come nem sente fome)
+ * - hungerLoss (1), randomInitialFood (false), hungryBelow (0)
+ * - diet: presas em ordem de preferência com o valor de cada uma, Presa:valor,...
+ * - feeding: set (comer define o nível de comida) ou add (soma, até initialFood)
+ * - fleesFrom: espécies das quais foge quando estão a até perceptionRadius células
+ * - perceptionRadius (1): alcance da percepção de predadores; 1 = só os vizinhos,
+ *   maiores usam uma tabela de somas acumuladas (SummedAreaTable) por passo
+ * - refuge: ambiente onde a espécie fica parada e apenas se reproduz
+ * - habitats: ambientes onde pode entrar (* = todos), pelo nome da classe
+ * - birthPlacement: random (vizinho sorteado) ou free (primeiro vizinho livre)
+ * - whenBlocked: stay, stayOrDie ou die, quando não consegue se mover
+ *
+ * species.names define os identificadores (ordem da lista) e species.priority
+ * a ordem de sorteio da população inicial (padrão: a ordem inversa de
+ * species.names).
+ *
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public final class SpeciesTable
+{
+    // Máscaras de espécies usam um bit por espécie em um int
+    public static final int MAX_SPECIES = 32;
+
+    // Regras quando o animal não consegue se mover
+    public static final int BLOCKED_STAY = 0;
+    public static final int BLOCKED_STAY_OR_DIE = 1;
+    public static final int BLOCKED_DIE = 2;
+
+    private static final String PREFIX = "species.";
+    private static final String ALL_HABITATS = "*";
+
+    // Linhas da tabela padrão (as quatro espécies originais)
+    private static final String[] DEFAULT_ROWS = {
+        "species.names=Rabbit,Fox,Lion,Human",
+        "species.priority=Human,Lion,Fox,Rabbit",
+        "",
+        "species.Rabbit.color=#FFC800",
+        "species.Rabbit.maxAge=50",
+        "species.Rabbit.breedingAge=5",
+        "species.Rabbit.breedingProbability=0.30",
+        "species.Rabbit.maxLitterSize=6",
+        "species.Rabbit.spawnProbability=0.08",
+        "species.Rabbit.habitats=Mountain,Burrow,Plains",
+        "species.Rabbit.refuge=Burrow",
+        "species.Rabbit.fleesFrom=Fox,Lion",
+        "species.Rabbit.birthPlacement=random",
+        "species.Rabbit.whenBlocked=stay",
+        "",
+        "species.Fox.color=#0000FF",
+        "species.Fox.maxAge=150",
+        "species.Fox.breedingAge=8",
+        "species.Fox.breedingProbability=0.18",
+        "species.Fox.maxLitterSize=3",
+        "species.Fox.spawnProbability=0.02",
+        "species.Fox.initialFood=20",
+        "species.Fox.randomInitialFood=true",
+        "species.Fox.hungryBelow=6",
+        "species.Fox.diet=Rabbit:12",
+        "species.Fox.feeding=add",
+        "species.Fox.habitats=Mountain,Plains",
+        "species.Fox.birthPlacement=free",
+        "species.Fox.whenBlocked=stayOrDie",
+        "",
+        "species.Lion.color=#FF0000",
+        "species.Lion.maxAge=180",
+        "species.Lion.breedingAge=18",
+        "species.Lion.breedingProbability=0.10",
+        "species.Lion.maxLitterSize=2",
+        "species.Lion.spawnProbability=0.005",
+        "species.Lion.initialFood=60",
+        "species.Lion.randomInitialFood=true",
+        "species.Lion.hungryBelow=15",
+        "species.Lion.diet=Fox:14,Rabbit:6",
+        "species.Lion.feeding=set",
+        "species.Lion.habitats=Savanna,Plains",
+        "species.Lion.birthPlacement=free",
+        "species.Lion.whenBlocked=stayOrDie",
+        "",
+        "species.Human.color=#000000",
+        "species.Human.maxAge=180",
+        "species.Human.breedingAge=20",
+        "species.Human.breedingProbability=0.10",
+        "species.Human.maxLitterSize=3",
+        "species.Human.spawnProbability=0.01",
+        "species.Human.initialFood=120",
+        "species.Human.hungryBelow=60",
+        "species.Human.diet=Lion:28",
+        "species.Human.feeding=set",
+        "species.Human.habitats=Mountain,Savanna,Plains",
+        "species.Human.birthPlacement=random",
+        "species.Human.whenBlocked=die",
+    };
+
+    private static final SpeciesTable DEFAULTS = parse(defaultProperties());
+
+    private final String[] names;
+    private final int[] priority;
+    private final int[] colors;
+    private final int[] maxAge;
+    private final int[] breedingAge;
+    private final double[] breedingProbability;
+    private final int[] maxLitterSize;
+    private final double[] spawnProbability;
+    private final int[] initialFood;
+    private final int[] hungerLoss;
+    private final boolean[] randomInitialFood;
+    private final int[] hungryBelow;
+    private final boolean[] feedingAdds;
+    private final int[] fleeMask;
+    private final int[] perceptionRadius;
+    // Máscaras de predadores distintas das espécies com perceptionRadius > 1
+    private int[] perceptionMasks;
+    private final boolean[] birthRandom;
+    private final int[] whenBlocked;
+    // Dieta em formato compacto: presas de s em dietPrey[dietStart[s] .. dietStart[s + 1])
+    private final int[] dietStart;
+    private int[] dietPrey;
+    private int[] dietFood;
+    // Ambientes (nome da classe) de habitat e de refúgio; habitats null = todos
+    private final Set<String>[] habitats;
+    private final String[] refuge;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private SpeciesTable(int count)
+    {
+        names = new String[count];
+        priority = new int[count];
+        colors = new int[count];
+        maxAge = new int[count];
+        breedingAge = new int[count];
+        breedingProbability = new double[count];
+        maxLitterSize = new int[count];
+        spawnProbability = new double[count];
+        initialFood = new int[count];
+        hungerLoss = new int[count];
+        randomInitialFood = new boolean[count];
+        hungryBelow = new int[count];
+        feedingAdds = new boolean[count];
+        fleeMask = new int[count];
+        perceptionRadius = new int[count];
+        birthRandom = new boolean[count];
+        whenBlocked = new int[count];
+        dietStart = new int[count + 1];
+        habitats = new Set[count];
+        refuge = new String[count];
+    }
+
+    /**
+     * @return tabela padrão, com as quatro espécies originais
+     */
+    public static SpeciesTable defaults()
+    {
+        return DEFAULTS;
+    }
+
+    /**
+     * Lê a tabela de um arquivo. Se o arquivo não existir, ele é criado com a
+     * tabela padrão (como o config.txt), para servir de ponto de partida.
+     * @param file arquivo de propriedades
+     * @return tabela lida
+     * @throws IOException se o arquivo não puder ser lido ou criado
+     * @throws IllegalArgumentException se a tabela for inválida
+     */
+    public static SpeciesTable read(Path file) throws IOException
+    {
+        if(!Files.exists(file)) {
+            writeDefaults(file);
+            System.out.println("Tabela de especies criada com valores padrao: " + file);
+            return DEFAULTS;
+        }
+        Properties properties = new Properties();
+        try(InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        return parse(properties);
+    }
+
+    /**
+     * Lê a tabela de species.file; sem arquivo ou com erro, usa a tabela padrão.
+     * @param file caminho do arquivo, ou texto vazio para a tabela padrão
+     * @return tabela lida
+     */
+    public static SpeciesTable load(String file)
+    {
+        if(file.isEmpty()) {
+            return DEFAULTS;
+        }
+        try {
+            return read(Paths.get(file));
+        } catch(IOException | IllegalArgumentException e) {
+            System.out.println("Erro na tabela de especies " + file + ": " + e.getMessage()
+                               + ". Usando a tabela padrao.");
+            return DEFAULTS;
+        }
+    }
+
+    /**
+     * Grava a tabela padrão, com comentários, no arquivo dado.
+     */
+    public static void writeDefaults(Path file) throws IOException
+    {
+        try(PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            writer.println("# Tabela de especies da Simulacao Predador-Presa");
+            writer.println("# Uma linha de parametros por especie: species.<Nome>.<parametro>");
+            writer.println("# Para uma especie nova, acrescente o nome em species.names e as suas linhas");
+            for(String row : DEFAULT_ROWS) {
+                writer.println(row);
+            }
+        }
+    }
+
+    private static Properties defaultProperties()
+    {
+        Properties properties = new Properties();
+        try {
+            properties.load(new StringReader(String.join("\n", DEFAULT_ROWS)));
+        } catch(IOException e) {
+            throw new IllegalStateException(e); // leitura de texto em memória
+        }
+        return properties;
+    }
+
+    /**
+     * Monta a tabela a partir das propriedades, validando cada linha.
+     */
+    private static SpeciesTable parse(Properties properties)
+    {
+        List<String> names = list(properties.getProperty(PREFIX + "names", ""));
+        if(names.isEmpty()) {
+            throw new IllegalArgumentException("species.names precisa listar ao menos uma especie");
+        }
+        if(names.size() > MAX_SPECIES) {
+            throw new IllegalArgumentException("Especies demais: " + names.size() + " (maximo " + MAX_SPECIES + ")");
+        }
+        if(new HashSet<>(names).size() != names.size()) {
+            throw new IllegalArgumentException("species.names tem nomes repetidos");
+        }
+
+        SpeciesTable table = new SpeciesTable(names.size());
+        for(int s = 0; s < names.size(); s++) {
+            table.names[s] = names.get(s);
+        }
+
+        List<String> order = list(properties.getProperty(PREFIX + "priority", ""));
+        if(order.isEmpty()) {
+            for(int s = names.size() - 1; s >= 0; s--) {
+                order.add(names.get(s));
+            }
+        }
+        if(order.size() != names.size() || !new HashSet<>(order).equals(new HashSet<>(names))) {
+            throw new IllegalArgumentException("species.priority precisa listar cada especie uma vez");
+        }
+        for(int k = 0; k < order.size(); k++) {
+            table.priority[k] = table.idOf(order.get(k));
+        }
+
+        List<Integer> prey = new ArrayList<>();
+        List<Integer> food = new ArrayList<>();
+        for(int s = 0; s < names.size(); s++) {
+            Row row = new Row(properties, names.get(s));
+            table.colors[s] = row.color("color", Color.gray).getRGB();
+            table.maxAge[s] = row.integer("maxAge", 100, 1);
+            table.breedingAge[s] = row.integer("breedingAge", 0, 0);
+            table.breedingProbability[s] = row.probability("breedingProbability", 0.0);
+            table.maxLitterSize[s] = row.integer("maxLitterSize", 1, 1);
+            table.spawnProbability[s] = row.probability("spawnProbability", 0.0);
+            table.initialFood[s] = row.integer("initialFood", 0, 0);
+            table.hungerLoss[s] = row.integer("hungerLoss", 1, 0);
+            table.randomInitialFood[s] = Boolean.parseBoolean(row.text("randomInitialFood", "false"));
+            table.hungryBelow[s] = row.integer("hungryBelow", 0, 0);
+            table.feedingAdds[s] = row.choice("feeding", "set", "set", "add") == 1;
+            table.birthRandom[s] = row.choice("birthPlacement", "free", "free", "random") == 1;
+            table.whenBlocked[s] = row.choice("whenBlocked", "stayOrDie", "stay", "stayOrDie", "die");
+
+            for(String predator : list(row.text("fleesFrom", ""))) {
+                table.fleeMask[s] |= 1 << table.idOf(predator, row.key("fleesFrom"));
+            }
+            if((table.fleeMask[s] & (1 << s)) != 0) {
+                throw new IllegalArgumentException(row.key("fleesFrom") + " nao pode incluir a propria especie");
+            }
+            table.perceptionRadius[s] = row.integer("perceptionRadius", 1, 1);
+            String refuge = row.text("refuge", "");
+            table.refuge[s] = refuge.isEmpty() ? null : refuge;
+            List<String> habitats = list(row.text("habitats", ALL_HABITATS));
+            table.habitats[s] = habitats.contains(ALL_HABITATS) ? null : new HashSet<>(habitats);
+
+            table.dietStart[s] = prey.size();
+            for(String entry : list(row.text("diet", ""))) {
+                int colon = entry.indexOf(':');
+                if(colon < 0) {
+                    throw new IllegalArgumentException(row.key("diet") + ": use Presa:valor (" + entry + ")");
+                }
+                prey.add(table.idOf(entry.substring(0, colon).trim(), row.key("diet")));
+                food.add(Row.parseInt(row.key("diet"), entry.substring(colon + 1).trim(), 1));
+            }
+            if(prey.size() > table.dietStart[s] && table.initialFood[s] == 0) {
+                throw new IllegalArgumentException(row.key("diet") + " exige initialFood maior que zero");
+            }
+        }
+        table.dietStart[names.size()] = prey.size();
+        table.dietPrey = toArray(prey);
+        table.dietFood = toArray(food);
+
+        List<Integer> masks = new ArrayList<>();
+        for(int s = 0; s < names.size(); s++) {
+            int mask = table.fleeMask[s];
+            if(table.perceptionRadius[s] > 1 && mask != 0 && !masks.contains(mask)) {
+                masks.add(mask);
+            }
+        }
+        table.perceptionMasks = toArray(masks);
+        return table;
+    }
+
+    private static int[] toArray(List<Integer> values)
+    {
+        int[] array = new int[values.size()];
+        for(int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * @return itens de uma lista separada por vírgulas, sem espaços e sem vazios
+     */
+    private static List<String> list(String text)
+    {
+        List<String> items = new ArrayList<>();
+        for(String item : text.split(",")) {
+            if(!item.trim().isEmpty()) {
+                items.add(item.trim());
+            }
+        }
+        return items;
+    }
+
+    private int idOf(String name, String key)
+    {
+        int id = idOf(name);
+        if(id < 0) {
+            throw new IllegalArgumentException(key + ": especie desconhecida " + name);
+        }
+        return id;
+    }
+
+    /**
+     * @param name nome da espécie
+     * @return identificador, ou -1 se não houver espécie com esse nome
+     */
+    public int idOf(String name)
+    {
+        for(int s = 0; s < names.length; s++) {
+            if(names[s].equals(name)) {
+                return s;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return número de espécies
+     */
+    public int size()
+    {
+        return names.length;
+    }
+
+    public String getName(int speciesId)
+    {
+        return names[speciesId];
+    }
+
+    /**
+     * @return nome em minúsculas usado nas chaves do config.txt (animal.&lt;nome&gt;.probability)
+     */
+    public String getConfigKey(int speciesId)
+    {
+        return names[speciesId].toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return nomes das espécies, na ordem dos identificadores
+     */
+    public String[] getNames()
+    {
+        return names.clone();
+    }
+
+    /**
+     * @param rank posição na ordem de prioridade (0 = primeira)
+     * @return espécie na posição
+     */
+    public int getPriority(int rank)
+    {
+        return priority[rank];
+    }
+
+    public Color getColor(int speciesId)
+    {
+        return new Color(colors[speciesId]);
+    }
+
+    public int getMaxAge(int speciesId)
+    {
+        return maxAge[speciesId];
+    }
+
+    public int getBreedingAge(int speciesId)
+    {
+        return breedingAge[speciesId];
+    }
+
+    public double getBreedingProbability(int speciesId)
+    {
+        return breedingProbability[speciesId];
+    }
+
+    public int getMaxLitterSize(int speciesId)
+    {
+        return maxLitterSize[speciesId];
+    }
+
+    public double getSpawnProbability(int speciesId)
+    {
+        return spawnProbability[speciesId];
+    }
+
+    /**
+     * @return nível de comida inicial e máximo (0 se a espécie não come)
+     */
+    public int getInitialFood(int speciesId)
+    {
+        return initialFood[speciesId];
+    }
+
+    /**
+     * @return true se a espécie come e perde comida a cada passo
+     */
+    public boolean eats(int speciesId)
+    {
+        return initialFood[speciesId] > 0;
+    }
+
+    public int getHungerLoss(int speciesId)
+    {
+        return hungerLoss[speciesId];
+    }
+
+    /**
+     * @return true se os animais da população inicial sorteiam o nível de comida
+     */
+    public boolean hasRandomInitialFood(int speciesId)
+    {
+        return randomInitialFood[speciesId];
+    }
+
+    public int getHungryBelow(int speciesId)
+    {
+        return hungryBelow[speciesId];
+    }
+
+    /**
+     * @return true se comer soma o valor da presa (até initialFood); false se o define
+     */
+    public boolean isFeedingAdditive(int speciesId)
+    {
+        return feedingAdds[speciesId];
+    }
+
+    /**
+     * @return máscara (um bit por espécie) das espécies das quais a espécie foge
+     */
+    public int getFleeMask(int speciesId)
+    {
+        return fleeMask[speciesId];
+    }
+
+    /**
+     * @return distância máxima (em linhas e colunas) em que a espécie percebe predadores
+     */
+    public int getPerceptionRadius(int speciesId)
+    {
+        return perceptionRadius[speciesId];
+    }
+
+    /**
+     * @return máscaras de predadores (sem repetição) das espécies que percebem além
+     *         dos vizinhos; cada uma precisa de uma SummedAreaTable por passo
+     */
+    public int[] getPerceptionMasks()
+    {
+        return perceptionMasks.clone();
+    }
+
+    /**
+     * @return true se os filhotes vão para um vizinho sorteado; false para o primeiro livre
+     */
+    public boolean isBirthRandom(int speciesId)
+    {
+        return birthRandom[speciesId];
+    }
+
+    /**
+     * @return BLOCKED_STAY, BLOCKED_STAY_OR_DIE ou BLOCKED_DIE
+     */
+    public int getWhenBlocked(int speciesId)
+    {
+        return whenBlocked[speciesId];
+    }
+
+    /**
+     * @return número de presas da espécie
+     */
+    public int getDietSize(int speciesId)
+    {
+        return dietStart[speciesId + 1] - dietStart[speciesId];
+    }
+
+    /**
+     * @param k posição da presa na ordem de preferência
+     * @return espécie da presa
+     */
+    public int getPrey(int speciesId, int k)
+    {
+        return dietPrey[dietStart[speciesId] + k];
+    }
+
+    /**
+     * @param k posição da presa na ordem de preferência
+     * @return valor de comida da presa
+     */
+    public int getFoodValue(int speciesId, int k)
+    {
+        return dietFood[dietStart[speciesId] + k];
+    }
+
+    /**
+     * Regra de habitat, compilada pelo TerrainLayer na matriz de permissões.
+     * @return true se a espécie pode entrar no ambiente
+     */
+    public boolean canEnter(int speciesId, Environment environment)
+    {
+        Set<String> allowed = habitats[speciesId];
+        return allowed == null || allowed.contains(environment.getClass().getSimpleName());
+    }
+
+    /**
+     * Regra de refúgio, compilada pelo TerrainLayer.
+     * @return true se o ambiente é o refúgio da espécie
+     */
+    public boolean isRefuge(int speciesId, Environment environment)
+    {
+        return refuge[speciesId] != null && refuge[speciesId].equals(environment.getClass().getSimpleName());
+    }
+
+    /**
+     * Acesso às chaves de uma linha (species.&lt;Nome&gt;.*), com valores padrão e validação.
+     */
+    private static final class Row
+    {
+        private final Properties properties;
+        private final String prefix;
+
+        Row(Properties properties, String name)
+        {
+            this.properties = properties;
+            this.prefix = PREFIX + name + ".";
+        }
+
+        String key(String parameter)
+        {
+            return prefix + parameter;
+        }
+
+        String text(String parameter, String fallback)
+        {
+            return properties.getProperty(key(parameter), fallback).trim();
+        }
+
+        int integer(String parameter, int fallback, int min)
+        {
+            return parseInt(key(parameter), text(parameter, String.valueOf(fallback)), min);
+        }
+
+        static int parseInt(String key, String value, int min)
+        {
+            int parsed;
+            try {
+                parsed = Integer.parseInt(value);
+            } catch(NumberFormatException e) {
+                throw new IllegalArgumentException(key + ": numero invalido " + value);
+            }
+            if(parsed < min) {
+                throw new IllegalArgumentException(key + ": minimo " + min + " (" + value + ")");
+            }
+            return parsed;
+        }
+
+        double probability(String parameter, double fallback)
+        {
+            String value = text(parameter, String.valueOf(fallback));
+            double parsed;
+            try {
+                parsed = Double.parseDouble(value);
+            } catch(NumberFormatException e) {
+                throw new IllegalArgumentException(key(parameter) + ": numero invalido " + value);
+            }
+            if(parsed < 0.0 || parsed > 1.0) {
+                throw new IllegalArgumentException(key(parameter) + ": use 0.0 a 1.0 (" + value + ")");
+            }
+            return parsed;
+        }
+
+        Color color(String parameter, Color fallback)
+        {
+            String value = text(parameter, "");
+            if(value.isEmpty()) {
+                return fallback;
+            }
+            try {
+                return Color.decode(value);
+            } catch(NumberFormatException e) {
+                throw new IllegalArgumentException(key(parameter) + ": cor invalida " + value);
+            }
+        }
+
+        /**
+         * @return índice da opção escolhida
+         */
+        int choice(String parameter, String fallback, String... options)
+        {
+            String value = text(parameter, fallback);
+            for(int i = 0; i < options.length; i++) {
+                if(options[i].equalsIgnoreCase(value)) {
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException(key(parameter) + ": use " + String.join(", ", options)
+                                               + " (" + value + ")");
+        }
+    }
+}
@@ -0,0 +1,26 @@
+/**
+ * Interface para o motor que executa um passo da simulação.
+ * Separa a estratégia de execução (sequencial, paralela) do Simulador.
+ * 
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public interface StepEngine {
+    
+    /**
+     * Executa um passo: cada animal vivo age lendo currentField e escrevendo em updatedField.
+     * Ao final, a lista contém apenas os animais vivos e os recém-nascidos do passo.
+     * @param currentField campo atual (somente leitura)
+     * @param updatedField campo que será preenchido neste passo
+     * @param animals animais da simulação
+     * @param context contexto que posiciona os números aleatórios de cada ação
+     */
+    void step(Campo currentField, Campo updatedField, Population animals, SimulationContext context);
+
+    /**
+     * Libera os recursos do motor (por exemplo, as threads do motor paralelo).
+     * O motor não é usado depois disso.
+     */
+    default void shutdown() {
+    }
+}
@@ -0,0 +1,325 @@
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Camada de terreno imutável do campo.
+ *
+ * Guarda um byte por célula com o código do ambiente e uma paleta com uma
+ * única instância (flyweight) de cada tipo de Environment. A mesma camada é
+ * compartilhada pelos dois buffers do Campo, então ambos sempre concordam
+ * sobre o terreno e a memória de terreno não é duplicada.
+ *
+ * As regras de Environment.canEnter são compiladas uma única vez em uma matriz
+ * espécie x terreno (uma máscara de bits de espécies por tipo de ambiente), e
+ * canEnter(cell, speciesId) responde com acessos a array, sem reflexão. Os
+ * refúgios das espécies (Environment.isRefuge) são compilados da mesma forma.
+ *
+ * Há duas representações: densa (build), com um byte[] para o campo inteiro
+ * calculado de uma vez, e em blocos (lazy), em que cada bloco só é derivado do
+ * EnvironmentManager na primeira consulta, para campos muito grandes e quase
+ * vazios. No modo em blocos cada bloco usa o seu próprio stream aleatório,
+ * derivado da chave posicionada pelo Simulador, então o terreno não depende da
+ * ordem em que os blocos são consultados.
+ *
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public abstract class TerrainLayer
+{
+    // Número máximo de tipos de ambiente representáveis em um byte
+    private static final int MAX_KINDS = 256;
+
+    private final int depth, width;
+    private final Environment[] palette = new Environment[MAX_KINDS];
+    // Bit s de speciesMask[code] ligado se a espécie s pode entrar no ambiente code
+    private final int[] speciesMask = new int[MAX_KINDS];
+    // Bit s de refugeMask[code] ligado se o ambiente code é o refúgio da espécie s
+    private final int[] refugeMask = new int[MAX_KINDS];
+    private volatile int kindCount;
+
+    private TerrainLayer(int depth, int width)
+    {
+        this.depth = depth;
+        this.width = width;
+    }
+
+    /**
+     * Constrói a camada densa consultando o gerenciador de ambientes célula a célula.
+     * Ambientes da mesma classe são representados pela primeira instância encontrada.
+     *
+     * @param depth número de linhas
+     * @param width número de colunas
+     * @param manager gerenciador que define o ambiente de cada posição
+     * @return camada de terreno
+     */
+    public static TerrainLayer build(int depth, int width, EnvironmentManager manager)
+    {
+        Dense layer = new Dense(depth, width);
+        Environment last = null;
+        int lastCode = 0;
+        for(int row = 0; row < depth; row++) {
+            for(int col = 0; col < width; col++) {
+                Environment env = manager.getEnvironmentForPosition(row, col, depth, width);
+                if(env != last) {
+                    last = env;
+                    lastCode = layer.codeOf(env);
+                }
+                layer.cells[row * width + col] = (byte) lastCode;
+            }
+        }
+        return layer;
+    }
+
+    /**
+     * Recria uma camada densa a partir dos códigos e da paleta (fotografias salvas).
+     *
+     * @param depth número de linhas
+     * @param width número de colunas
+     * @param palette ambientes, na ordem dos códigos
+     * @param codes um código por célula (row * largura + col)
+     * @return camada de terreno
+     */
+    public static TerrainLayer fromCodes(int depth, int width, Environment[] palette, byte[] codes)
+    {
+        if(codes.length != depth * width) {
+            throw new IllegalArgumentException("Numero de codigos diferente do numero de celulas");
+        }
+        Dense layer = new Dense(depth, width);
+        for(Environment env : palette) {
+            layer.codeOf(env);
+        }
+        if(layer.getKindCount() != palette.length) {
+            throw new IllegalArgumentException("Paleta com tipos de ambiente repetidos");
+        }
+        for(int cell = 0; cell < codes.length; cell++) {
+            if((codes[cell] & 0xFF) >= palette.length) {
+                throw new IllegalArgumentException("Codigo de terreno invalido na celula " + cell);
+            }
+        }
+        System.arraycopy(codes, 0, layer.cells, 0, codes.length);
+        return layer;
+    }
+
+    /**
+     * Cria a camada em blocos, derivada sob demanda. Deve ser chamada com o
+     * stream da thread posicionado para o terreno (SimulationContext.DOMAIN_TERRAIN).
+     *
+     * @param depth número de linhas
+     * @param width número de colunas
+     * @param manager gerenciador que define o ambiente de cada posição
+     * @param chunkSize lado de cada bloco em células
+     * @return camada de terreno
+     */
+    public static TerrainLayer lazy(int depth, int width, EnvironmentManager manager, int chunkSize)
+    {
+        return new Chunked(depth, width, manager, chunkSize, SimulationContext.currentKey());
+    }
+
+    /**
+     * Retorna o código do ambiente na paleta, acrescentando-o se for um tipo novo.
+     */
+    protected synchronized int codeOf(Environment env)
+    {
+        int kinds = kindCount;
+        for(int code = 0; code < kinds; code++) {
+            if(palette[code].getClass() == env.getClass()) {
+                return code;
+            }
+        }
+        if(kinds == MAX_KINDS) {
+            throw new IllegalStateException("Tipos de ambiente demais: " + MAX_KINDS);
+        }
+        palette[kinds] = env;
+        for(int s = 0; s < Species.count(); s++) {
+            if(env.canEnter(s)) {
+                speciesMask[kinds] |= Species.bit(s);
+            }
+            if(env.isRefuge(s)) {
+                refugeMask[kinds] |= Species.bit(s);
+            }
+        }
+        kindCount = kinds + 1; // publica o novo tipo depois de preenchê-lo
+        return kinds;
+    }
+
+    /**
+     * @return código do ambiente na paleta para a célula (row, col)
+     */
+    public abstract int codeAt(int row, int col);
+
+    /**
+     * @param cell índice da célula (row * largura + col)
+     * @return código do ambiente na paleta
+     */
+    public int codeAt(int cell)
+    {
+        return codeAt(cell / width, cell % width);
+    }
+
+    /**
+     * @return ambiente da célula
+     */
+    public Environment getEnvironment(int row, int col)
+    {
+        return palette[codeAt(row, col)];
+    }
+
+    /**
+     * Consulta a matriz de permissões.
+     * @param cell índice da célula (row * largura + col)
+     * @param speciesId identificador da espécie
+     * @return true se a espécie pode entrar na célula
+     */
+    public boolean canEnter(int cell, int speciesId)
+    {
+        return (speciesMask[codeAt(cell)] & (1 << speciesId)) != 0;
+    }
+
+    /**
+     * Consulta a matriz de permissões pela coordenada.
+     * @param speciesId identificador da espécie
+     * @return true se a espécie pode entrar na célula
+     */
+    public boolean canEnter(int row, int col, int speciesId)
+    {
+        return (speciesMask[codeAt(row, col)] & (1 << speciesId)) != 0;
+    }
+
+    /**
+     * @param cell índice da célula (row * largura + col)
+     * @param speciesId identificador da espécie
+     * @return true se a célula é refúgio da espécie
+     */
+    public boolean isRefuge(int cell, int speciesId)
+    {
+        return (refugeMask[codeAt(cell)] & (1 << speciesId)) != 0;
+    }
+
+    /**
+     * @param speciesId identificador da espécie
+     * @return true se a célula (row, col) é refúgio da espécie
+     */
+    public boolean isRefuge(int row, int col, int speciesId)
+    {
+        return (refugeMask[codeAt(row, col)] & (1 << speciesId)) != 0;
+    }
+
+    /**
+     * @param code código do ambiente
+     * @return máscara das espécies que podem entrar no ambiente
+     */
+    public int speciesMaskForCode(int code)
+    {
+        return speciesMask[code];
+    }
+
+    /**
+     * @param code código do ambiente
+     * @return instância compartilhada do ambiente
+     */
+    public Environment environmentForCode(int code)
+    {
+        return palette[code];
+    }
+
+    /**
+     * @return número de tipos de ambiente na paleta (no modo em blocos, os já encontrados)
+     */
+    public int getKindCount()
+    {
+        return kindCount;
+    }
+
+    public int getDepth()
+    {
+        return depth;
+    }
+
+    public int getWidth()
+    {
+        return width;
+    }
+
+    /**
+     * Terreno denso: um byte por célula, calculado na construção.
+     */
+    private static final class Dense extends TerrainLayer
+    {
+        private final byte[] cells;
+        private final int width;
+
+        Dense(int depth, int width)
+        {
+            super(depth, width);
+            this.width = width;
+            cells = new byte[depth * width];
+        }
+
+        @Override
+        public int codeAt(int row, int col)
+        {
+            return cells[row * width + col] & 0xFF;
+        }
+
+        @Override
+        public int codeAt(int cell)
+        {
+            return cells[cell] & 0xFF;
+        }
+    }
+
+    /**
+     * Terreno em blocos quadrados, cada um derivado na primeira consulta.
+     */
+    private static final class Chunked extends TerrainLayer
+    {
+        private final EnvironmentManager manager;
+        private final int chunkSize;
+        private final int chunksAcross;
+        private final long terrainKey;
+        private final AtomicReferenceArray<byte[]> chunks;
+
+        Chunked(int depth, int width, EnvironmentManager manager, int chunkSize, long terrainKey)
+        {
+            super(depth, width);
+            this.manager = manager;
+            this.chunkSize = chunkSize;
+            this.terrainKey = terrainKey;
+            chunksAcross = (width + chunkSize - 1) / chunkSize;
+            int chunksDown = (depth + chunkSize - 1) / chunkSize;
+            chunks = new AtomicReferenceArray<>(chunksDown * chunksAcross);
+        }
+
+        @Override
+        public int codeAt(int row, int col)
+        {
+            int chunk = (row / chunkSize) * chunksAcross + col / chunkSize;
+            byte[] cells = chunks.get(chunk);
+            if(cells == null) {
+                cells = derive(chunk);
+            }
+            return cells[(row % chunkSize) * chunkSize + col % chunkSize] & 0xFF;
+        }
+
+        /**
+         * Calcula o terreno do bloco com o seu próprio stream e o publica.
+         * Se duas threads derivarem o mesmo bloco, o resultado é idêntico e só um é guardado.
+         */
+        private byte[] derive(int chunk)
+        {
+            int firstRow = (chunk / chunksAcross) * chunkSize;
+            int firstCol = (chunk % chunksAcross) * chunkSize;
+            int depth = getDepth(), width = getWidth();
+            byte[] cells = new byte[chunkSize * chunkSize];
+            SimulationContext.runWithChildStream(terrainKey, chunk, () -> {
+                for(int r = 0; r < chunkSize && firstRow + r < depth; r++) {
+                    for(int c = 0; c < chunkSize && firstCol + c < width; c++) {
+                        Environment env = manager.getEnvironmentForPosition(firstRow + r, firstCol + c,
+                                                                            depth, width);
+                        cells[r * chunkSize + c] = (byte) codeOf(env);
+                    }
+                }
+            });
+            return chunks.compareAndSet(chunk, null, cells) ? cells : chunks.get(chunk);
+        }
+    }
+}
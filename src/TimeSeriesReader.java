@@ -0,0 +1,247 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Leitor da série temporal gravada por TimeSeriesWriter.
+ *
+ * O arquivo é mapeado em memória (em segmentos de blocos inteiros, para
+ * arquivos maiores que 2 GB) e cada valor é lido direto da sua coluna, sem
+ * carregar a série inteira no heap nem interpretar texto. Como os blocos têm
+ * tamanho fixo, a posição de qualquer passo é calculada em O(1).
+ *
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public class TimeSeriesReader implements AutoCloseable
+{
+    // Tamanho máximo de cada segmento mapeado
+    private static final long SEGMENT_BYTES = 1L << 30;
+
+    private final FileChannel channel;
+    private final String[] speciesNames;
+    private final boolean details;
+    private final int blockSteps;
+    private final long blockBytes;
+    private final int blocksPerSegment;
+    private final MappedByteBuffer[] segments;
+    private final long size;
+
+    /**
+     * Abre e mapeia o arquivo da série.
+     * @param path arquivo gravado por TimeSeriesWriter
+     * @throws IOException se o arquivo não existir ou não for uma série temporal
+     */
+    public TimeSeriesReader(Path path) throws IOException
+    {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = readFully(0, 20, path);
+            if(header.getInt() != TimeSeriesWriter.MAGIC) {
+                throw new IOException("Arquivo nao e uma serie temporal da simulacao: " + path);
+            }
+            int version = header.getInt();
+            if(version != TimeSeriesWriter.VERSION) {
+                throw new IOException("Versao de serie temporal nao suportada: " + version);
+            }
+            details = (header.getInt() & TimeSeriesWriter.FLAG_DETAILS) != 0;
+            int species = header.getInt();
+            blockSteps = header.getInt();
+            if(species <= 0 || blockSteps <= 0) {
+                throw new IOException("Cabecalho de serie temporal invalido: " + path);
+            }
+            long position = 20;
+            speciesNames = new String[species];
+            for(int s = 0; s < species; s++) {
+                int length = readFully(position, 4, path).getInt();
+                byte[] name = new byte[length];
+                readFully(position + 4, length, path).get(name);
+                speciesNames[s] = new String(name, StandardCharsets.UTF_8);
+                position += 4 + length;
+            }
+
+            blockBytes = TimeSeriesWriter.blockBytes(species, details, blockSteps);
+            // Blocos completos; um bloco truncado no fim (queda durante a gravação) é ignorado
+            long blocks = (channel.size() - position) / blockBytes;
+            blocksPerSegment = (int) Math.max(1, SEGMENT_BYTES / blockBytes);
+            segments = new MappedByteBuffer[(int) ((blocks + blocksPerSegment - 1) / blocksPerSegment)];
+            for(int i = 0; i < segments.length; i++) {
+                long first = (long) i * blocksPerSegment;
+                long count = Math.min(blocksPerSegment, blocks - first);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position + first * blockBytes,
+                                          count * blockBytes);
+            }
+            size = blocks == 0 ? 0 : (blocks - 1) * blockSteps + blockSize(blocks - 1);
+        } catch(IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private ByteBuffer readFully(long position, int length, Path path) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while(buffer.hasRemaining()) {
+            if(channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Serie temporal truncada: " + path);
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * @return número de passos válidos no bloco
+     */
+    private int blockSize(long block)
+    {
+        return segments[(int) (block / blocksPerSegment)].getInt(offsetInSegment(block));
+    }
+
+    private int offsetInSegment(long block)
+    {
+        return (int) ((block % blocksPerSegment) * blockBytes);
+    }
+
+    /**
+     * Lê o valor da coluna 'column' do passo de índice 'index'.
+     */
+    private int rawAt(long index, int column)
+    {
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Indice " + index + " fora de 0.." + (size - 1));
+        }
+        long block = index / blockSteps;
+        int row = (int) (index % blockSteps);
+        int offset = offsetInSegment(block) + 4 + 4 * (column * blockSteps + row);
+        return segments[(int) (block / blocksPerSegment)].getInt(offset);
+    }
+
+    /**
+     * @return número de passos gravados
+     */
+    public long size()
+    {
+        return size;
+    }
+
+    /**
+     * @param index posição na série, de 0 a size() - 1
+     * @return número do passo
+     */
+    public int getStep(long index)
+    {
+        return rawAt(index, 0);
+    }
+
+    /**
+     * @param index posição na série
+     * @param species índice da espécie (ordem de getSpeciesNames)
+     * @return população da espécie no passo
+     */
+    public int getCount(long index, int species)
+    {
+        return rawAt(index, 1 + species);
+    }
+
+    /**
+     * @param index posição na série
+     * @param species índice da espécie
+     * @return idade média da espécie no passo
+     */
+    public float getMeanAge(long index, int species)
+    {
+        requireDetails();
+        return Float.intBitsToFloat(rawAt(index, 1 + speciesNames.length + species));
+    }
+
+    /**
+     * @param index posição na série
+     * @param species índice da espécie
+     * @return nível de comida médio da espécie no passo
+     */
+    public float getMeanFood(long index, int species)
+    {
+        requireDetails();
+        return Float.intBitsToFloat(rawAt(index, 1 + 2 * speciesNames.length + species));
+    }
+
+    private void requireDetails()
+    {
+        if(!details) {
+            throw new IllegalStateException("Serie gravada sem medias (timeseries.details=false)");
+        }
+    }
+
+    /**
+     * @return true se a série tem idade média e comida média
+     */
+    public boolean hasDetails()
+    {
+        return details;
+    }
+
+    /**
+     * @return nomes das espécies, na ordem das colunas
+     */
+    public String[] getSpeciesNames()
+    {
+        return speciesNames.clone();
+    }
+
+    /**
+     * Exporta a série para CSV, uma linha por passo.
+     * @param csv arquivo de destino
+     * @throws IOException se a escrita falhar
+     */
+    public void exportCsv(Path csv) throws IOException
+    {
+        int species = speciesNames.length;
+        try(BufferedWriter out = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            StringBuilder line = new StringBuilder("step");
+            for(String name : speciesNames) {
+                line.append(',').append(name);
+            }
+            if(details) {
+                for(String name : speciesNames) {
+                    line.append(',').append(name).append("_meanAge");
+                }
+                for(String name : speciesNames) {
+                    line.append(',').append(name).append("_meanFood");
+                }
+            }
+            out.write(line.toString());
+            out.newLine();
+
+            for(long i = 0; i < size; i++) {
+                line.setLength(0);
+                line.append(getStep(i));
+                for(int s = 0; s < species; s++) {
+                    line.append(',').append(getCount(i, s));
+                }
+                if(details) {
+                    for(int s = 0; s < species; s++) {
+                        line.append(',').append(getMeanAge(i, s));
+                    }
+                    for(int s = 0; s < species; s++) {
+                        line.append(',').append(getMeanFood(i, s));
+                    }
+                }
+                out.write(line.toString());
+                out.newLine();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        channel.close();
+    }
+}
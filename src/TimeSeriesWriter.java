@@ -0,0 +1,248 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gravador da série temporal da simulação: uma linha por passo com a população
+ * de cada espécie e, opcionalmente, a idade média e o nível de comida médio.
+ *
+ * Os valores são acumulados em colunas primitivas de um bloco de blockSteps
+ * passos. Quando o bloco enche ele é gravado por uma thread de fundo enquanto o
+ * próximo bloco é preenchido; só existem dois blocos, então a memória é limitada
+ * independentemente do número de passos (se o disco atrasar, record espera).
+ *
+ * Formato (big-endian), lido por TimeSeriesReader:
+ * cabeçalho MAGIC, VERSION, flags (bit 0: médias), número de espécies,
+ * blockSteps e os nomes das espécies; depois blocos de tamanho fixo, cada um com
+ * o número de passos válidos e as colunas: passo, população de cada espécie e,
+ * com médias, idade média e comida média de cada espécie (float). O último bloco
+ * pode estar incompleto; um bloco truncado por uma queda é ignorado na leitura.
+ *
+ * @author Código melhorado com POO
+ * @version 2025
+ */
+public class TimeSeriesWriter implements AutoCloseable
+{
+    static final int MAGIC = 0x50505453; // "PPTS"
+    static final int VERSION = 1;
+    static final int FLAG_DETAILS = 1;
+    // Passos por bloco padrão (cerca de 200 KB por bloco com 4 espécies e médias)
+    public static final int DEFAULT_BLOCK_STEPS = 4096;
+
+    private final FileChannel channel;
+    private final int species;
+    private final boolean details;
+    private final int blockSteps;
+    private final ExecutorService writer;
+    // Blocos livres para preenchimento (dois no total)
+    private final BlockingQueue<Block> freeBlocks = new ArrayBlockingQueue<>(2);
+    private Block filling;
+    private volatile IOException failure;
+    private boolean closed;
+
+    /**
+     * Cria (ou substitui) o arquivo da série temporal.
+     *
+     * @param path arquivo de destino
+     * @param speciesNames nome de cada espécie, na ordem das colunas
+     * @param details true para gravar também idade média e comida média
+     * @param blockSteps passos por bloco
+     * @throws IOException se o arquivo não puder ser criado
+     */
+    public TimeSeriesWriter(Path path, String[] speciesNames, boolean details, int blockSteps) throws IOException
+    {
+        if(blockSteps <= 0) {
+            throw new IllegalArgumentException("Passos por bloco devem ser maiores que zero");
+        }
+        this.species = speciesNames.length;
+        this.details = details;
+        this.blockSteps = blockSteps;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                                   StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        writeHeader(speciesNames);
+        freeBlocks.add(new Block());
+        filling = new Block();
+        writer = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "serie-temporal");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private void writeHeader(String[] speciesNames) throws IOException
+    {
+        byte[][] names = new byte[species][];
+        int size = 20;
+        for(int s = 0; s < species; s++) {
+            names[s] = speciesNames[s].getBytes(StandardCharsets.UTF_8);
+            size += 4 + names[s].length;
+        }
+        ByteBuffer header = ByteBuffer.allocate(size);
+        header.putInt(MAGIC).putInt(VERSION).putInt(details ? FLAG_DETAILS : 0)
+              .putInt(species).putInt(blockSteps);
+        for(byte[] name : names) {
+            header.putInt(name.length).put(name);
+        }
+        header.flip();
+        while(header.hasRemaining()) {
+            channel.write(header);
+        }
+    }
+
+    /**
+     * Tamanho em bytes de um bloco no arquivo.
+     */
+    static long blockBytes(int species, boolean details, int blockSteps)
+    {
+        int columns = 1 + species + (details ? 2 * species : 0);
+        return 4 + 4L * columns * blockSteps;
+    }
+
+    /**
+     * Acrescenta um passo à série. Chamado pela thread da simulação.
+     *
+     * @param step número do passo
+     * @param counts população de cada espécie
+     * @param meanAge idade média de cada espécie (ignorado sem médias; pode ser null)
+     * @param meanFood nível de comida médio de cada espécie (ignorado sem médias; pode ser null)
+     */
+    public void record(int step, int[] counts, double[] meanAge, double[] meanFood)
+    {
+        if(closed || failure != null) {
+            return;
+        }
+        Block block = filling;
+        int i = block.size++;
+        block.step[i] = step;
+        for(int s = 0; s < species; s++) {
+            block.counts[s][i] = counts[s];
+        }
+        if(details) {
+            for(int s = 0; s < species; s++) {
+                block.meanAge[s][i] = (float) meanAge[s];
+                block.meanFood[s][i] = (float) meanFood[s];
+            }
+        }
+        if(block.size == blockSteps) {
+            submit(block);
+        }
+    }
+
+    /**
+     * Entrega o bloco à thread de fundo e passa a preencher o bloco livre.
+     */
+    private void submit(Block block)
+    {
+        writer.execute(() -> {
+            try {
+                if(failure == null) {
+                    block.writeTo(channel);
+                }
+            } catch(IOException e) {
+                failure = e;
+                System.out.println("Erro ao gravar serie temporal: " + e.getMessage());
+            } finally {
+                block.size = 0;
+                freeBlocks.add(block);
+            }
+        });
+        try {
+            filling = freeBlocks.take(); // espera apenas se o disco está um bloco atrasado
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            closed = true;
+        }
+    }
+
+    /**
+     * Grava o bloco parcial, espera a thread de fundo e fecha o arquivo.
+     * @throws IOException se alguma gravação falhou
+     */
+    @Override
+    public void close() throws IOException
+    {
+        if(closed) {
+            return;
+        }
+        if(filling != null && filling.size > 0) {
+            submit(filling);
+        }
+        closed = true;
+        writer.shutdown();
+        try {
+            writer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if(failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * @return true se a série grava idade média e comida média
+     */
+    public boolean hasDetails()
+    {
+        return details;
+    }
+
+    /**
+     * Colunas de um bloco e o buffer usado para gravá-lo.
+     */
+    private final class Block
+    {
+        int size;
+        final int[] step = new int[blockSteps];
+        final int[][] counts = new int[species][blockSteps];
+        final float[][] meanAge = details ? new float[species][blockSteps] : null;
+        final float[][] meanFood = details ? new float[species][blockSteps] : null;
+        final ByteBuffer buffer = ByteBuffer.allocateDirect((int) blockBytes(species, details, blockSteps));
+
+        /**
+         * Grava o bloco inteiro (tamanho fixo); posições além de size não têm significado.
+         */
+        void writeTo(FileChannel channel) throws IOException
+        {
+            buffer.clear();
+            buffer.putInt(size);
+            putColumn(step);
+            for(int s = 0; s < species; s++) {
+                putColumn(counts[s]);
+            }
+            if(details) {
+                for(int s = 0; s < species; s++) {
+                    putColumn(meanAge[s]);
+                }
+                for(int s = 0; s < species; s++) {
+                    putColumn(meanFood[s]);
+                }
+            }
+            buffer.flip();
+            while(buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        private void putColumn(int[] column)
+        {
+            buffer.asIntBuffer().put(column, 0, size);
+            buffer.position(buffer.position() + 4 * blockSteps);
+        }
+
+        private void putColumn(float[] column)
+        {
+            buffer.asFloatBuffer().put(column, 0, size);
+            buffer.position(buffer.position() + 4 * blockSteps);
+        }
+    }
+}
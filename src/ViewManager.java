@@ -10,7 +10,7 @@ import java.awt.Color;
 public interface ViewManager {
     
     /**
-     * Configura as cores para diferentes tipos de animais
+     * Configura as cores das espécies
      */
     void setupColors();
     
@@ -29,9 +29,16 @@ public interface ViewManager {
     boolean isViable(Campo field);
     
     /**
-     * Define a cor para um tipo específico de animal
-     * @param animalClass classe do animal
+     * Indica se a visualização desenha o campo.
+     * Quando false, o simulador pode evitar preparar o campo a cada passo.
+     * @return true se o campo é desenhado
+     */
+    boolean isDisplaying();
+    
+    /**
+     * Define a cor de uma espécie
+     * @param speciesId identificador da espécie (ver Species)
      * @param color cor a ser usada
      */
-    void setAnimalColor(Class<?> animalClass, Color color);
+    void setSpeciesColor(int speciesId, Color color);
 }
\ No newline at end of file
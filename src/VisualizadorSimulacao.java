@@ -1,33 +1,49 @@
 import java.awt.*;
-import java.awt.event.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import javax.swing.*;
-import java.util.HashMap;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Visualizador gráfico da simulação
+ *
+ * O campo é desenhado em um BufferedImage com um pixel por célula, escrito
+ * diretamente no int[] do raster e ampliado com um único drawImage. Os pixels
+ * são compostos por um FieldRenderer (terreno pré-renderizado e, por cima,
+ * apenas as células com animais).
+ *
+ * showStatus pode ser chamado pela thread da simulação: o quadro é composto nessa
+ * thread em um Frame imutável e entregue à thread do Swing (EDT) por um
+ * AtomicReference. Se a pintura ficar para trás, quadros intermediários são
+ * descartados e apenas o mais recente é desenhado.
+ *
+ * showFrame desenha um quadro de uma execução gravada (RunReplay), com um byte
+ * por célula, pelo mesmo caminho: a reprodução não precisa de um Campo.
  */
 public class VisualizadorSimulacao extends JFrame
 {
-    // Colors used for empty locations.
-    private static final Color EMPTY_COLOR = Color.white;
-
-    // Color used for objects that have no defined color.
-    private static final Color UNKNOWN_COLOR = Color.gray;
-
     private final String STEP_PREFIX = "Step: ";
     private final String POPULATION_PREFIX = "Population: ";
     private JLabel stepLabel, population;
     private FieldView fieldView;
 
-    // A map for storing colors for participants in the simulation
-    private HashMap colors;
+    // Composição dos pixels (terreno em cache e animais)
+    private final FieldRenderer renderer = new FieldRenderer();
     // A statistics object computing and storing simulation information
     private EstatisticasCampo stats;
 
+    // Quadro mais recente ainda não pintado, e se já há uma pintura agendada no EDT
+    private final AtomicReference<Frame> pendingFrame = new AtomicReference<>();
+    private final AtomicBoolean paintScheduled = new AtomicBoolean();
+    // Buffers de pixels livres para reaproveitamento
+    private final Queue<int[]> freeBuffers = new ConcurrentLinkedQueue<>();
+
     public VisualizadorSimulacao(int height, int width)
     {
         stats = new EstatisticasCampo();
-        colors = new HashMap();
         setTitle("Simulacao Predador-Presa");
         stepLabel = new JLabel(STEP_PREFIX, JLabel.CENTER);
         population = new JLabel(POPULATION_PREFIX, JLabel.CENTER);
@@ -42,75 +58,94 @@ public class VisualizadorSimulacao extends JFrame
     }
 
     /**
-     * Define a color to be used for a given class of animal.
+     * Define a color to be used for a given species.
+     * @param speciesId identificador da espécie (ver Species)
+     */
+    public void setColor(int speciesId, Color color)
+    {
+        renderer.setColor(speciesId, color);
+    }
+
+    /**
+     * Show the current status of the field.
+     * Pode ser chamado fora do EDT: compõe o quadro e agenda a pintura.
+     * @param step Which iteration step it is.
+     * @param field Status of the field to be represented.
      */
-    public void setColor(Class animalClass, Color color)
+    public void showStatus(int step, Campo field)
     {
-        colors.put(animalClass, color);
+        stats.reset();
+        String details = POPULATION_PREFIX + stats.getPopulationDetails(field);
+        publish(new Frame(step, composePixels(field), details));
     }
 
     /**
-     * Define a color to be used for a given class of animal.
+     * Entrega o quadro ao EDT, descartando o anterior se ainda não foi pintado.
      */
-    private Color getColor(Class animalClass)
+    private void publish(Frame frame)
     {
-        Color col = (Color)colors.get(animalClass);
-        if(col == null) {
-            // no color defined for this class
-            return UNKNOWN_COLOR;
+        Frame dropped = pendingFrame.getAndSet(frame);
+        if(dropped != null) {
+            freeBuffers.offer(dropped.pixels); // pintura atrasada: descarta o quadro anterior
         }
-        else {
-            return col;
+        if(paintScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::paintPendingFrame);
         }
     }
 
-    private Color getEnvironmentColor(Environment env) {
-        if (env == null) return EMPTY_COLOR;
-        String envName = env.getClass().getSimpleName();
-        switch (envName) {
-            case "Mountain": return Color.DARK_GRAY;
-            case "Savanna": return new Color(240, 230, 140);
-            case "Burrow": return new Color(139, 69, 19);
-            case "Plains": return new Color(144, 238, 144);
-            default: return EMPTY_COLOR;
-        }
+    /**
+     * Mostra um quadro de uma execução gravada.
+     * @param step passo gravado no quadro
+     * @param cellCodes um byte por célula: 0 = vazia, 1 + espécie do ocupante
+     * @param terrain terreno da gravação
+     * @param populationDetails texto da população no passo
+     */
+    public void showFrame(int step, byte[] cellCodes, TerrainLayer terrain, String populationDetails)
+    {
+        int[] pixels = obtainPixels(cellCodes.length);
+        renderer.render(cellCodes, terrain, pixels);
+        publish(new Frame(step, pixels, POPULATION_PREFIX + populationDetails));
     }
 
     /**
-     * Show the current status of the field.
-     * @param step Which iteration step it is.
-     * @param field Status of the field to be represented.
+     * Compõe os pixels do quadro em um buffer reaproveitado.
      */
-    public void showStatus(int step, Campo field)
+    private int[] composePixels(Campo field)
     {
-        if(!isVisible())
-            setVisible(true);
+        int[] pixels = obtainPixels(field.getWidth() * field.getDepth());
+        renderer.render(field, pixels);
+        return pixels;
+    }
 
-        stepLabel.setText(STEP_PREFIX + step);
+    /**
+     * @return buffer de pixels livre com o tamanho pedido (ou um novo)
+     */
+    private int[] obtainPixels(int cells)
+    {
+        int[] pixels = freeBuffers.poll();
+        if(pixels == null || pixels.length != cells) {
+            pixels = new int[cells];
+        }
+        return pixels;
+    }
 
-        stats.reset();
-        fieldView.preparePaint();
-
-        for(int row = 0; row < field.getDepth(); row++) {
-            for(int col = 0; col < field.getWidth(); col++) {
-                Object animal = field.getObjectAt(row, col);
-
-                if(animal != null) {
-                    stats.incrementCount(animal.getClass());
-                    fieldView.drawMark(col, row, getColor(animal.getClass()));
-                }
-                else {
-                    // SE NÃO TIVER ANIMAL, PINTA O AMBIENTE
-                    Environment env = field.getEnvironment(row, col);
-                    Color envColor = getEnvironmentColor(env);
-                    fieldView.drawMark(col, row, envColor);
-                }
-            }
+    /**
+     * Pinta o quadro mais recente (executado no EDT).
+     */
+    private void paintPendingFrame()
+    {
+        paintScheduled.set(false);
+        Frame frame = pendingFrame.getAndSet(null);
+        if(frame == null) {
+            return;
         }
-        stats.countFinished();
+        if(!isVisible())
+            setVisible(true);
 
-        population.setText(POPULATION_PREFIX + stats.getPopulationDetails(field));
-        fieldView.repaint();
+        stepLabel.setText(STEP_PREFIX + frame.step);
+        population.setText(frame.populationDetails);
+        fieldView.show(frame.pixels);
+        freeBuffers.offer(frame.pixels);
     }
 
     /**
@@ -122,23 +157,40 @@ public class VisualizadorSimulacao extends JFrame
         return stats.isViable(field);
     }
 
+    /**
+     * Quadro imutável entregue da thread da simulação para o EDT.
+     */
+    private static final class Frame
+    {
+        final int step;
+        final int[] pixels;
+        final String populationDetails;
+
+        Frame(int step, int[] pixels, String populationDetails)
+        {
+            this.step = step;
+            this.pixels = pixels;
+            this.populationDetails = populationDetails;
+        }
+    }
+
     // Classe interna para renderização do campo
     private class FieldView extends JPanel
     {
         private final int GRID_VIEW_SCALING_FACTOR = 6;
 
         private int gridWidth, gridHeight;
-        private int xScale, yScale;
-        Dimension size;
-        private Graphics g;
-        private Image fieldImage;
+        // Imagem com um pixel por célula e o seu raster
+        private final BufferedImage fieldImage;
+        private final int[] imagePixels;
 
 
         public FieldView(int height, int width)
         {
             gridHeight = height;
             gridWidth = width;
-            size = new Dimension(0, 0);
+            fieldImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            imagePixels = ((DataBufferInt) fieldImage.getRaster().getDataBuffer()).getData();
         }
 
 
@@ -149,37 +201,20 @@ public class VisualizadorSimulacao extends JFrame
         }
 
 
-        public void preparePaint()
-        {
-            if(! size.equals(getSize())) {  // if the size has changed...
-                size = getSize();
-                fieldImage = fieldView.createImage(size.width, size.height);
-                g = fieldImage.getGraphics();
-
-                xScale = size.width / gridWidth;
-                if(xScale < 1) {
-                    xScale = GRID_VIEW_SCALING_FACTOR;
-                }
-                yScale = size.height / gridHeight;
-                if(yScale < 1) {
-                    yScale = GRID_VIEW_SCALING_FACTOR;
-                }
-            }
-        }
-
-
-        public void drawMark(int x, int y, Color color)
+        /**
+         * Copia os pixels de um quadro para a imagem e agenda a pintura (no EDT).
+         */
+        public void show(int[] pixels)
         {
-            g.setColor(color);
-            g.fillRect(x * xScale, y * yScale, xScale-1, yScale-1);
+            System.arraycopy(pixels, 0, imagePixels, 0, imagePixels.length);
+            repaint();
         }
 
 
         public void paintComponent(Graphics g)
         {
-            if(fieldImage != null) {
-                g.drawImage(fieldImage, 0, 0, null);
-            }
+            Dimension size = getSize();
+            g.drawImage(fieldImage, 0, 0, size.width, size.height, null);
         }
     }
-}
\ No newline at end of file
+}